@@ -0,0 +1,109 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.github.rrs671.http.nio.rest.client.NioRestClient;
+import com.github.rrs671.http.nio.rest.client.enums.LimiterEnum;
+import com.github.rrs671.http.nio.rest.client.enums.TransportEnum;
+import com.github.rrs671.http.nio.rest.client.request.RestRequest;
+import com.github.rrs671.http.nio.rest.http.AsyncRequest;
+import com.github.rrs671.http.nio.rest.http.Response;
+import com.github.rrs671.http.nio.rest.utils.ClientParams;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursts of GETs against the StubServer /overload endpoint, whose latency grows with the requests in progress,
+ * for each concurrency limiter. The initial limit is 10 times the server capacity, the adaptive limiters should
+ * converge close to the capacity and complete the burst faster and with fewer 503 than the fixed limit.
+ * The failed requests are reported as the failures counter.
+ *
+ * @since 2.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdaptiveLimiterBenchmark {
+
+    private static final int BURST = 1000;
+
+    @Param({"FIXED", "AIMD", "GRADIENT"})
+    private LimiterEnum limiter;
+
+    private StubServer server;
+    private RestRequest restRequest;
+    private RequestParams params;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new StubServer();
+
+        ClientParams clientParams = ClientParams.builder()
+                .addConnectionTimeout(5)
+                .addReadTimeout(5)
+                .addTransport(TransportEnum.ASYNC)
+                .addConcurrencyLimiter(limiter)
+                .addMaxConcurrentRequest(200)
+                .addMaxTotalConnections(1000)
+                .addMaxConnectionsPerRoute(1000)
+                .build();
+
+        restRequest = new NioRestClient().rest(clientParams);
+        params = RequestParams.builder()
+                .addUrl(server.baseUrl() + "/overload?capacity=20&ms=10")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        restRequest.close();
+        server.close();
+    }
+
+    @Benchmark
+    public long burst(Counters counters) {
+        List<AsyncRequest<Payload>> requests = new ArrayList<>(BURST);
+
+        for (int i = 0; i < BURST; i++) {
+            requests.add(restRequest.get(params, Payload.class));
+        }
+
+        long success = 0;
+
+        for (AsyncRequest<Payload> request : requests) {
+            Response<Payload> response = request.getResponse();
+
+            if (response.isSuccess()) {
+                success++;
+            }
+        }
+
+        counters.failures += BURST - success;
+
+        return success;
+    }
+
+    /**
+     * The requests that failed, mostly 503, reported with the results. The limits reached are checked by
+     * AdaptiveConcurrencyLimiterTest
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long failures;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            failures = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.github.rrs671.http.nio.rest.client.NioRestClient;
+import com.github.rrs671.http.nio.rest.client.enums.TransportEnum;
+import com.github.rrs671.http.nio.rest.client.request.RestRequest;
+import com.github.rrs671.http.nio.rest.http.AsyncRequest;
+import com.github.rrs671.http.nio.rest.utils.ClientParams;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import com.github.rrs671.http.nio.rest.utils.ResponseUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * A batch of GETs submitted in a loop and collected with ResponseUtils.getMultiResult against the same batch
+ * streamed by RestRequest.getAll with a bounded window.
+ *
+ * @since 2.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark {
+
+    @Param({"1000"})
+    private int size;
+
+    @Param({"POOLED", "ASYNC"})
+    private TransportEnum transport;
+
+    private StubServer server;
+    private RestRequest restRequest;
+    private RequestParams params;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new StubServer();
+
+        ClientParams clientParams = ClientParams.builder()
+                .addConnectionTimeout(5)
+                .addReadTimeout(5)
+                .addTransport(transport)
+                .build();
+
+        restRequest = new NioRestClient().rest(clientParams);
+        params = RequestParams.builder()
+                .addUrl(server.baseUrl() + "/json")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        restRequest.close();
+        server.close();
+    }
+
+    @Benchmark
+    public long loop() {
+        List<AsyncRequest<Payload>> requests = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            requests.add(restRequest.get(params, Payload.class));
+        }
+
+        return ResponseUtils.getMultiResult(requests).size();
+    }
+
+    @Benchmark
+    public long getAll() {
+        return restRequest.getAll(IntStream.range(0, size).mapToObj(i -> params), Payload.class, 128).count();
+    }
+
+}
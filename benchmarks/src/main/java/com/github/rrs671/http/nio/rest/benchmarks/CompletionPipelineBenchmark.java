@@ -0,0 +1,70 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.github.rrs671.http.nio.rest.exceptions.HttpException;
+import com.github.rrs671.http.nio.rest.http.AsyncRequest;
+import com.github.rrs671.http.nio.rest.http.Response;
+import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.concurrent.*;
+
+/**
+ * Compares the request completion pipeline before and after the removal of the second future hop.
+ * The legacy variant reproduces the old returnAsyncResponse: a second task on the virtual thread executor
+ * that blocks on future.get(). Run it with -prof gc to compare gc.alloc.rate.norm per request.
+ *
+ * @since 2.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompletionPipelineBenchmark {
+
+    private static final String PAYLOAD = "{\"id\":1}";
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        executor = AsyncExecutorUtils.getGlobalExecutorInstance();
+    }
+
+    @Benchmark
+    public Response<String> legacyDoubleHop() {
+        return legacyReturnAsyncResponse(CompletableFuture.supplyAsync(() -> PAYLOAD, executor)).getResponse();
+    }
+
+    @Benchmark
+    public Response<String> directCompletion() {
+        return AsyncExecutorUtils.returnAsyncResponse(CompletableFuture.supplyAsync(() -> PAYLOAD, executor)).getResponse();
+    }
+
+    @Benchmark
+    public Response<String> legacyDoubleHopError() {
+        return legacyReturnAsyncResponse(CompletableFuture.<String>supplyAsync(CompletionPipelineBenchmark::fail, executor)).getResponse();
+    }
+
+    @Benchmark
+    public Response<String> directCompletionError() {
+        return AsyncExecutorUtils.returnAsyncResponse(CompletableFuture.<String>supplyAsync(CompletionPipelineBenchmark::fail, executor)).getResponse();
+    }
+
+    private <T> AsyncRequest<T> legacyReturnAsyncResponse(CompletableFuture<T> future) {
+        return new AsyncRequest<>(CompletableFuture.supplyAsync(() -> {
+            try {
+                return future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new CompletionException(e);
+            }
+        }, executor));
+    }
+
+    private static String fail() {
+        throw new HttpException(HttpStatusCode.valueOf(503), "503 Service Unavailable: [no body]");
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.github.rrs671.http.nio.rest.client.metrics.ClientMetrics;
+import com.github.rrs671.http.nio.rest.client.metrics.LatencyHistogram;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording costs of the built-in metrics paid on every exchange when the metrics are enabled, single threaded and
+ * with 4 threads recording on the same routes. An exchange should cost less than 100ns.
+ *
+ * @since 2.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private static final String ORIGIN = "https://api.example.com:443";
+
+    private ClientMetrics metrics;
+    private LatencyHistogram histogram;
+    private long latency;
+
+    @Setup
+    public void setup() {
+        metrics = new ClientMetrics();
+        histogram = new LatencyHistogram();
+    }
+
+    @Benchmark
+    public void histogramRecord() {
+        histogram.record(latency++ & 0xFFFFFF);
+    }
+
+    @Benchmark
+    public void exchange() {
+        metrics.onExchangeStart(ORIGIN);
+        metrics.onExchangeEnd(ORIGIN, "GET", "/users/orders", 200, latency++ & 0xFFFFFF, 0L, 512L);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void exchangeContended() {
+        metrics.onExchangeStart(ORIGIN);
+        metrics.onExchangeEnd(ORIGIN, "GET", "/users/orders", 200, 1_000_000L, 0L, 512L);
+    }
+
+}
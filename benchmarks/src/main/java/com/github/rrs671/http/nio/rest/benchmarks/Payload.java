@@ -0,0 +1,26 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import java.util.List;
+
+/**
+ * Payload bound by the benchmarks, same shape of the StubServer JSON.
+ *
+ * @since 2.5.0
+ */
+public class Payload {
+
+    public long id;
+    public String name;
+    public boolean active;
+    public List<String> tags;
+
+    public static Payload sample() {
+        Payload payload = new Payload();
+        payload.id = 1L;
+        payload.name = "stub";
+        payload.active = true;
+        payload.tags = List.of("a", "b", "c");
+        return payload;
+    }
+
+}
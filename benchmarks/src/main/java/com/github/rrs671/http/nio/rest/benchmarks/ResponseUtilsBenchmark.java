@@ -0,0 +1,61 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.github.rrs671.http.nio.rest.http.AsyncRequest;
+import com.github.rrs671.http.nio.rest.http.Response;
+import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
+import com.github.rrs671.http.nio.rest.utils.ResponseUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResponseUtils.getMultiResult aggregation of in-flight requests, the requests are simulated by tasks on the
+ * virtual thread executor so only the aggregation is measured.
+ *
+ * @since 2.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseUtilsBenchmark {
+
+    @Param({"10", "1000"})
+    private int requests;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        executor = AsyncExecutorUtils.getGlobalExecutorInstance();
+    }
+
+    @Benchmark
+    public List<Response<String>> getMultiResult() {
+        List<AsyncRequest<String>> asyncRequests = new ArrayList<>(requests);
+
+        for (int i = 0; i < requests; i++) {
+            asyncRequests.add(new AsyncRequest<>(CompletableFuture.supplyAsync(() -> "ok", executor)));
+        }
+
+        return ResponseUtils.getMultiResult(asyncRequests);
+    }
+
+    @Benchmark
+    public List<Response<String>> streamResults() {
+        List<AsyncRequest<String>> asyncRequests = new ArrayList<>(requests);
+
+        for (int i = 0; i < requests; i++) {
+            asyncRequests.add(new AsyncRequest<>(CompletableFuture.supplyAsync(() -> "ok", executor)));
+        }
+
+        return ResponseUtils.streamResults(asyncRequests).toList();
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.github.rrs671.http.nio.rest.client.NioRestClient;
+import com.github.rrs671.http.nio.rest.handlers.rest.request.get.GetRestHandler;
+import com.github.rrs671.http.nio.rest.handlers.rest.response.ResponseHandler;
+import com.github.rrs671.http.nio.rest.handlers.rest.response.ResponseHandlerImpl;
+import com.github.rrs671.http.nio.rest.utils.ClientParams;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import com.github.rrs671.http.nio.rest.utils.Tuple;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch latency of the RestHandler pipeline: time from doGet until the response can be consumed from
+ * the ResponseHandler.
+ *
+ * @since 2.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(1)
+public class RestHandlerBenchmark {
+
+    private StubServer server;
+    private ResponseHandler<Integer, String> responseHandler;
+    private GetRestHandler<Integer, String> getRestHandler;
+    private RequestParams params;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new StubServer();
+        responseHandler = new ResponseHandlerImpl<>();
+        getRestHandler = new GetRestHandler<>(new NioRestClient(), ClientParams.builder().build(), responseHandler, String.class);
+        params = RequestParams.builder().addUrl(server.baseUrl() + "/json").build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        getRestHandler.close();
+        server.close();
+    }
+
+    @Benchmark
+    public Tuple<Integer, String> dispatch() throws InterruptedException {
+        getRestHandler.doGet(1, params);
+
+        return responseHandler.consume(10, TimeUnit.SECONDS).orElseThrow();
+    }
+
+}
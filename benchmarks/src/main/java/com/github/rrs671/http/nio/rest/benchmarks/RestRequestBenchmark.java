@@ -0,0 +1,79 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.github.rrs671.http.nio.rest.client.NioRestClient;
+import com.github.rrs671.http.nio.rest.client.enums.TransportEnum;
+import com.github.rrs671.http.nio.rest.client.request.RestRequest;
+import com.github.rrs671.http.nio.rest.http.PooledBody;
+import com.github.rrs671.http.nio.rest.http.Response;
+import com.github.rrs671.http.nio.rest.utils.ClientParams;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end RestRequest GET and POST against the in-process StubServer, for each transport.
+ * getRaw reads the same GET body into pooled buffers instead of binding it.
+ *
+ * @since 2.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RestRequestBenchmark {
+
+    @Param({"SIMPLE", "POOLED", "ASYNC"})
+    private TransportEnum transport;
+
+    private StubServer server;
+    private RestRequest restRequest;
+    private RequestParams params;
+    private Payload payload;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new StubServer();
+
+        ClientParams clientParams = ClientParams.builder()
+                .addConnectionTimeout(5)
+                .addReadTimeout(5)
+                .addTransport(transport)
+                .build();
+
+        restRequest = new NioRestClient().rest(clientParams);
+        params = RequestParams.builder()
+                .addUrl(server.baseUrl() + "/json")
+                .addHeaders("Accept", "application/json")
+                .build();
+        payload = Payload.sample();
+    }
+
+    @TearDown
+    public void tearDown() {
+        restRequest.close();
+        server.close();
+    }
+
+    @Benchmark
+    public Response<Payload> get() {
+        return restRequest.get(params, Payload.class).getResponse();
+    }
+
+    @Benchmark
+    public long getRaw() {
+        try (PooledBody body = restRequest.getRaw(params).getResponse().getSuccessResult().orElseThrow()) {
+            return body.size();
+        }
+    }
+
+    @Benchmark
+    public Response<Payload> post() {
+        return restRequest.post(params, payload, Payload.class).getResponse();
+    }
+
+}
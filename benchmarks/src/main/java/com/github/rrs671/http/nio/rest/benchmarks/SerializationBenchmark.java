@@ -0,0 +1,84 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodec;
+import com.github.rrs671.http.nio.rest.client.factory.ObjectMapperFactory;
+import com.github.rrs671.http.nio.rest.utils.BodyUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a request body and binding cost of a response body for each mapper profile.
+ * INDENTED is the default mapper before 2.5.0 (pretty printed bodies and no cached readers or writers),
+ * DEFAULT is the compact default mapper and PERFORMANCE adds the Blackbird module. SMILE and CBOR are the binary codecs.
+ *
+ * @since 2.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"INDENTED", "DEFAULT", "PERFORMANCE", "SMILE", "CBOR"})
+    private String profile;
+
+    @Param({"1", "100"})
+    private int items;
+
+    private ObjectMapper objectMapper;
+    private Payload[] body;
+    private byte[] json;
+
+    @Setup
+    public void setup() {
+        objectMapper = switch (profile) {
+            case "INDENTED" -> indented();
+            case "PERFORMANCE" -> ObjectMapperFactory.getPerformanceInstance();
+            case "SMILE" -> BodyCodec.smile().getObjectMapper();
+            case "CBOR" -> BodyCodec.cbor().getObjectMapper();
+            default -> ObjectMapperFactory.getInstance();
+        };
+
+        body = new Payload[items];
+        Arrays.fill(body, Payload.sample());
+        json = BodyUtils.encode(body, objectMapper);
+    }
+
+    private static ObjectMapper indented() {
+        ObjectMapper mapper = new ObjectMapper();
+
+        mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new Jdk8Module());
+
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+        mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+        mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+
+        return mapper;
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return BodyUtils.encode(body, objectMapper);
+    }
+
+    @Benchmark
+    public Payload[] decode() {
+        return BodyUtils.decode(json, null, Payload[].class, objectMapper);
+    }
+
+}
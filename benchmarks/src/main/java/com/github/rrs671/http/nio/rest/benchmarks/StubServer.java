@@ -0,0 +1,127 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process HTTP stand-in server used by the benchmarks, it binds a random loopback port so the suites run offline.
+ * Endpoints:
+ * GET /json returns a small JSON object,
+ * POST/PUT/PATCH /json echoes the request body,
+ * GET /slow?ms=N answers after N milliseconds,
+ * GET /overload?capacity=N&amp;ms=M answers after M milliseconds for each N requests in progress, like a server that
+ * queues the work over its capacity, and answers 503 over 8 times its capacity.
+ *
+ * @since 2.5.0
+ */
+public class StubServer implements AutoCloseable {
+
+    public static final byte[] JSON = "{\"id\":1,\"name\":\"stub\",\"active\":true,\"tags\":[\"a\",\"b\",\"c\"]}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    static {
+        // the headers and the body are written separately, without TCP_NODELAY every response waits for the delayed ack
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger inProgress = new AtomicInteger();
+
+    public StubServer() throws IOException {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        this.server.createContext("/json", this::json);
+        this.server.createContext("/slow", this::slow);
+        this.server.createContext("/overload", this::overload);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void json(HttpExchange exchange) throws IOException {
+        byte[] body = JSON;
+
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+        }
+
+        send(exchange, body);
+    }
+
+    private void slow(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        long millis = query != null && query.startsWith("ms=") ? Long.parseLong(query.substring(3)) : 0L;
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        send(exchange, JSON);
+    }
+
+    private void overload(HttpExchange exchange) throws IOException {
+        int capacity = 20;
+        long millis = 10L;
+
+        String query = exchange.getRequestURI().getQuery();
+
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith("capacity=")) {
+                    capacity = Integer.parseInt(param.substring(9));
+                } else if (param.startsWith("ms=")) {
+                    millis = Long.parseLong(param.substring(3));
+                }
+            }
+        }
+
+        int current = inProgress.incrementAndGet();
+
+        try {
+            Thread.sleep(millis * Math.max(1, current / capacity));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inProgress.decrementAndGet();
+        }
+
+        send(exchange, current > capacity * 8 ? 503 : 200, JSON);
+    }
+
+    private static void send(HttpExchange exchange, byte[] body) throws IOException {
+        send(exchange, 200, body);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.github.rrs671.http.nio.rest.benchmarks;
+
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import com.github.rrs671.http.nio.rest.utils.UrlTemplate;
+import com.github.rrs671.http.nio.rest.utils.UrlUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Url building and request params building costs paid on every request, against the expansion of the url template
+ * of a prepared request.
+ *
+ * @since 2.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlBenchmark {
+
+    private RequestParams params;
+    private UrlTemplate template;
+
+    @Setup
+    public void setup() {
+        params = buildParams();
+        template = UrlTemplate.compile("https://api.example.com/users/{id}/orders?status={status}&page={page}");
+    }
+
+    @Benchmark
+    public String buildUrl() {
+        return UrlUtils.buildUrl(params);
+    }
+
+    @Benchmark
+    public RequestParams requestParamsBuilder() {
+        return buildParams();
+    }
+
+    @Benchmark
+    public String buildParamsAndUrl() {
+        return UrlUtils.buildUrl(buildParams());
+    }
+
+    @Benchmark
+    public String expandTemplate() {
+        return template.expand("42", "open", "1");
+    }
+
+    private static RequestParams buildParams() {
+        return RequestParams.builder()
+                .addUrl("https://api.example.com/users")
+                .addPaths("42", "orders")
+                .addQueryParams("status", "open", "page", "1")
+                .addHeaders("Accept", "application/json", "Authorization", "Bearer token")
+                .build();
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.github.rrs671.http.nio.rest.client.cache;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The Cache-Control directives used by the response cache and the freshness rules of RFC 9111
+ */
+final class CacheControl {
+
+    static final String CACHE_CONTROL = "Cache-Control";
+
+    private static final CacheControl NONE = new CacheControl(false, false, -1);
+
+    private final boolean noStore;
+    private final boolean noCache;
+    private final long maxAge;
+
+    private CacheControl(boolean noStore, boolean noCache, long maxAge) {
+        this.noStore = noStore;
+        this.noCache = noCache;
+        this.maxAge = maxAge;
+    }
+
+    static CacheControl parse(String cacheControl, String pragma) {
+        boolean noCache = pragma != null && pragma.toLowerCase(Locale.ROOT).contains("no-cache");
+
+        if (cacheControl == null) {
+            return noCache ? new CacheControl(false, true, -1) : NONE;
+        }
+
+        boolean noStore = false;
+        long maxAge = -1;
+
+        for (String directive : cacheControl.split(",")) {
+            String name = directive.trim().toLowerCase(Locale.ROOT);
+
+            if (name.equals("no-store")) {
+                noStore = true;
+            } else if (name.equals("no-cache") || name.startsWith("no-cache=")) {
+                noCache = true;
+            } else if (name.startsWith("max-age=")) {
+                maxAge = seconds(name.substring("max-age=".length()));
+            }
+        }
+
+        return new CacheControl(noStore, noCache, maxAge);
+    }
+
+    boolean isNoStore() {
+        return noStore;
+    }
+
+    boolean isNoCache() {
+        return noCache;
+    }
+
+    long getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Returns how long the response stays fresh from now in milliseconds, from max-age or Expires less the Age header.
+     * A response without both or with no-cache is stale at once and is only served after a revalidation
+     */
+    static long freshness(Map<String, String> headers) {
+        CacheControl cacheControl = parse(headers.get(CACHE_CONTROL), headers.get("Pragma"));
+
+        if (cacheControl.noCache) {
+            return 0;
+        }
+
+        long age = Math.max(0, seconds(headers.get("Age"))) * 1000;
+
+        if (cacheControl.maxAge >= 0) {
+            return Math.max(0, cacheControl.maxAge * 1000 - age);
+        }
+
+        String expires = headers.get("Expires");
+
+        if (expires == null) {
+            return 0;
+        }
+
+        long date = headers.containsKey("Date") ? date(headers.get("Date")) : 0;
+
+        if (date == 0) {
+            date = System.currentTimeMillis();
+        }
+
+        return Math.max(0, date(expires) - date - age);
+    }
+
+    private static long seconds(String value) {
+        if (value == null) {
+            return -1;
+        }
+
+        try {
+            return Long.parseLong(value.replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * An invalid date is in the past, as an invalid Expires means the response is already expired
+     */
+    private static long date(String value) {
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+}
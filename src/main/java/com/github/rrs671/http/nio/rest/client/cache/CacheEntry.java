@@ -0,0 +1,162 @@
+package com.github.rrs671.http.nio.rest.client.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodecs;
+import com.github.rrs671.http.nio.rest.exceptions.ProcessException;
+import com.github.rrs671.http.nio.rest.utils.BodyUtils;
+import org.apache.hc.core5.http.ContentType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A cached response body with its headers and the request headers it varies on. Bodies moved off-heap are kept in a
+ * read-only direct buffer, bound types are read from it without a heap copy
+ */
+final class CacheEntry {
+
+    private static final int OVERHEAD = 128;
+
+    private final Map<String, String> vary;
+    private final Map<String, String> headers;
+    private final byte[] body;
+    private final ByteBuffer offHeapBody;
+    private final long freshUntil;
+    private final long size;
+
+    private CacheEntry(Map<String, String> vary, Map<String, String> headers, byte[] body, ByteBuffer offHeapBody, long now) {
+        this.vary = vary;
+        this.headers = headers;
+        this.body = body;
+        this.offHeapBody = offHeapBody;
+        this.freshUntil = now + CacheControl.freshness(headers);
+        this.size = OVERHEAD + (body != null ? body.length : 0) + 2L * (length(vary) + length(headers));
+    }
+
+    static CacheEntry of(Map<String, String> vary, Map<String, String> headers, byte[] body, boolean offHeap, long now) {
+        if (!offHeap) {
+            return new CacheEntry(vary, headers, body, null, now);
+        }
+
+        ByteBuffer offHeapBody = ByteBuffer.allocateDirect(body.length).put(body).flip().asReadOnlyBuffer();
+
+        return new CacheEntry(vary, headers, null, offHeapBody, now);
+    }
+
+    /**
+     * Returns the entry with the headers of a 304 response merged over the stored ones, the body is shared
+     */
+    CacheEntry revalidated(Map<String, String> notModifiedHeaders, long now) {
+        Map<String, String> merged = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        merged.putAll(headers);
+        merged.putAll(notModifiedHeaders);
+
+        return new CacheEntry(vary, merged, body, offHeapBody, now);
+    }
+
+    boolean matches(Map<String, String> requestHeaders) {
+        for (Map.Entry<String, String> header : vary.entrySet()) {
+            String value = ResponseCache.header(requestHeaders, header.getKey());
+
+            if (!header.getValue().equals(value == null ? "" : value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    /**
+     * Returns the conditional request headers validating this entry, empty when it has no validator
+     */
+    Map<String, String> validators() {
+        Map<String, String> validators = new HashMap<>(2);
+        String etag = headers.get("ETag");
+        String lastModified = headers.get("Last-Modified");
+
+        if (etag != null) {
+            validators.put("If-None-Match", etag);
+        }
+
+        if (lastModified != null) {
+            validators.put("If-Modified-Since", lastModified);
+        }
+
+        return validators;
+    }
+
+    boolean hasValidator() {
+        return headers.containsKey("ETag") || headers.containsKey("Last-Modified");
+    }
+
+    boolean isOffHeap() {
+        return offHeapBody != null;
+    }
+
+    /**
+     * Bytes held in the heap
+     */
+    long getSize() {
+        return size;
+    }
+
+    long getOffHeapSize() {
+        return offHeapBody != null ? offHeapBody.capacity() : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T read(Class<T> clazz, BodyCodecs codecs) {
+        String mediaType = headers.get("Content-Type");
+        ContentType contentType = mediaType != null ? ContentType.parseLenient(mediaType) : null;
+        ObjectMapper objectMapper = codecs.forMediaType(mediaType);
+
+        if (clazz == byte[].class) {
+            return length() == 0 ? null : (T) bytes();
+        }
+
+        if (offHeapBody == null || clazz == null || clazz == Void.class || clazz == String.class || length() == 0) {
+            return BodyUtils.decode(offHeapBody == null ? body : bytes(), contentType, clazz, objectMapper);
+        }
+
+        try {
+            return objectMapper.readerFor(clazz).readValue(new ByteBufferBackedInputStream(offHeapBody.duplicate()));
+        } catch (IOException e) {
+            throw new ProcessException(e.getMessage(), e);
+        }
+    }
+
+    private int length() {
+        return offHeapBody != null ? offHeapBody.capacity() : body.length;
+    }
+
+    private byte[] bytes() {
+        if (offHeapBody == null) {
+            return body.clone();
+        }
+
+        byte[] bytes = new byte[offHeapBody.capacity()];
+        offHeapBody.duplicate().get(bytes);
+
+        return bytes;
+    }
+
+    private static long length(Map<String, String> headers) {
+        long length = 0;
+
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            length += header.getKey().length() + header.getValue().length();
+        }
+
+        return length;
+    }
+
+}
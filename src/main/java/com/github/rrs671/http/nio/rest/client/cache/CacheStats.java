@@ -0,0 +1,78 @@
+package com.github.rrs671.http.nio.rest.client.cache;
+
+/**
+ * A snapshot of the response cache counters. Hits are served without a request, revalidations are served from the cache
+ * after a 304 response and misses are read from the server
+ *
+ * @since 2.5.0
+ */
+public class CacheStats {
+
+    private final long hits;
+    private final long revalidations;
+    private final long misses;
+    private final long evictions;
+    private final int entries;
+    private final long size;
+    private final long offHeapSize;
+
+    public CacheStats(long hits, long revalidations, long misses, long evictions, int entries, long size, long offHeapSize) {
+        this.hits = hits;
+        this.revalidations = revalidations;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.entries = entries;
+        this.size = size;
+        this.offHeapSize = offHeapSize;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getRevalidations() {
+        return revalidations;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * Bytes held in the heap by the entries, bodies and headers
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Bytes of the bodies held in direct buffers
+     */
+    public long getOffHeapSize() {
+        return offHeapSize;
+    }
+
+    /**
+     * Ratio of the requests served from the cache, with or without revalidation
+     */
+    public double getHitRatio() {
+        long requests = hits + revalidations + misses;
+
+        return requests == 0 ? 0 : (double) (hits + revalidations) / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hits + ", revalidations=" + revalidations + ", misses=" + misses
+                + ", evictions=" + evictions + ", entries=" + entries + ", size=" + size + ", offHeapSize=" + offHeapSize + '}';
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.github.rrs671.http.nio.rest.client.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Status, caching headers and body of a GET response, read as they are so the cache can store them
+ * before they are bound
+ *
+ * @since 2.5.0
+ */
+public class CacheableResponse {
+
+    /**
+     * The response headers kept by the cache
+     */
+    public static final List<String> HEADERS = List.of("Cache-Control", "Pragma", "Expires", "Date", "Age",
+            "ETag", "Last-Modified", "Vary", "Content-Type");
+
+    private final int status;
+    private final Map<String, String> headers;
+    private final byte[] body;
+
+    public CacheableResponse(int status, Map<String, String> headers, byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Returns the {@link #HEADERS} found by the lookup, the values of a repeated header are joined with commas
+     *
+     * @param lookup returns the values of a header name, or null or an empty list when it is absent
+     */
+    public static Map<String, String> headers(Function<String, List<String>> lookup) {
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        for (String name : HEADERS) {
+            List<String> values = lookup.apply(name);
+
+            if (values != null && !values.isEmpty()) {
+                headers.put(name, String.join(", ", values));
+            }
+        }
+
+        return headers;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+}
@@ -0,0 +1,288 @@
+package com.github.rrs671.http.nio.rest.client.cache;
+
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodecs;
+import com.github.rrs671.http.nio.rest.exceptions.HttpException;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import org.springframework.http.HttpStatus;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A private HTTP cache of GET responses keyed by url, following RFC 9111 for a single client.
+ * Only 200 responses are stored, unless the request or the response has Cache-Control no-store or the response
+ * varies on every header. A fresh entry, from max-age or Expires, is served without a request. A stale entry with an
+ * ETag or a Last-Modified header is revalidated with If-None-Match and If-Modified-Since and served again when the server
+ * answers 304. Requests with Cache-Control no-cache or max-age=0 are always revalidated.
+ * An entry is only served to requests with the same values of the headers listed in its Vary and of Authorization.
+ * The entries are bounded by their size in bytes and the least recently used are evicted first. Bodies of at least the
+ * off-heap min size are kept in direct buffers, bounded by their own size.
+ * The cache owns the conditional requests, the If-None-Match and If-Modified-Since headers of the params are not sent,
+ * so a 304 is only answered to a revalidation of an entry and never bound to the response type.
+ * An invalidation also discards the responses of the requests to the url already in flight, they are returned but
+ * not stored, so a GET sent before an unsafe request can not store the previous representation after it.
+ *
+ * @since 2.5.0
+ */
+public class ResponseCache {
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String[] CONDITIONAL_HEADERS = {"If-None-Match", "If-Modified-Since"};
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final long maxSize;
+    private final long maxOffHeapSize;
+    private final int offHeapMinEntrySize;
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    // invalidations of the urls of each stripe, a response is only stored when none happened since its request was sent
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    private long size;
+    private long offHeapSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize max bytes held in the heap by the entries
+     * @param maxOffHeapSize max bytes of the bodies held in direct buffers, 0 keeps every body in the heap
+     * @param offHeapMinEntrySize min body size kept in a direct buffer
+     */
+    public ResponseCache(long maxSize, long maxOffHeapSize, int offHeapMinEntrySize) {
+        this.maxSize = maxSize;
+        this.maxOffHeapSize = maxOffHeapSize;
+        this.offHeapMinEntrySize = offHeapMinEntrySize;
+    }
+
+    /**
+     * Returns the response of the GET from the cache, or from the exchange when it is missing or stale.
+     * The exchange runs the request with the given params and must complete with a 200 or a 304 response,
+     * or fail with the request error
+     */
+    public <T> CompletableFuture<T> get(String url, RequestParams params, Class<T> clazz, BodyCodecs codecs,
+                                        Function<RequestParams, CompletableFuture<CacheableResponse>> exchange) {
+        Map<String, String> requestHeaders = params.getHeaders();
+        RequestParams unconditional = params.withoutHeaders(CONDITIONAL_HEADERS);
+        CacheControl requestCacheControl = CacheControl.parse(header(requestHeaders, CacheControl.CACHE_CONTROL),
+                header(requestHeaders, "Pragma"));
+
+        if (requestCacheControl.isNoStore()) {
+            return exchange.apply(unconditional).thenApply(response -> {
+                misses.increment();
+                return uncached(url, response).read(clazz, codecs);
+            });
+        }
+
+        long now = System.currentTimeMillis();
+        CacheEntry entry = lookup(url, requestHeaders, now);
+
+        if (entry != null && entry.isFresh(now) && !requestCacheControl.isNoCache() && requestCacheControl.getMaxAge() != 0) {
+            hits.increment();
+
+            try {
+                return CompletableFuture.completedFuture(entry.read(clazz, codecs));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        RequestParams conditional = entry != null ? unconditional.withDefaultHeaders(entry.validators()) : unconditional;
+        long generation = generation(url);
+
+        return exchange.apply(conditional).thenApply(response -> {
+            long received = System.currentTimeMillis();
+
+            if (response.getStatus() == 304 && entry != null) {
+                revalidations.increment();
+
+                CacheEntry revalidated = entry.revalidated(response.getHeaders(), received);
+                put(url, revalidated, generation);
+
+                return revalidated.read(clazz, codecs);
+            }
+
+            misses.increment();
+
+            return store(url, requestHeaders, response, received, generation).read(clazz, codecs);
+        });
+    }
+
+    /**
+     * Removes the entry of the url, for instance after an unsafe request to it. The responses of the requests to the url
+     * in flight are not stored.
+     */
+    public void invalidate(String url) {
+        synchronized (entries) {
+            generations[stripe(url)]++;
+            remove(url);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+            offHeapSize = 0;
+        }
+    }
+
+    public CacheStats getStats() {
+        synchronized (entries) {
+            return new CacheStats(hits.sum(), revalidations.sum(), misses.sum(), evictions.sum(),
+                    entries.size(), size, offHeapSize);
+        }
+    }
+
+    private CacheEntry lookup(String url, Map<String, String> requestHeaders, long now) {
+        synchronized (entries) {
+            CacheEntry entry = entries.get(url);
+
+            if (entry == null || entry.matches(requestHeaders) && (entry.isFresh(now) || entry.hasValidator())) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    private long generation(String url) {
+        synchronized (entries) {
+            return generations[stripe(url)];
+        }
+    }
+
+    private static int stripe(String url) {
+        int hash = url.hashCode();
+
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * Stores the response when it is cacheable and returns its entry
+     */
+    private CacheEntry store(String url, Map<String, String> requestHeaders, CacheableResponse response, long now,
+                             long generation) {
+        Map<String, String> headers = response.getHeaders();
+        String vary = headers.get("Vary");
+
+        boolean reusable = CacheControl.freshness(headers) > 0 || headers.containsKey("ETag") || headers.containsKey("Last-Modified");
+
+        if (response.getStatus() != 200 || !reusable || vary != null && vary.contains("*")
+                || CacheControl.parse(headers.get(CacheControl.CACHE_CONTROL), null).isNoStore()) {
+            synchronized (entries) {
+                remove(url);
+            }
+
+            return uncached(url, response);
+        }
+
+        boolean offHeap = maxOffHeapSize > 0 && response.getBody().length >= offHeapMinEntrySize
+                && response.getBody().length <= maxOffHeapSize;
+        CacheEntry entry = CacheEntry.of(vary(vary, requestHeaders), headers, response.getBody(), offHeap, now);
+
+        put(url, entry, generation);
+
+        return entry;
+    }
+
+    /**
+     * Puts the entry unless the url was invalidated since the generation was read
+     */
+    private void put(String url, CacheEntry entry, long generation) {
+        synchronized (entries) {
+            if (generations[stripe(url)] != generation) {
+                return;
+            }
+
+            if (entry.getSize() > maxSize) {
+                remove(url);
+                return;
+            }
+
+            CacheEntry replaced = entries.put(url, entry);
+
+            if (replaced != null) {
+                size -= replaced.getSize();
+                offHeapSize -= replaced.getOffHeapSize();
+            }
+
+            size += entry.getSize();
+            offHeapSize += entry.getOffHeapSize();
+
+            Iterator<CacheEntry> eldest = entries.values().iterator();
+
+            while ((size > maxSize || offHeapSize > maxOffHeapSize) && eldest.hasNext()) {
+                CacheEntry evicted = eldest.next();
+
+                if (size > maxSize || evicted.isOffHeap()) {
+                    eldest.remove();
+                    size -= evicted.getSize();
+                    offHeapSize -= evicted.getOffHeapSize();
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    private void remove(String url) {
+        CacheEntry removed = entries.remove(url);
+
+        if (removed != null) {
+            size -= removed.getSize();
+            offHeapSize -= removed.getOffHeapSize();
+        }
+    }
+
+    /**
+     * Returns the entry of a response that is not stored, a 304 that does not revalidate an entry has no body to read
+     */
+    private static CacheEntry uncached(String url, CacheableResponse response) {
+        if (response.getStatus() == 304) {
+            throw new HttpException(HttpStatus.NOT_MODIFIED, "Not Modified response without a cached entry for " + url);
+        }
+
+        return CacheEntry.of(Map.of(), response.getHeaders(), response.getBody(), false, 0);
+    }
+
+    /**
+     * Returns the request values of the headers the response varies on and of Authorization, absent headers are empty
+     */
+    private static Map<String, String> vary(String vary, Map<String, String> requestHeaders) {
+        Map<String, String> values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        if (vary != null) {
+            for (String name : vary.split(",")) {
+                if (!name.isBlank()) {
+                    values.put(name.trim(), Objects.requireNonNullElse(header(requestHeaders, name.trim()), ""));
+                }
+            }
+        }
+
+        values.put(AUTHORIZATION, Objects.requireNonNullElse(header(requestHeaders, AUTHORIZATION), ""));
+
+        return values;
+    }
+
+    static String header(Map<String, String> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.github.rrs671.http.nio.rest.client.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.rrs671.http.nio.rest.client.factory.ObjectMapperFactory;
+
+import java.util.Objects;
+
+/**
+ * A binary Jackson data format that can be negotiated with the servers instead of JSON.
+ * Smile and CBOR need jackson-dataformat-smile and jackson-dataformat-cbor on the classpath, any other Jackson
+ * data format (e.g. MessagePack) is registered with {@link #of(String, ObjectMapper)}.
+ *
+ * @since 2.5.0
+ */
+public class BodyCodec {
+
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final String APPLICATION_MSGPACK = "application/x-msgpack";
+
+    private final String mediaType;
+    private final ObjectMapper objectMapper;
+
+    private BodyCodec(String mediaType, ObjectMapper objectMapper) {
+        this.mediaType = mediaType;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param mediaType media type sent in the Accept and Content-Type headers, without parameters
+     * @param objectMapper ObjectMapper of the data format
+     */
+    public static BodyCodec of(String mediaType, ObjectMapper objectMapper) {
+        Objects.requireNonNull(mediaType);
+        Objects.requireNonNull(objectMapper);
+
+        return new BodyCodec(mediaType, objectMapper);
+    }
+
+    public static BodyCodec smile() {
+        return new BodyCodec(APPLICATION_SMILE, ObjectMapperFactory.create(new SmileFactory()));
+    }
+
+    public static BodyCodec cbor() {
+        return new BodyCodec(APPLICATION_CBOR, ObjectMapperFactory.create(new CBORFactory()));
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.github.rrs671.http.nio.rest.client.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rrs671.http.nio.rest.http.BodySource;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The codecs of a client and the JSON fallback. Bound responses are requested with an Accept header listing the
+ * codecs in their registration order and then JSON, and bound request bodies are written with the request codec.
+ * Headers informed on the request params have precedence, the bodies are read and written with the codec matching
+ * their Content-Type or with JSON.
+ *
+ * @since 2.5.0
+ */
+public class BodyCodecs {
+
+    private static final String ACCEPT = "Accept";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_JSON = "application/json";
+
+    private final ObjectMapper objectMapper;
+    private final List<BodyCodec> codecs;
+    private final Map<String, String> acceptHeader;
+    private final Map<String, String> contentTypeHeader;
+    private final Map<String, String> negotiatedHeaders;
+
+    /**
+     * @param objectMapper JSON ObjectMapper
+     * @param codecs accepted codecs in order of preference
+     * @param requestCodec codec of the request bodies, or null to write them as JSON
+     */
+    public BodyCodecs(ObjectMapper objectMapper, List<BodyCodec> codecs, BodyCodec requestCodec) {
+        this.objectMapper = objectMapper;
+        this.codecs = List.copyOf(codecs);
+        this.acceptHeader = this.codecs.isEmpty() ? null : Map.of(ACCEPT, accept(this.codecs));
+        this.contentTypeHeader = requestCodec == null ? null : Map.of(CONTENT_TYPE, requestCodec.getMediaType());
+        this.negotiatedHeaders = acceptHeader == null || contentTypeHeader == null
+                ? null
+                : Map.of(ACCEPT, acceptHeader.get(ACCEPT), CONTENT_TYPE, requestCodec.getMediaType());
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    public List<BodyCodec> getCodecs() {
+        return codecs;
+    }
+
+    /**
+     * Returns the ObjectMapper of the codec of the media type, or the JSON one
+     *
+     * @param mediaType a Content-Type value, parameters are ignored
+     */
+    public ObjectMapper forMediaType(String mediaType) {
+        if (mediaType == null || codecs.isEmpty()) {
+            return objectMapper;
+        }
+
+        int end = mediaType.indexOf(';');
+        String mimeType = (end < 0 ? mediaType : mediaType.substring(0, end)).trim();
+
+        for (BodyCodec codec : codecs) {
+            if (codec.getMediaType().equalsIgnoreCase(mimeType)) {
+                return codec.getObjectMapper();
+            }
+        }
+
+        return objectMapper;
+    }
+
+    /**
+     * Returns the params with the Accept header for a bound response and the Content-Type header for a bound body,
+     * the same params when there is nothing to negotiate
+     *
+     * @param responseType class of the response, String, byte[] and Void are not negotiated
+     * @param body request body or null, String, byte[] and BodySource are not negotiated
+     */
+    public RequestParams negotiate(RequestParams params, Class<?> responseType, Object body) {
+        boolean accept = acceptHeader != null && isBound(responseType);
+        boolean contentType = contentTypeHeader != null && isBoundBody(body);
+
+        if (accept && contentType) {
+            return params.withDefaultHeaders(negotiatedHeaders);
+        }
+
+        if (accept) {
+            return params.withDefaultHeaders(acceptHeader);
+        }
+
+        return contentType ? params.withDefaultHeaders(contentTypeHeader) : params;
+    }
+
+    /**
+     * Returns true when the request body is written by the codecs, String, byte[] and BodySource bodies are written as is
+     */
+    public static boolean isBoundBody(Object body) {
+        return body != null && !(body instanceof String || body instanceof byte[] || body instanceof BodySource);
+    }
+
+    private static boolean isBound(Class<?> responseType) {
+        return responseType != null && responseType != Void.class && responseType != String.class && responseType != byte[].class;
+    }
+
+    private static String accept(List<BodyCodec> codecs) {
+        StringBuilder accept = new StringBuilder();
+
+        for (int i = 0; i <= codecs.size(); i++) {
+            String mediaType = i < codecs.size() ? codecs.get(i).getMediaType() : APPLICATION_JSON;
+            int quality = Math.max(1, 10 - i);
+
+            if (i > 0) {
+                accept.append(", ");
+            }
+
+            accept.append(mediaType);
+
+            if (quality < 10) {
+                accept.append(";q=0.").append(quality);
+            }
+        }
+
+        return accept.toString();
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.github.rrs671.http.nio.rest.client.compression;
+
+import com.github.rrs671.http.nio.rest.client.enums.ContentEncodingEnum;
+import org.apache.hc.client5.http.async.AsyncExecCallback;
+import org.apache.hc.client5.http.async.AsyncExecChain;
+import org.apache.hc.client5.http.async.AsyncExecChainHandler;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncDataConsumer;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Transparent compression for the httpclient5 async client, the counterpart of
+ * {@link CompressingClientHttpRequestFactory}. Request bodies of unknown length or with at least minSizeInBytes
+ * bytes are compressed while they are sent and gzip or deflate responses are decompressed while they are received.
+ *
+ * @since 2.5.0
+ */
+public class AsyncCompressionExec implements AsyncExecChainHandler {
+
+    private final boolean responseCompression;
+    private final ContentEncodingEnum requestCompression;
+    private final int minSizeInBytes;
+
+    /**
+     * @param responseCompression sends Accept-Encoding with the requests
+     * @param requestCompression coding of the request bodies, or null to send them as they are
+     * @param minSizeInBytes smaller request bodies are sent as they are
+     */
+    public AsyncCompressionExec(boolean responseCompression, ContentEncodingEnum requestCompression, int minSizeInBytes) {
+        this.responseCompression = responseCompression;
+        this.requestCompression = requestCompression;
+        this.minSizeInBytes = minSizeInBytes;
+    }
+
+    @Override
+    public void execute(HttpRequest request, AsyncEntityProducer entityProducer, AsyncExecChain.Scope scope,
+                        AsyncExecChain chain, AsyncExecCallback callback) throws HttpException, IOException {
+        if (responseCompression && !request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, ContentEncodingEnum.ACCEPT_ENCODING);
+        }
+
+        AsyncEntityProducer producer = entityProducer;
+
+        if (requestCompression != null && entityProducer != null && entityProducer.getContentEncoding() == null
+                && !request.containsHeader(HttpHeaders.CONTENT_ENCODING)
+                && (entityProducer.getContentLength() < 0 || entityProducer.getContentLength() >= minSizeInBytes)) {
+            producer = new CompressingEntityProducer(entityProducer, requestCompression);
+        }
+
+        chain.proceed(request, producer, scope, new DecompressingCallback(callback));
+    }
+
+    private static class DecompressingCallback implements AsyncExecCallback {
+
+        private final AsyncExecCallback callback;
+
+        private DecompressingCallback(AsyncExecCallback callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public AsyncDataConsumer handleResponse(HttpResponse response, EntityDetails entityDetails) throws HttpException, IOException {
+            ContentEncodingEnum encoding = entityDetails != null ? ContentEncodingEnum.fromHeader(entityDetails.getContentEncoding()) : null;
+
+            if (encoding == null) {
+                return callback.handleResponse(response, entityDetails);
+            }
+
+            response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+            response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+
+            AsyncDataConsumer dataConsumer = callback.handleResponse(response, new DecodedEntityDetails(entityDetails));
+
+            return dataConsumer != null ? new DecompressingDataConsumer(dataConsumer, encoding) : null;
+        }
+
+        @Override
+        public void handleInformationResponse(HttpResponse response) throws HttpException, IOException {
+            callback.handleInformationResponse(response);
+        }
+
+        @Override
+        public void completed() {
+            callback.completed();
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            callback.failed(cause);
+        }
+
+    }
+
+    private static class DecodedEntityDetails implements EntityDetails {
+
+        private final EntityDetails entityDetails;
+
+        private DecodedEntityDetails(EntityDetails entityDetails) {
+            this.entityDetails = entityDetails;
+        }
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public String getContentType() {
+            return entityDetails.getContentType();
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return null;
+        }
+
+        @Override
+        public boolean isChunked() {
+            return entityDetails.isChunked();
+        }
+
+        @Override
+        public Set<String> getTrailerNames() {
+            return entityDetails.getTrailerNames();
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.github.rrs671.http.nio.rest.client.compression;
+
+import com.github.rrs671.http.nio.rest.client.enums.ContentEncodingEnum;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Pools of the Deflater and Inflater instances and of the buffers used to compress and decompress bodies, so the
+ * native zlib streams are not created and released on every request. It is shared by all the clients.
+ *
+ * @since 2.5.0
+ */
+public class CodecPool {
+
+    public static final int BUFFER_SIZE = 8192;
+    public static final int MAX_POOLED = 64;
+
+    private static final CodecPool INSTANCE = new CodecPool();
+
+    private final Pool<Deflater> gzipDeflaters = new Pool<>(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true), Deflater::end);
+    private final Pool<Deflater> zlibDeflaters = new Pool<>(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, false), Deflater::end);
+    private final Pool<Inflater> gzipInflaters = new Pool<>(() -> new Inflater(true), Inflater::end);
+    private final Pool<Inflater> zlibInflaters = new Pool<>(() -> new Inflater(false), Inflater::end);
+    private final Pool<byte[]> buffers = new Pool<>(() -> new byte[BUFFER_SIZE], buffer -> {});
+
+    private CodecPool() {}
+
+    public static CodecPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a Deflater for the coding, gzip streams use raw deflate data and write their own header and trailer
+     */
+    public Deflater acquireDeflater(ContentEncodingEnum encoding) {
+        return deflaters(encoding).acquire();
+    }
+
+    public void releaseDeflater(ContentEncodingEnum encoding, Deflater deflater) {
+        deflater.reset();
+        deflaters(encoding).release(deflater);
+    }
+
+    /**
+     * Returns an Inflater for the coding, gzip streams use raw deflate data and parse their own header and trailer
+     */
+    public Inflater acquireInflater(ContentEncodingEnum encoding) {
+        return inflaters(encoding).acquire();
+    }
+
+    public void releaseInflater(ContentEncodingEnum encoding, Inflater inflater) {
+        inflater.reset();
+        inflaters(encoding).release(inflater);
+    }
+
+    /**
+     * Returns a buffer of {@link #BUFFER_SIZE} bytes
+     */
+    public byte[] acquireBuffer() {
+        return buffers.acquire();
+    }
+
+    public void releaseBuffer(byte[] buffer) {
+        buffers.release(buffer);
+    }
+
+    private Pool<Deflater> deflaters(ContentEncodingEnum encoding) {
+        return encoding == ContentEncodingEnum.GZIP ? gzipDeflaters : zlibDeflaters;
+    }
+
+    private Pool<Inflater> inflaters(ContentEncodingEnum encoding) {
+        return encoding == ContentEncodingEnum.GZIP ? gzipInflaters : zlibInflaters;
+    }
+
+    private static class Pool<T> {
+
+        private final Queue<T> items = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pooled = new AtomicInteger();
+        private final Supplier<T> factory;
+        private final Consumer<T> discard;
+
+        private Pool(Supplier<T> factory, Consumer<T> discard) {
+            this.factory = factory;
+            this.discard = discard;
+        }
+
+        private T acquire() {
+            T item = items.poll();
+
+            if (item == null) {
+                return factory.get();
+            }
+
+            pooled.decrementAndGet();
+
+            return item;
+        }
+
+        private void release(T item) {
+            if (pooled.incrementAndGet() > MAX_POOLED) {
+                pooled.decrementAndGet();
+                discard.accept(item);
+                return;
+            }
+
+            items.offer(item);
+        }
+
+    }
+
+}
@@ -0,0 +1,281 @@
+package com.github.rrs671.http.nio.rest.client.compression;
+
+import com.github.rrs671.http.nio.rest.client.enums.ContentEncodingEnum;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Decorates the request factory of the blocking transports with transparent compression.
+ * Responses are negotiated with Accept-Encoding and decompressed while they are read, request bodies with
+ * at least minSizeInBytes bytes are compressed while they are written. A body of unknown length is measured
+ * against the threshold only when it can be written twice, otherwise it is always compressed.
+ *
+ * @since 2.5.0
+ */
+public class CompressingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory requestFactory;
+    private final boolean responseCompression;
+    private final ContentEncodingEnum requestCompression;
+    private final int minSizeInBytes;
+    private final Queue<byte[]> probeBuffers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param requestFactory the request factory of the transport
+     * @param responseCompression sends Accept-Encoding and decompresses the responses
+     * @param requestCompression coding of the request bodies, or null to send them as they are
+     * @param minSizeInBytes smaller request bodies are sent as they are
+     */
+    public CompressingClientHttpRequestFactory(ClientHttpRequestFactory requestFactory, boolean responseCompression,
+                                               ContentEncodingEnum requestCompression, int minSizeInBytes) {
+        this.requestFactory = requestFactory;
+        this.responseCompression = responseCompression;
+        this.requestCompression = requestCompression;
+        this.minSizeInBytes = minSizeInBytes;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new CompressingRequest(requestFactory.createRequest(uri, httpMethod));
+    }
+
+    private byte[] acquireProbeBuffer() {
+        byte[] buffer = probeBuffers.poll();
+
+        return buffer != null ? buffer : new byte[minSizeInBytes];
+    }
+
+    private void releaseProbeBuffer(byte[] buffer) {
+        if (probeBuffers.size() < CodecPool.MAX_POOLED) {
+            probeBuffers.offer(buffer);
+        }
+    }
+
+    private class CompressingRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest request;
+        private Body body;
+
+        private CompressingRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public void setBody(Body body) {
+            this.body = body;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return request.getAttributes();
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            HttpHeaders headers = request.getHeaders();
+
+            if (responseCompression && !headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.set(HttpHeaders.ACCEPT_ENCODING, ContentEncodingEnum.ACCEPT_ENCODING);
+            }
+
+            if (body != null) {
+                Body requestBody = requestCompression != null && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                        ? compress(body, headers)
+                        : body;
+
+                if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+                    streamingRequest.setBody(requestBody);
+                } else {
+                    requestBody.writeTo(request.getBody());
+                }
+            }
+
+            ClientHttpResponse response = request.execute();
+            ContentEncodingEnum encoding = ContentEncodingEnum.fromHeader(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+
+            return encoding != null ? new DecompressingResponse(response, encoding) : response;
+        }
+
+        private Body compress(Body body, HttpHeaders headers) throws IOException {
+            long contentLength = headers.getContentLength();
+
+            if (contentLength >= 0 && contentLength < minSizeInBytes) {
+                return body;
+            }
+
+            if (contentLength < 0 && body.repeatable()) {
+                byte[] buffer = acquireProbeBuffer();
+                ProbeOutputStream probe = new ProbeOutputStream(buffer);
+
+                try {
+                    body.writeTo(probe);
+                } catch (ThresholdExceededException e) {
+                    releaseProbeBuffer(buffer);
+                    return compressing(body, headers);
+                }
+
+                int length = probe.length;
+                headers.setContentLength(length);
+
+                return out -> {
+                    try {
+                        out.write(buffer, 0, length);
+                    } finally {
+                        releaseProbeBuffer(buffer);
+                    }
+                };
+            }
+
+            return compressing(body, headers);
+        }
+
+        private Body compressing(Body body, HttpHeaders headers) {
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.set(HttpHeaders.CONTENT_ENCODING, requestCompression.getValue());
+
+            return out -> {
+                try (CompressingOutputStream compressed = new CompressingOutputStream(out, requestCompression)) {
+                    body.writeTo(compressed);
+                }
+            };
+        }
+
+    }
+
+    /**
+     * Collects a body until it reaches the threshold, so small bodies of unknown length are sent as they are
+     */
+    private static class ProbeOutputStream extends OutputStream {
+
+        private final byte[] buffer;
+        private int length;
+
+        private ProbeOutputStream(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (length == buffer.length) {
+                throw ThresholdExceededException.INSTANCE;
+            }
+
+            buffer[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > buffer.length - length) {
+                throw ThresholdExceededException.INSTANCE;
+            }
+
+            System.arraycopy(b, off, buffer, length, len);
+            length += len;
+        }
+
+    }
+
+    private static class ThresholdExceededException extends IOException {
+
+        private static final ThresholdExceededException INSTANCE = new ThresholdExceededException();
+
+        private ThresholdExceededException() {
+            super("Body reached the compression threshold");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
+    }
+
+    private static class DecompressingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final ContentEncodingEnum encoding;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        private DecompressingResponse(ClientHttpResponse response, ContentEncodingEnum encoding) {
+            this.response = response;
+            this.encoding = encoding;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(response.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new DecompressingInputStream(response.getBody(), encoding);
+            }
+
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (body != null) {
+                    body.close();
+                }
+            } catch (IOException e) {
+                // the response is closed below anyway
+            } finally {
+                response.close();
+            }
+        }
+
+    }
+
+}
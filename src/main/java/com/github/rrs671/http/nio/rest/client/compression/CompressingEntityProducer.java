@@ -0,0 +1,239 @@
+package com.github.rrs671.http.nio.rest.client.compression;
+
+import com.github.rrs671.http.nio.rest.client.enums.ContentEncodingEnum;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the body of another entity producer while it is sent by the httpclient5 async client. The wrapped
+ * producer writes into a channel that deflates into one pooled buffer, and it is asked for more data only when
+ * that buffer was sent, so the compressed body is never held as a whole.
+ *
+ * @since 2.5.0
+ */
+public class CompressingEntityProducer implements AsyncEntityProducer {
+
+    private final AsyncEntityProducer entityProducer;
+    private final ContentEncodingEnum encoding;
+    private final CodecPool pool = CodecPool.getInstance();
+    private final CompressingChannel compressingChannel = new CompressingChannel();
+
+    private DataStreamChannel channel;
+    private Deflater deflater;
+    private byte[] array;
+    private ByteBuffer buffer;
+    private CRC32 crc;
+    private boolean finishing;
+    private boolean trailerWritten;
+    private boolean ended;
+
+    public CompressingEntityProducer(AsyncEntityProducer entityProducer, ContentEncodingEnum encoding) {
+        this.entityProducer = entityProducer;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return entityProducer.isRepeatable();
+    }
+
+    @Override
+    public String getContentType() {
+        return entityProducer.getContentType();
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return encoding.getValue();
+    }
+
+    @Override
+    public boolean isChunked() {
+        return true;
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return null;
+    }
+
+    @Override
+    public int available() {
+        if (buffer != null && buffer.hasRemaining()) {
+            return buffer.remaining();
+        }
+
+        return finishing ? 1 : entityProducer.available();
+    }
+
+    @Override
+    public void produce(DataStreamChannel channel) throws IOException {
+        this.channel = channel;
+
+        if (deflater == null) {
+            start();
+        }
+
+        if (!flush()) {
+            return;
+        }
+
+        if (finishing) {
+            finish();
+            return;
+        }
+
+        entityProducer.produce(compressingChannel);
+    }
+
+    @Override
+    public void failed(Exception cause) {
+        try {
+            entityProducer.failed(cause);
+        } finally {
+            releaseResources();
+        }
+    }
+
+    @Override
+    public void releaseResources() {
+        try {
+            entityProducer.releaseResources();
+        } finally {
+            if (deflater != null) {
+                pool.releaseDeflater(encoding, deflater);
+                pool.releaseBuffer(array);
+                deflater = null;
+                array = null;
+                buffer = null;
+            }
+
+            finishing = false;
+            trailerWritten = false;
+            ended = false;
+        }
+    }
+
+    private void start() {
+        deflater = pool.acquireDeflater(encoding);
+        array = pool.acquireBuffer();
+        buffer = ByteBuffer.wrap(array);
+
+        if (encoding == ContentEncodingEnum.GZIP) {
+            crc = new CRC32();
+            buffer.put(GzipFormat.HEADER).flip();
+        } else {
+            buffer.limit(0);
+        }
+    }
+
+    private boolean flush() throws IOException {
+        if (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        return !buffer.hasRemaining();
+    }
+
+    private void deflate() {
+        buffer.clear();
+        deflater.deflate(buffer, Deflater.NO_FLUSH);
+        buffer.flip();
+    }
+
+    private void finish() throws IOException {
+        while (true) {
+            if (!flush()) {
+                return;
+            }
+
+            if (deflater.finished()) {
+                break;
+            }
+
+            deflate();
+        }
+
+        if (crc != null && !trailerWritten) {
+            trailerWritten = true;
+            GzipFormat.writeTrailer(array, crc.getValue(), deflater.getBytesRead());
+            buffer.clear().limit(GzipFormat.TRAILER_SIZE);
+
+            if (!flush()) {
+                return;
+            }
+        }
+
+        if (!ended) {
+            ended = true;
+            channel.endStream();
+        }
+    }
+
+    /**
+     * Channel given to the wrapped producer, it takes only what fits once the pending compressed data was sent
+     */
+    private class CompressingChannel implements DataStreamChannel {
+
+        @Override
+        public void requestOutput() {
+            channel.requestOutput();
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (!flush()) {
+                return 0;
+            }
+
+            int start = src.position();
+            deflater.setInput(src);
+
+            while (!deflater.needsInput()) {
+                deflate();
+
+                if (!flush()) {
+                    break;
+                }
+            }
+
+            int position = src.position();
+
+            if (crc != null && position > start) {
+                int limit = src.limit();
+                src.position(start).limit(position);
+                crc.update(src);
+                src.limit(limit);
+            }
+
+            return position - start;
+        }
+
+        @Override
+        public void endStream(List<? extends Header> trailers) throws IOException {
+            endStream();
+        }
+
+        @Override
+        public void endStream() throws IOException {
+            finishing = true;
+            deflater.finish();
+            finish();
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.github.rrs671.http.nio.rest.client.compression;
+
+import com.github.rrs671.http.nio.rest.client.enums.ContentEncodingEnum;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the bytes written into the target stream with a pooled Deflater and buffer.
+ * Closing finishes the compressed data and returns the Deflater to the pool, the target stream is not closed.
+ *
+ * @since 2.5.0
+ */
+public class CompressingOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final ContentEncodingEnum encoding;
+    private final CodecPool pool = CodecPool.getInstance();
+    private final Deflater deflater;
+    private final byte[] buffer;
+    private final CRC32 crc;
+
+    private byte[] single;
+    private boolean closed;
+
+    public CompressingOutputStream(OutputStream out, ContentEncodingEnum encoding) throws IOException {
+        this.out = out;
+        this.encoding = encoding;
+        this.deflater = pool.acquireDeflater(encoding);
+        this.buffer = pool.acquireBuffer();
+        this.crc = encoding == ContentEncodingEnum.GZIP ? new CRC32() : null;
+
+        if (crc != null) {
+            out.write(GzipFormat.HEADER);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (single == null) {
+            single = new byte[1];
+        }
+
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+
+        if (len == 0) {
+            return;
+        }
+
+        deflater.setInput(b, off, len);
+
+        if (crc != null) {
+            crc.update(b, off, len);
+        }
+
+        while (!deflater.needsInput()) {
+            deflate();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            deflater.finish();
+
+            while (!deflater.finished()) {
+                deflate();
+            }
+
+            if (crc != null) {
+                GzipFormat.writeTrailer(buffer, crc.getValue(), deflater.getBytesRead());
+                out.write(buffer, 0, GzipFormat.TRAILER_SIZE);
+            }
+
+            out.flush();
+        } finally {
+            pool.releaseDeflater(encoding, deflater);
+            pool.releaseBuffer(buffer);
+        }
+    }
+
+    private void deflate() throws IOException {
+        int length = deflater.deflate(buffer, 0, buffer.length, Deflater.NO_FLUSH);
+
+        if (length > 0) {
+            out.write(buffer, 0, length);
+        }
+    }
+
+}
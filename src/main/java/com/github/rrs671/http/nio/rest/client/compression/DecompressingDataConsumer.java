@@ -0,0 +1,146 @@
+package com.github.rrs671.http.nio.rest.client.compression;
+
+import com.github.rrs671.http.nio.rest.client.enums.ContentEncodingEnum;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.nio.AsyncDataConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses a gzip or deflate response body for another data consumer of the httpclient5 async client,
+ * each received buffer is inflated through one pooled buffer before it is passed on.
+ *
+ * @since 2.5.0
+ */
+public class DecompressingDataConsumer implements AsyncDataConsumer {
+
+    private final AsyncDataConsumer dataConsumer;
+    private final ContentEncodingEnum encoding;
+    private final CodecPool pool = CodecPool.getInstance();
+
+    private Inflater inflater;
+    private byte[] array;
+    private ByteBuffer buffer;
+    private CRC32 crc;
+    private GzipFormat.HeaderParser header;
+    private long trailer;
+    private int trailerLength;
+
+    public DecompressingDataConsumer(AsyncDataConsumer dataConsumer, ContentEncodingEnum encoding) {
+        this.dataConsumer = dataConsumer;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+        dataConsumer.updateCapacity(capacityChannel);
+    }
+
+    @Override
+    public void consume(ByteBuffer src) throws IOException {
+        if (inflater == null) {
+            if (!src.hasRemaining()) {
+                return;
+            }
+
+            start();
+        }
+
+        try {
+            while (src.hasRemaining()) {
+                if (header != null && !header.isComplete()) {
+                    header.update(src.get() & 0xff);
+                } else if (inflater.finished()) {
+                    readTrailer(src);
+                } else {
+                    inflate(src);
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        }
+    }
+
+    @Override
+    public void streamEnd(List<? extends Header> trailers) throws HttpException, IOException {
+        if (inflater != null) {
+            if (!inflater.finished() || crc != null && trailerLength < GzipFormat.TRAILER_SIZE) {
+                throw new EOFException("Unexpected end of compressed body");
+            }
+
+            if (crc != null) {
+                GzipFormat.checkTrailer(trailer, crc.getValue(), inflater.getBytesWritten());
+            }
+        }
+
+        dataConsumer.streamEnd(trailers);
+    }
+
+    @Override
+    public void releaseResources() {
+        try {
+            dataConsumer.releaseResources();
+        } finally {
+            if (inflater != null) {
+                pool.releaseInflater(encoding, inflater);
+                pool.releaseBuffer(array);
+                inflater = null;
+                array = null;
+                buffer = null;
+            }
+        }
+    }
+
+    private void start() {
+        inflater = pool.acquireInflater(encoding);
+        array = pool.acquireBuffer();
+        buffer = ByteBuffer.wrap(array);
+
+        if (encoding == ContentEncodingEnum.GZIP) {
+            crc = new CRC32();
+            header = new GzipFormat.HeaderParser();
+        }
+    }
+
+    private void inflate(ByteBuffer src) throws IOException, DataFormatException {
+        inflater.setInput(src);
+
+        do {
+            buffer.clear();
+            int length = inflater.inflate(buffer);
+            buffer.flip();
+
+            if (length > 0) {
+                if (crc != null) {
+                    crc.update(buffer);
+                    buffer.position(0);
+                }
+
+                dataConsumer.consume(buffer);
+            } else if (inflater.needsDictionary()) {
+                throw new ZipException("Compressed body needs a preset dictionary");
+            }
+        } while (!inflater.finished() && !inflater.needsInput());
+    }
+
+    private void readTrailer(ByteBuffer src) {
+        if (crc == null || trailerLength == GzipFormat.TRAILER_SIZE) {
+            src.position(src.limit());
+            return;
+        }
+
+        while (src.hasRemaining() && trailerLength < GzipFormat.TRAILER_SIZE) {
+            trailer |= (long) (src.get() & 0xff) << (8 * trailerLength++);
+        }
+    }
+
+}
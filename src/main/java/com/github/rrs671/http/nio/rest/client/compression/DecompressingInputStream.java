@@ -0,0 +1,183 @@
+package com.github.rrs671.http.nio.rest.client.compression;
+
+import com.github.rrs671.http.nio.rest.client.enums.ContentEncodingEnum;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses a gzip or deflate body while it is read, with a pooled Inflater and buffer.
+ * An empty body is read as empty, so responses without content can keep their Content-Encoding header.
+ * Closing returns the Inflater to the pool and closes the source stream.
+ *
+ * @since 2.5.0
+ */
+public class DecompressingInputStream extends InputStream {
+
+    private final InputStream in;
+    private final ContentEncodingEnum encoding;
+    private final CodecPool pool = CodecPool.getInstance();
+
+    private Inflater inflater;
+    private byte[] buffer;
+    private CRC32 crc;
+    private int length;
+    private byte[] single;
+    private boolean eof;
+    private boolean closed;
+
+    public DecompressingInputStream(InputStream in, ContentEncodingEnum encoding) {
+        this.in = in;
+        this.encoding = encoding;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (single == null) {
+            single = new byte[1];
+        }
+
+        int read = read(single, 0, 1);
+
+        return read < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+
+        if (len == 0) {
+            return 0;
+        }
+
+        if (eof) {
+            return -1;
+        }
+
+        if (inflater == null && !start()) {
+            eof = true;
+            return -1;
+        }
+
+        try {
+            while (true) {
+                int read = inflater.inflate(b, off, len);
+
+                if (read > 0) {
+                    if (crc != null) {
+                        crc.update(b, off, read);
+                    }
+
+                    return read;
+                }
+
+                if (inflater.finished()) {
+                    if (crc != null) {
+                        checkTrailer();
+                    }
+
+                    eof = true;
+                    return -1;
+                }
+
+                if (inflater.needsDictionary()) {
+                    throw new ZipException("Compressed body needs a preset dictionary");
+                }
+
+                if (inflater.needsInput()) {
+                    fill();
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            in.close();
+        } finally {
+            if (inflater != null) {
+                pool.releaseInflater(encoding, inflater);
+                pool.releaseBuffer(buffer);
+                inflater = null;
+                buffer = null;
+            }
+        }
+    }
+
+    private boolean start() throws IOException {
+        int first = in.read();
+
+        if (first < 0) {
+            return false;
+        }
+
+        inflater = pool.acquireInflater(encoding);
+        buffer = pool.acquireBuffer();
+
+        if (encoding == ContentEncodingEnum.GZIP) {
+            crc = new CRC32();
+            GzipFormat.HeaderParser header = new GzipFormat.HeaderParser();
+            header.update(first);
+
+            while (!header.isComplete()) {
+                header.update(readByte());
+            }
+        } else {
+            buffer[0] = (byte) first;
+            length = 1;
+            inflater.setInput(buffer, 0, length);
+        }
+
+        return true;
+    }
+
+    private void fill() throws IOException {
+        length = in.read(buffer);
+
+        if (length < 0) {
+            throw new EOFException("Unexpected end of compressed body");
+        }
+
+        inflater.setInput(buffer, 0, length);
+    }
+
+    private void checkTrailer() throws IOException {
+        int remaining = inflater.getRemaining();
+        int offset = length - remaining;
+        long trailer = 0;
+
+        for (int i = 0; i < GzipFormat.TRAILER_SIZE; i++) {
+            int b = i < remaining ? buffer[offset + i] & 0xff : readByte();
+            trailer |= (long) b << (8 * i);
+        }
+
+        GzipFormat.checkTrailer(trailer, crc.getValue(), inflater.getBytesWritten());
+    }
+
+    private int readByte() throws IOException {
+        int b = in.read();
+
+        if (b < 0) {
+            throw new EOFException("Unexpected end of compressed body");
+        }
+
+        return b;
+    }
+
+}
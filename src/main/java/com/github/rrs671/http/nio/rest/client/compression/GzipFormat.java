@@ -0,0 +1,128 @@
+package com.github.rrs671.http.nio.rest.client.compression;
+
+import java.util.zip.ZipException;
+
+/**
+ * Header and trailer of a gzip member (RFC 1952) around the raw deflate data, the compressed data itself
+ * is handled by the pooled Deflater and Inflater instances.
+ */
+final class GzipFormat {
+
+    static final byte[] HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    static final int TRAILER_SIZE = 8;
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private GzipFormat() {}
+
+    static void writeTrailer(byte[] buffer, long crc, long size) {
+        for (int i = 0; i < 4; i++) {
+            buffer[i] = (byte) (crc >>> (8 * i));
+            buffer[i + 4] = (byte) (size >>> (8 * i));
+        }
+    }
+
+    static void checkTrailer(long trailer, long crc, long size) throws ZipException {
+        if ((int) trailer != (int) crc) {
+            throw new ZipException("Corrupt GZIP trailer, CRC mismatch");
+        }
+
+        if ((int) (trailer >>> 32) != (int) size) {
+            throw new ZipException("Corrupt GZIP trailer, size mismatch");
+        }
+    }
+
+    /**
+     * Parses a gzip header one byte at a time, so it can be fed from a stream or from the received buffers
+     */
+    static final class HeaderParser {
+
+        private static final int FIXED = 0;
+        private static final int EXTRA_LENGTH = 1;
+        private static final int EXTRA = 2;
+        private static final int NAME = 3;
+        private static final int COMMENT = 4;
+        private static final int HEADER_CRC = 5;
+        private static final int DONE = 6;
+
+        private int stage = FIXED;
+        private int position;
+        private int flags;
+        private int extraLength;
+
+        boolean isComplete() {
+            return stage == DONE;
+        }
+
+        void update(int b) throws ZipException {
+            switch (stage) {
+                case FIXED -> {
+                    if (position == 0 && b != 0x1f || position == 1 && b != 0x8b) {
+                        throw new ZipException("Not in GZIP format");
+                    }
+
+                    if (position == 2 && b != 8) {
+                        throw new ZipException("Unsupported GZIP compression method");
+                    }
+
+                    if (position == 3) {
+                        flags = b;
+                    }
+
+                    if (++position == HEADER.length) {
+                        next(FIXED);
+                    }
+                }
+                case EXTRA_LENGTH -> {
+                    extraLength |= b << (8 * position);
+
+                    if (++position == 2) {
+                        if (extraLength == 0) {
+                            next(EXTRA);
+                        } else {
+                            stage = EXTRA;
+                            position = 0;
+                        }
+                    }
+                }
+                case EXTRA -> {
+                    if (++position == extraLength) {
+                        next(EXTRA);
+                    }
+                }
+                case NAME, COMMENT -> {
+                    if (b == 0) {
+                        next(stage);
+                    }
+                }
+                case HEADER_CRC -> {
+                    if (++position == 2) {
+                        next(HEADER_CRC);
+                    }
+                }
+                default -> throw new IllegalStateException("GZIP header already parsed");
+            }
+        }
+
+        private void next(int from) {
+            position = 0;
+
+            if (from < EXTRA_LENGTH && (flags & FEXTRA) != 0) {
+                stage = EXTRA_LENGTH;
+            } else if (from < NAME && (flags & FNAME) != 0) {
+                stage = NAME;
+            } else if (from < COMMENT && (flags & FCOMMENT) != 0) {
+                stage = COMMENT;
+            } else if (from < HEADER_CRC && (flags & FHCRC) != 0) {
+                stage = HEADER_CRC;
+            } else {
+                stage = DONE;
+            }
+        }
+
+    }
+
+}
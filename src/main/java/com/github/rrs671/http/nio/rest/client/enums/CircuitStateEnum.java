@@ -0,0 +1,9 @@
+package com.github.rrs671.http.nio.rest.client.enums;
+
+public enum CircuitStateEnum {
+
+    CLOSED,
+    OPEN,
+    HALF_OPEN;
+
+}
@@ -0,0 +1,46 @@
+package com.github.rrs671.http.nio.rest.client.enums;
+
+/**
+ * Content codings supported for the request and response bodies
+ *
+ * @since 2.5.0
+ */
+public enum ContentEncodingEnum {
+
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final String value;
+
+    ContentEncodingEnum(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the coding of a Content-Encoding header value, or null when it is absent or not supported
+     */
+    public static ContentEncodingEnum fromHeader(String contentEncoding) {
+        if (contentEncoding == null) {
+            return null;
+        }
+
+        String coding = contentEncoding.trim();
+
+        if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+            return GZIP;
+        }
+
+        if (coding.equalsIgnoreCase("deflate")) {
+            return DEFLATE;
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.github.rrs671.http.nio.rest.client.enums;
+
+/**
+ * Algorithms available to limit the concurrent requests.
+ * FIXED keeps the configured limit, AIMD grows the limit by one per round trip and shrinks it on drops and timeouts
+ * and GRADIENT shrinks the limit as soon as the round trip time grows over its long term average, before the server
+ * starts to fail.
+ *
+ * @since 2.5.0
+ */
+public enum LimiterEnum {
+
+    FIXED,
+    AIMD,
+    GRADIENT;
+
+}
@@ -0,0 +1,15 @@
+package com.github.rrs671.http.nio.rest.client.enums;
+
+/**
+ * Scope of the rate limit of a RestRequest.
+ * CLIENT shares a single rate between all the origins called by the RestRequest and ORIGIN gives each
+ * scheme+host+port its own rate.
+ *
+ * @since 2.5.0
+ */
+public enum RateLimitScopeEnum {
+
+    CLIENT,
+    ORIGIN;
+
+}
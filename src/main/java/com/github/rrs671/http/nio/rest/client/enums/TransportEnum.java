@@ -0,0 +1,17 @@
+package com.github.rrs671.http.nio.rest.client.enums;
+
+/**
+ * Transports available to execute the requests.
+ * SIMPLE uses one HttpURLConnection per call, POOLED uses a httpclient5 pooled connection manager
+ * with keep-alive and connection reuse and ASYNC uses the httpclient5 non-blocking event loop, where the
+ * requests are completed from I/O callbacks without parking a thread per request.
+ *
+ * @since 2.5.0
+ */
+public enum TransportEnum {
+
+    SIMPLE,
+    POOLED,
+    ASYNC;
+
+}
@@ -0,0 +1,111 @@
+package com.github.rrs671.http.nio.rest.client.factory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.SerializerFactory;
+
+/**
+ * ObjectMapper that keeps the ObjectReader and ObjectWriter returned for each target class, so the body
+ * conversions reuse them instead of building a new one and looking up the root (de)serializer on every request.
+ * The caches are stamped with the configuration instances the readers and writers are created from, the mapper
+ * replaces them on configure, registerModule and the other setters, so a later change resets the caches and is seen
+ * as by a plain ObjectMapper. The caches are ClassValues, the readers and writers are kept by their target class and
+ * the mapper holds no reference to the classes, so it does not keep the class loader of a redeployed application or
+ * the classes generated at runtime alive.
+ *
+ * @since 2.5.0
+ */
+public class CachedObjectMapper extends ObjectMapper {
+
+    private transient volatile ReaderCache readers;
+    private transient volatile WriterCache writers;
+
+    public CachedObjectMapper() {
+        super();
+    }
+
+    /**
+     * @param jsonFactory factory of the data format, e.g. a SmileFactory or a CBORFactory
+     */
+    public CachedObjectMapper(JsonFactory jsonFactory) {
+        super(jsonFactory);
+    }
+
+    protected CachedObjectMapper(CachedObjectMapper src) {
+        super(src);
+    }
+
+    @Override
+    public ObjectMapper copy() {
+        _checkInvalidCopy(CachedObjectMapper.class);
+        return new CachedObjectMapper(this);
+    }
+
+    @Override
+    public ObjectReader readerFor(Class<?> type) {
+        ReaderCache cache = readers;
+
+        if (cache == null || cache.config != _deserializationConfig || cache.context != _deserializationContext) {
+            cache = new ReaderCache(_deserializationConfig, _deserializationContext);
+            readers = cache;
+        }
+
+        return cache.get(type);
+    }
+
+    @Override
+    public ObjectWriter writerFor(Class<?> type) {
+        WriterCache cache = writers;
+
+        if (cache == null || cache.config != _serializationConfig || cache.provider != _serializerProvider
+                || cache.factory != _serializerFactory) {
+            cache = new WriterCache(_serializationConfig, _serializerProvider, _serializerFactory);
+            writers = cache;
+        }
+
+        return cache.get(type);
+    }
+
+    private final class ReaderCache extends ClassValue<ObjectReader> {
+
+        private final DeserializationConfig config;
+        private final DeserializationContext context;
+
+        private ReaderCache(DeserializationConfig config, DeserializationContext context) {
+            this.config = config;
+            this.context = context;
+        }
+
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return CachedObjectMapper.super.readerFor(type);
+        }
+
+    }
+
+    private final class WriterCache extends ClassValue<ObjectWriter> {
+
+        private final SerializationConfig config;
+        private final SerializerProvider provider;
+        private final SerializerFactory factory;
+
+        private WriterCache(SerializationConfig config, SerializerProvider provider, SerializerFactory factory) {
+            this.config = config;
+            this.provider = provider;
+            this.factory = factory;
+        }
+
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return CachedObjectMapper.super.writerFor(type);
+        }
+
+    }
+
+}
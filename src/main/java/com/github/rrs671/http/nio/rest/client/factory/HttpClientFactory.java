@@ -0,0 +1,263 @@
+package com.github.rrs671.http.nio.rest.client.factory;
+
+import com.github.rrs671.http.nio.rest.client.compression.AsyncCompressionExec;
+import com.github.rrs671.http.nio.rest.client.enums.LimiterEnum;
+import com.github.rrs671.http.nio.rest.client.jfr.AsyncRecordingExec;
+import com.github.rrs671.http.nio.rest.client.jfr.ConnectionLeaseExec;
+import com.github.rrs671.http.nio.rest.client.metrics.AsyncMeteringExec;
+import com.github.rrs671.http.nio.rest.utils.ClientParams;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClientBuilder;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+
+/**
+ * Factory for the httpclient5 clients used by the pooled transports.
+ *
+ * @since 2.5.0
+ */
+public abstract class HttpClientFactory {
+
+    public static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 200;
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 50;
+
+    private HttpClientFactory() {}
+
+    /**
+     * Returns a pooled keep-alive HttpClient instance
+     *
+     * @param clientParams timeouts and connection pool values
+     * @return a CloseableHttpClient instance, it must be closed to release the pooled connections
+     */
+    public static CloseableHttpClient createPooled(ClientParams clientParams) {
+        return createPooled(clientParams, createConnectionManager(clientParams));
+    }
+
+    /**
+     * Returns the keep-alive connection pool of a pooled HttpClient, its statistics are available while the client is used
+     *
+     * @param clientParams connection pool values
+     * @since 2.5.0
+     */
+    public static PoolingHttpClientConnectionManager createConnectionManager(ClientParams clientParams) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.LAX)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setMaxConnTotal(maxTotalConnections(clientParams))
+                .setMaxConnPerRoute(maxConnectionsPerRoute(clientParams))
+                .setDefaultConnectionConfig(connectionConfig(clientParams))
+                .build();
+    }
+
+    /**
+     * Returns a pooled keep-alive HttpClient instance over the connection pool
+     *
+     * @param clientParams timeout values
+     * @param connectionManager connection pool, usually from createConnectionManager, it is closed with the client
+     * @return a CloseableHttpClient instance, it must be closed to release the pooled connections
+     * @since 2.5.0
+     */
+    public static CloseableHttpClient createPooled(ClientParams clientParams, PoolingHttpClientConnectionManager connectionManager) {
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(clientParams))
+                .evictExpiredConnections();
+
+        if (clientParams.getIdleEvictionInSeconds() > 0) {
+            builder.evictIdleConnections(TimeValue.ofSeconds(clientParams.getIdleEvictionInSeconds()));
+        }
+
+        if (clientParams.isCompressionEnabled()) {
+            // decompressed by the request factory with the pooled codecs
+            builder.disableContentCompression();
+        }
+
+        if (!clientParams.getRetryPolicies().isEmpty()) {
+            // retried by the retry policies
+            builder.disableAutomaticRetries();
+        } else if (clientParams.isHedgingEnabled() || isAdaptive(clientParams)) {
+            builder.setRetryStrategy(new TransportRetryStrategy(!isAdaptive(clientParams)));
+        }
+
+        addLeaseRecording(builder);
+
+        return builder.build();
+    }
+
+    /**
+     * Returns a started non-blocking HttpAsyncClient instance. The requests are multiplexed over a small
+     * number of I/O reactor threads (one per core) and the pooled connections.
+     *
+     * @param clientParams timeouts and connection pool values
+     * @return a started CloseableHttpAsyncClient instance, it must be closed to stop the I/O reactor
+     */
+    public static CloseableHttpAsyncClient createAsync(ClientParams clientParams) {
+        return createAsync(clientParams, createAsyncConnectionManager(clientParams));
+    }
+
+    /**
+     * Returns the connection pool of a HttpAsyncClient, its statistics are available while the client is used
+     *
+     * @param clientParams connection pool values
+     * @since 2.5.0
+     */
+    public static PoolingAsyncClientConnectionManager createAsyncConnectionManager(ClientParams clientParams) {
+        return PoolingAsyncClientConnectionManagerBuilder.create()
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.LAX)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setMaxConnTotal(maxTotalConnections(clientParams))
+                .setMaxConnPerRoute(maxConnectionsPerRoute(clientParams))
+                .setDefaultConnectionConfig(connectionConfig(clientParams))
+                .build();
+    }
+
+    /**
+     * Returns a started non-blocking HttpAsyncClient instance over the connection pool
+     *
+     * @param clientParams timeout values
+     * @param connectionManager connection pool, usually from createAsyncConnectionManager, it is closed with the client
+     * @return a started CloseableHttpAsyncClient instance, it must be closed to stop the I/O reactor
+     * @since 2.5.0
+     */
+    public static CloseableHttpAsyncClient createAsync(ClientParams clientParams, PoolingAsyncClientConnectionManager connectionManager) {
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setSoTimeout(Timeout.ofSeconds(clientParams.getReadTimeout()))
+                .build();
+
+        HttpAsyncClientBuilder builder = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setIOReactorConfig(ioReactorConfig)
+                .setDefaultRequestConfig(requestConfig(clientParams))
+                .evictExpiredConnections();
+
+        if (clientParams.getIdleEvictionInSeconds() > 0) {
+            builder.evictIdleConnections(TimeValue.ofSeconds(clientParams.getIdleEvictionInSeconds()));
+        }
+
+        if (!clientParams.getRetryPolicies().isEmpty()) {
+            // retried by the retry policies
+            builder.disableAutomaticRetries();
+        } else if (isAdaptive(clientParams)) {
+            builder.setRetryStrategy(new TransportRetryStrategy(false));
+        }
+
+        if (clientParams.isCompressionEnabled()) {
+            builder.addExecInterceptorFirst("compression", new AsyncCompressionExec(clientParams.isResponseCompression(),
+                    clientParams.getRequestCompression(), clientParams.getRequestCompressionMinSize()));
+        }
+
+        if (clientParams.getMetricsRecorder() != null) {
+            // each attempt is metered from the connection lease
+            builder.addExecInterceptorBefore(ChainElement.CONNECT.name(), "metrics",
+                    new AsyncMeteringExec(clientParams.getMetricsRecorder()));
+        }
+
+        addLeaseRecording(builder);
+        builder.addExecInterceptorBefore(ChainElement.MAIN_TRANSPORT.name(), "exchange-events", new AsyncRecordingExec());
+
+        CloseableHttpAsyncClient asyncClient = builder.build();
+        asyncClient.start();
+
+        return asyncClient;
+    }
+
+    /**
+     * Records the ConnectionLease JFR event of each attempt, from the connect element to the main transport
+     */
+    private static void addLeaseRecording(HttpClientBuilder builder) {
+        builder.addExecInterceptorBefore(ChainElement.CONNECT.name(), "lease-events", ConnectionLeaseExec.start());
+        builder.addExecInterceptorBefore(ChainElement.MAIN_TRANSPORT.name(), "leased-events", ConnectionLeaseExec.end());
+    }
+
+    private static void addLeaseRecording(HttpAsyncClientBuilder builder) {
+        builder.addExecInterceptorBefore(ChainElement.CONNECT.name(), "lease-events", ConnectionLeaseExec.start());
+        builder.addExecInterceptorBefore(ChainElement.MAIN_TRANSPORT.name(), "leased-events", ConnectionLeaseExec.end());
+    }
+
+    /**
+     * The adaptive limiters must see the 429 and 503 responses as drops, the transport retrying them once after a
+     * second would hide the overload
+     */
+    private static boolean isAdaptive(ClientParams clientParams) {
+        return clientParams.getLimiter() != LimiterEnum.FIXED;
+    }
+
+    /**
+     * Does not retry the requests whose thread was interrupted, as the losing attempt of a hedged request, and
+     * only retries the 429 and 503 responses when retryResponses is set
+     */
+    private static final class TransportRetryStrategy extends DefaultHttpRequestRetryStrategy {
+
+        private final boolean retryResponses;
+
+        private TransportRetryStrategy(boolean retryResponses) {
+            this.retryResponses = retryResponses;
+        }
+
+        @Override
+        public boolean retryRequest(HttpRequest request, IOException exception, int execCount, HttpContext context) {
+            return !Thread.currentThread().isInterrupted() && super.retryRequest(request, exception, execCount, context);
+        }
+
+        @Override
+        public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
+            return retryResponses && super.retryRequest(response, execCount, context);
+        }
+    }
+
+    static int maxTotalConnections(ClientParams clientParams) {
+        return clientParams.getMaxTotalConnections() > 0 ? clientParams.getMaxTotalConnections() : DEFAULT_MAX_TOTAL_CONNECTIONS;
+    }
+
+    static int maxConnectionsPerRoute(ClientParams clientParams) {
+        if (clientParams.getMaxConnectionsPerRoute() > 0) {
+            return clientParams.getMaxConnectionsPerRoute();
+        }
+
+        return Math.min(DEFAULT_MAX_CONNECTIONS_PER_ROUTE, maxTotalConnections(clientParams));
+    }
+
+    static ConnectionConfig connectionConfig(ClientParams clientParams) {
+        ConnectionConfig.Builder builder = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofSeconds(clientParams.getConnTimeout()))
+                .setSocketTimeout(Timeout.ofSeconds(clientParams.getReadTimeout()));
+
+        if (clientParams.getConnectionTimeToLiveInSeconds() > 0) {
+            builder.setTimeToLive(TimeValue.ofSeconds(clientParams.getConnectionTimeToLiveInSeconds()));
+        }
+
+        return builder.build();
+    }
+
+    static RequestConfig requestConfig(ClientParams clientParams) {
+        RequestConfig.Builder builder = RequestConfig.custom()
+                .setResponseTimeout(Timeout.ofSeconds(clientParams.getReadTimeout()));
+
+        if (clientParams.getKeepAliveInSeconds() > 0) {
+            builder.setConnectionKeepAlive(TimeValue.ofSeconds(clientParams.getKeepAliveInSeconds()));
+        }
+
+        return builder.build();
+    }
+
+}
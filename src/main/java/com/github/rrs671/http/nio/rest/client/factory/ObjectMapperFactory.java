@@ -1,35 +1,67 @@
 package com.github.rrs671.http.nio.rest.client.factory;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 
 public abstract class ObjectMapperFactory {
 
     private static ObjectMapper objectMapper = null;
+    private static ObjectMapper performanceObjectMapper = null;
 
     private ObjectMapperFactory() {}
 
+    /**
+     * Returns the default ObjectMapper, bodies are written compact
+     */
     public static synchronized ObjectMapper getInstance() {
         if (objectMapper == null) {
-            objectMapper = new ObjectMapper();
-
-            objectMapper.registerModule(new JavaTimeModule());
-            objectMapper.registerModule(new Jdk8Module());
+            objectMapper = create(new JsonFactory());
+        }
 
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-            objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+        return objectMapper;
+    }
 
-            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            objectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
-            objectMapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+    /**
+     * Returns the default ObjectMapper with the Blackbird module, properties are accessed through generated
+     * lambdas instead of reflection. It can be passed to NioRestClient.rest(clientParams, objectMapper).
+     *
+     * @since 2.5.0
+     */
+    public static synchronized ObjectMapper getPerformanceInstance() {
+        if (performanceObjectMapper == null) {
+            performanceObjectMapper = create(new JsonFactory());
+            performanceObjectMapper.registerModule(new BlackbirdModule());
         }
 
-        return objectMapper;
+        return performanceObjectMapper;
+    }
+
+    /**
+     * Returns a new ObjectMapper with the default configuration for the data format of the factory,
+     * used by the binary codecs
+     *
+     * @since 2.5.0
+     */
+    public static ObjectMapper create(JsonFactory jsonFactory) {
+        ObjectMapper mapper = new CachedObjectMapper(jsonFactory);
+
+        mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new Jdk8Module());
+
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+        mapper.configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+
+        return mapper;
     }
 
 }
@@ -1,11 +1,24 @@
 package com.github.rrs671.http.nio.rest.client.factory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodec;
+import com.github.rrs671.http.nio.rest.client.compression.CompressingClientHttpRequestFactory;
+import com.github.rrs671.http.nio.rest.client.jfr.RecordingClientHttpRequestFactory;
+import com.github.rrs671.http.nio.rest.client.metrics.MeteringClientHttpRequestFactory;
+import com.github.rrs671.http.nio.rest.client.request.BodyCodecHttpMessageConverter;
+import com.github.rrs671.http.nio.rest.client.request.BodySourceHttpMessageConverter;
+import com.github.rrs671.http.nio.rest.utils.ClientParams;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestClient;
 
 import java.time.Duration;
+import java.util.List;
 
 public abstract class RestClientFactory {
 
@@ -24,6 +37,67 @@ public abstract class RestClientFactory {
         requestFactory.setConnectTimeout((int) Duration.ofSeconds(connectionTimeOutInSeconds).toMillis());
         requestFactory.setReadTimeout((int) Duration.ofSeconds(readTimeOutInSeconds).toMillis());
 
+        return create(requestFactory, objectMapper, List.of());
+    }
+
+    /**
+     * Returns a RestClient instance backed by a httpclient5 client, connection and read timeouts are taken
+     * from the client connection manager
+     *
+     * @param httpClient a httpclient5 client, usually a pooled one from HttpClientFactory
+     * @return a RestClient instance
+     */
+    public static RestClient create(HttpClient httpClient, ObjectMapper objectMapper) {
+        return create(new HttpComponentsClientHttpRequestFactory(httpClient), objectMapper, List.of());
+    }
+
+    /**
+     * Returns a RestClient instance with the timeouts, the compression, the metrics and the codecs of the client params
+     *
+     * @param clientParams timeouts, compression and codec values
+     * @return a RestClient instance
+     */
+    public static RestClient create(ClientParams clientParams, ObjectMapper objectMapper) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+
+        requestFactory.setConnectTimeout((int) Duration.ofSeconds(clientParams.getConnTimeout()).toMillis());
+        requestFactory.setReadTimeout((int) Duration.ofSeconds(clientParams.getReadTimeout()).toMillis());
+
+        return create(decorate(requestFactory, clientParams), objectMapper, clientParams.getCodecs());
+    }
+
+    /**
+     * Returns a RestClient instance backed by a httpclient5 client with the compression, the metrics and the codecs of the client params
+     *
+     * @param httpClient a httpclient5 client, usually a pooled one from HttpClientFactory
+     * @param clientParams compression and codec values
+     * @return a RestClient instance
+     */
+    public static RestClient create(HttpClient httpClient, ClientParams clientParams, ObjectMapper objectMapper) {
+        return create(decorate(new HttpComponentsClientHttpRequestFactory(httpClient), clientParams), objectMapper,
+                clientParams.getCodecs());
+    }
+
+    /**
+     * Decorates the request factory of the transport with the JFR events and the metering, innermost so the bytes are
+     * counted as they are sent and received, and with the compression
+     */
+    private static ClientHttpRequestFactory decorate(ClientHttpRequestFactory requestFactory, ClientParams clientParams) {
+        requestFactory = new RecordingClientHttpRequestFactory(requestFactory);
+
+        if (clientParams.getMetricsRecorder() != null) {
+            requestFactory = new MeteringClientHttpRequestFactory(requestFactory, clientParams.getMetricsRecorder());
+        }
+
+        if (!clientParams.isCompressionEnabled()) {
+            return requestFactory;
+        }
+
+        return new CompressingClientHttpRequestFactory(requestFactory, clientParams.isResponseCompression(),
+                clientParams.getRequestCompression(), clientParams.getRequestCompressionMinSize());
+    }
+
+    private static RestClient create(ClientHttpRequestFactory requestFactory, ObjectMapper objectMapper, List<BodyCodec> codecs) {
         if (objectMapper == null) {
             objectMapper = ObjectMapperFactory.getInstance();
         }
@@ -31,9 +105,20 @@ public abstract class RestClientFactory {
         MappingJackson2HttpMessageConverter messageConverter = new MappingJackson2HttpMessageConverter();
         messageConverter.setObjectMapper(objectMapper);
 
+        BodySourceHttpMessageConverter bodySourceConverter = new BodySourceHttpMessageConverter(objectMapper);
+        List<HttpMessageConverter<?>> codecConverters = codecs.stream()
+                .<HttpMessageConverter<?>>map(BodyCodecHttpMessageConverter::new)
+                .toList();
+
         return RestClient.builder()
                 .requestFactory(requestFactory)
-                .messageConverters(converters -> converters.add(messageConverter))
+                .messageConverters(converters -> {
+                    // the default Jackson converters would take precedence over the configured ObjectMapper
+                    converters.removeIf(AbstractJackson2HttpMessageConverter.class::isInstance);
+                    converters.addFirst(bodySourceConverter);
+                    converters.add(messageConverter);
+                    converters.addAll(codecConverters);
+                })
                 .build();
     }
 
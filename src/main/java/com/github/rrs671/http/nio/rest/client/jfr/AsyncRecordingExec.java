@@ -0,0 +1,287 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import org.apache.hc.client5.http.async.AsyncExecCallback;
+import org.apache.hc.client5.http.async.AsyncExecChain;
+import org.apache.hc.client5.http.async.AsyncExecChainHandler;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncDataConsumer;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Records the RequestWrite, TimeToFirstByte and ResponseRead events of the httpclient5 async client, the counterpart
+ * of {@link RecordingClientHttpRequestFactory}. It runs right before the main transport, once the connection is
+ * leased. The exchanges are passed through while these events are disabled.
+ *
+ * @since 2.5.0
+ */
+public class AsyncRecordingExec implements AsyncExecChainHandler {
+
+    @Override
+    public void execute(HttpRequest request, AsyncEntityProducer entityProducer, AsyncExecChain.Scope scope,
+                        AsyncExecChain chain, AsyncExecCallback callback) throws HttpException, IOException {
+        if (!RequestEvents.isExchangeEnabled()) {
+            chain.proceed(request, entityProducer, scope, callback);
+            return;
+        }
+
+        Exchange exchange = new Exchange(request, RequestEvents.url(request,
+                scope.clientContext.getAttribute(RequestParams.ROUTE_ATTRIBUTE)));
+
+        chain.proceed(request, entityProducer != null ? new RecordingEntityProducer(entityProducer, exchange) : null,
+                scope, new RecordingCallback(callback, exchange));
+    }
+
+    /**
+     * The events of an exchange, they are begun and ended by the I/O reactor thread of its connection
+     */
+    private static class Exchange {
+
+        private final HttpRequest request;
+        private final String url;
+        private final RequestWriteEvent write = new RequestWriteEvent();
+        private final TimeToFirstByteEvent firstByte = new TimeToFirstByteEvent();
+        private final ResponseReadEvent read = new ResponseReadEvent();
+        private boolean writing;
+        private boolean reading;
+
+        private Exchange(HttpRequest request, String url) {
+            this.request = request;
+            this.url = url;
+            // begun again once the body is written
+            this.firstByte.begin();
+        }
+
+        private void writeStarted() {
+            if (!writing) {
+                writing = true;
+                write.begin();
+            }
+        }
+
+        private void writeEnded() {
+            write.end();
+
+            if (write.shouldCommit()) {
+                RequestEvents.commit(write, url, request.getMethod());
+            }
+
+            firstByte.begin();
+        }
+
+        private void responseReceived(int status) {
+            firstByte.end();
+
+            if (firstByte.shouldCommit()) {
+                firstByte.status = status;
+                RequestEvents.commit(firstByte, url, request.getMethod());
+            }
+
+            reading = true;
+            read.status = status;
+            read.begin();
+        }
+
+        private void ended() {
+            if (!reading) {
+                responseReceived(0);
+            }
+
+            read.end();
+
+            if (read.shouldCommit()) {
+                RequestEvents.commit(read, url, request.getMethod());
+            }
+        }
+
+    }
+
+    private static class RecordingCallback implements AsyncExecCallback {
+
+        private final AsyncExecCallback callback;
+        private final Exchange exchange;
+
+        private RecordingCallback(AsyncExecCallback callback, Exchange exchange) {
+            this.callback = callback;
+            this.exchange = exchange;
+        }
+
+        @Override
+        public AsyncDataConsumer handleResponse(HttpResponse response, EntityDetails entityDetails) throws HttpException, IOException {
+            exchange.responseReceived(response.getCode());
+
+            AsyncDataConsumer dataConsumer = callback.handleResponse(response, entityDetails);
+
+            return dataConsumer != null ? new RecordingDataConsumer(dataConsumer, exchange) : null;
+        }
+
+        @Override
+        public void handleInformationResponse(HttpResponse response) throws HttpException, IOException {
+            callback.handleInformationResponse(response);
+        }
+
+        @Override
+        public void completed() {
+            exchange.ended();
+            callback.completed();
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            exchange.ended();
+            callback.failed(cause);
+        }
+
+    }
+
+    private static class RecordingDataConsumer implements AsyncDataConsumer {
+
+        private final AsyncDataConsumer dataConsumer;
+        private final Exchange exchange;
+
+        private RecordingDataConsumer(AsyncDataConsumer dataConsumer, Exchange exchange) {
+            this.dataConsumer = dataConsumer;
+            this.exchange = exchange;
+        }
+
+        @Override
+        public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+            dataConsumer.updateCapacity(capacityChannel);
+        }
+
+        @Override
+        public void consume(ByteBuffer src) throws IOException {
+            exchange.read.bytes += src.remaining();
+            dataConsumer.consume(src);
+        }
+
+        @Override
+        public void streamEnd(List<? extends Header> trailers) throws HttpException, IOException {
+            dataConsumer.streamEnd(trailers);
+        }
+
+        @Override
+        public void releaseResources() {
+            dataConsumer.releaseResources();
+        }
+
+    }
+
+    private static class RecordingEntityProducer implements AsyncEntityProducer {
+
+        private final AsyncEntityProducer entityProducer;
+        private final Exchange exchange;
+        private RecordingChannel channel;
+
+        private RecordingEntityProducer(AsyncEntityProducer entityProducer, Exchange exchange) {
+            this.entityProducer = entityProducer;
+            this.exchange = exchange;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return entityProducer.isRepeatable();
+        }
+
+        @Override
+        public String getContentType() {
+            return entityProducer.getContentType();
+        }
+
+        @Override
+        public long getContentLength() {
+            return entityProducer.getContentLength();
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return entityProducer.getContentEncoding();
+        }
+
+        @Override
+        public boolean isChunked() {
+            return entityProducer.isChunked();
+        }
+
+        @Override
+        public Set<String> getTrailerNames() {
+            return entityProducer.getTrailerNames();
+        }
+
+        @Override
+        public int available() {
+            return entityProducer.available();
+        }
+
+        @Override
+        public void produce(DataStreamChannel dataStreamChannel) throws IOException {
+            exchange.writeStarted();
+
+            if (channel == null || channel.channel != dataStreamChannel) {
+                channel = new RecordingChannel(dataStreamChannel, exchange);
+            }
+
+            entityProducer.produce(channel);
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            entityProducer.failed(cause);
+        }
+
+        @Override
+        public void releaseResources() {
+            entityProducer.releaseResources();
+        }
+
+    }
+
+    private static class RecordingChannel implements DataStreamChannel {
+
+        private final DataStreamChannel channel;
+        private final Exchange exchange;
+
+        private RecordingChannel(DataStreamChannel channel, Exchange exchange) {
+            this.channel = channel;
+            this.exchange = exchange;
+        }
+
+        @Override
+        public void requestOutput() {
+            channel.requestOutput();
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int written = channel.write(src);
+            exchange.write.bytes += written;
+
+            return written;
+        }
+
+        @Override
+        public void endStream(List<? extends Header> trailers) throws IOException {
+            channel.endStream(trailers);
+            exchange.writeEnded();
+        }
+
+        @Override
+        public void endStream() throws IOException {
+            channel.endStream();
+            exchange.writeEnded();
+        }
+
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Lease of a pooled connection for an exchange, including the connect when no idle connection is available.
+ * Recorded by the POOLED and ASYNC transports.
+ *
+ * @since 2.5.0
+ */
+@Name("com.github.rrs671.nio.rest.ConnectionLease")
+@Label("Connection Lease")
+@Description("Lease of a pooled connection, including the connect when no idle connection is available")
+public class ConnectionLeaseEvent extends ExchangeEvent {
+}
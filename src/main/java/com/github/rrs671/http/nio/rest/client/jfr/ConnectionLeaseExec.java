@@ -0,0 +1,81 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import org.apache.hc.client5.http.async.AsyncExecCallback;
+import org.apache.hc.client5.http.async.AsyncExecChain;
+import org.apache.hc.client5.http.async.AsyncExecChainHandler;
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+
+import java.io.IOException;
+
+/**
+ * Records the ConnectionLease event of the httpclient5 clients. The start handler goes right before the connect
+ * element of the exec chain and begins the event, the end handler goes right before the main transport and commits
+ * it, the event is kept in the request context meanwhile. The route of the async requests is read from their context,
+ * the one of the blocking requests is set for their thread by {@link RecordingClientHttpRequestFactory}.
+ *
+ * @since 2.5.0
+ */
+public class ConnectionLeaseExec implements ExecChainHandler, AsyncExecChainHandler {
+
+    private static final String EVENT_ATTRIBUTE = ConnectionLeaseExec.class.getName();
+
+    private final boolean start;
+
+    private ConnectionLeaseExec(boolean start) {
+        this.start = start;
+    }
+
+    public static ConnectionLeaseExec start() {
+        return new ConnectionLeaseExec(true);
+    }
+
+    public static ConnectionLeaseExec end() {
+        return new ConnectionLeaseExec(false);
+    }
+
+    @Override
+    public ClassicHttpResponse execute(ClassicHttpRequest request, ExecChain.Scope scope, ExecChain chain)
+            throws IOException, HttpException {
+        record(request, scope.clientContext, RequestEvents.getBlockingRoute());
+
+        return chain.proceed(request, scope);
+    }
+
+    @Override
+    public void execute(HttpRequest request, AsyncEntityProducer entityProducer, AsyncExecChain.Scope scope,
+                        AsyncExecChain chain, AsyncExecCallback callback) throws HttpException, IOException {
+        record(request, scope.clientContext, scope.clientContext.getAttribute(RequestParams.ROUTE_ATTRIBUTE));
+
+        chain.proceed(request, entityProducer, scope, callback);
+    }
+
+    private void record(HttpRequest request, HttpClientContext context, Object route) {
+        if (start) {
+            ConnectionLeaseEvent event = new ConnectionLeaseEvent();
+
+            if (event.isEnabled()) {
+                event.begin();
+                context.setAttribute(EVENT_ATTRIBUTE, event);
+            }
+
+            return;
+        }
+
+        if (context.removeAttribute(EVENT_ATTRIBUTE) instanceof ConnectionLeaseEvent event) {
+            event.end();
+
+            if (event.shouldCommit()) {
+                RequestEvents.commit(event, RequestEvents.url(request, route), request.getMethod());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Deserialization of a response body received by the ASYNC transport, after the whole body was received.
+ *
+ * @since 2.5.0
+ */
+@Name("com.github.rrs671.nio.rest.Deserialization")
+@Label("Deserialization")
+@Description("Deserialization of a response body received by the ASYNC transport")
+public class DeserializationEvent extends ExchangeEvent {
+
+    @Label("Status")
+    public int status;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Success")
+    public boolean success;
+
+}
@@ -0,0 +1,30 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Java Flight Recorder events of the request phases. The events are disabled by default, they are
+ * recorded once enabled in the recording settings, e.g.
+ * {@code jfr configure +com.github.rrs671.nio.rest.ResponseRead#enabled=true}, or with a .jfc file passed to
+ * {@code -XX:StartFlightRecording}. While they are disabled the pipeline does not create them.
+ * The url is the url of the request without its query, its path is replaced by the route of the request when known,
+ * e.g. the path of the url template of a prepared request, so the events of an endpoint can be grouped.
+ *
+ * @since 2.5.0
+ */
+@Category({"NioRestClient", "Request"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class ExchangeEvent extends Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Method")
+    public String method;
+
+}
@@ -0,0 +1,34 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Delivery of a completed request to the ResponseHandler of a RestHandler. The status is 0 for successful
+ * responses and for the failures without a response.
+ *
+ * @since 2.5.0
+ */
+@Name("com.github.rrs671.nio.rest.HandlerDispatch")
+@Label("Handler Dispatch")
+@Description("Delivery of a completed request to the ResponseHandler of a RestHandler")
+@Category({"NioRestClient", "Handler"})
+@Enabled(false)
+@StackTrace(false)
+public class HandlerDispatchEvent extends Event {
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Success")
+    public boolean success;
+
+    @Label("Error Status")
+    public int status;
+
+}
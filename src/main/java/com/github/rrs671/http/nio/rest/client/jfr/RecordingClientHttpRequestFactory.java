@@ -0,0 +1,211 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import com.github.rrs671.http.nio.rest.http.CountingInputStream;
+import com.github.rrs671.http.nio.rest.http.CountingOutputStream;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Decorates the request factory of the blocking transports recording the RequestWrite, TimeToFirstByte and
+ * ResponseRead events of each exchange, and sets the route of the request for the ConnectionLease event of the
+ * pooled transport while it is executed. The requests are not wrapped while these events are disabled.
+ *
+ * @since 2.5.0
+ */
+public class RecordingClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory requestFactory;
+
+    public RecordingClientHttpRequestFactory(ClientHttpRequestFactory requestFactory) {
+        this.requestFactory = requestFactory;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        ClientHttpRequest request = requestFactory.createRequest(uri, httpMethod);
+
+        return RequestEvents.isExchangeEnabled() || new ConnectionLeaseEvent().isEnabled()
+                ? new RecordingRequest(request)
+                : request;
+    }
+
+    private static class RecordingRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest request;
+        private final TimeToFirstByteEvent firstByte = new TimeToFirstByteEvent();
+        private Body body;
+
+        private RecordingRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public void setBody(Body body) {
+            this.body = body;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return request.getAttributes();
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            Object route = request.getAttributes().get(RequestParams.ROUTE_ATTRIBUTE);
+            String url = RequestEvents.url(request.getURI(), route);
+
+            // begun again once the body is written
+            firstByte.begin();
+
+            if (body != null) {
+                if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+                    streamingRequest.setBody(out -> write(out, url));
+                } else {
+                    write(request.getBody(), url);
+                }
+            }
+
+            ClientHttpResponse response;
+            RequestEvents.setBlockingRoute(route);
+
+            try {
+                response = request.execute();
+            } catch (IOException | RuntimeException e) {
+                firstByte.end();
+
+                if (firstByte.shouldCommit()) {
+                    RequestEvents.commit(firstByte, url, request.getMethod().name());
+                }
+
+                throw e;
+            } finally {
+                RequestEvents.clearBlockingRoute();
+            }
+
+            firstByte.end();
+
+            int status = response.getStatusCode().value();
+
+            if (firstByte.shouldCommit()) {
+                firstByte.status = status;
+                RequestEvents.commit(firstByte, url, request.getMethod().name());
+            }
+
+            return new RecordingResponse(response, url, request.getMethod().name(), status);
+        }
+
+        private void write(OutputStream out, String url) throws IOException {
+            RequestWriteEvent event = new RequestWriteEvent();
+            CountingOutputStream counting = new CountingOutputStream(out);
+
+            event.begin();
+
+            try {
+                body.writeTo(counting);
+            } finally {
+                event.end();
+
+                if (event.shouldCommit()) {
+                    event.bytes = counting.getCount();
+                    RequestEvents.commit(event, url, request.getMethod().name());
+                }
+
+                firstByte.begin();
+            }
+        }
+
+    }
+
+    private static class RecordingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final String url;
+        private final String method;
+        private final ResponseReadEvent event = new ResponseReadEvent();
+        private CountingInputStream body;
+        private boolean closed;
+
+        private RecordingResponse(ClientHttpResponse response, String url, String method, int status) {
+            this.response = response;
+            this.url = url;
+            this.method = method;
+            this.event.status = status;
+            this.event.begin();
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(response.getBody());
+            }
+
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    event.end();
+
+                    if (event.shouldCommit()) {
+                        event.bytes = body != null ? body.getCount() : 0L;
+                        RequestEvents.commit(event, url, method);
+                    }
+                }
+            }
+        }
+
+    }
+
+}
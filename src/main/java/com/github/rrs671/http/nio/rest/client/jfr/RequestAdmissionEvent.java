@@ -0,0 +1,28 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A request waiting for its rate slot and concurrency permits, only the requests that are not admitted at once
+ * are recorded.
+ *
+ * @since 2.5.0
+ */
+@Name("com.github.rrs671.nio.rest.RequestAdmission")
+@Label("Request Admission")
+@Description("Wait of a request for its rate slot and concurrency permits")
+@Category({"NioRestClient", "Request"})
+@Enabled(false)
+@StackTrace(false)
+public class RequestAdmissionEvent extends Event {
+
+    @Label("Origin")
+    public String origin;
+
+}
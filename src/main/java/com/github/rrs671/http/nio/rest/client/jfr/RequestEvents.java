@@ -0,0 +1,75 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import org.apache.hc.core5.http.HttpRequest;
+
+import java.net.URI;
+
+/**
+ * Helpers of the transports that record the request phase events.
+ *
+ * @since 2.5.0
+ */
+public abstract class RequestEvents {
+
+    // route of the blocking request executed by the thread, the classic exec chain runs on the thread of the request
+    private static final ThreadLocal<String> BLOCKING_ROUTE = new ThreadLocal<>();
+
+    private RequestEvents() {}
+
+    /**
+     * Returns true when any of the exchange events recorded by the transport decorators is enabled, otherwise the
+     * decorators pass the requests through without wrapping them
+     */
+    public static boolean isExchangeEnabled() {
+        return new TimeToFirstByteEvent().isEnabled() || new ResponseReadEvent().isEnabled()
+                || new RequestWriteEvent().isEnabled();
+    }
+
+    /**
+     * Returns the url of the event, with the route of the request instead of its path when it is known
+     *
+     * @param route route of the request, or null
+     */
+    public static String url(URI uri, Object route) {
+        if (route instanceof String path) {
+            return uri.getScheme() + "://" + uri.getRawAuthority() + path;
+        }
+
+        return uri.getScheme() + "://" + uri.getRawAuthority() + (uri.getRawPath() != null ? uri.getRawPath() : "");
+    }
+
+    /**
+     * @see #url(URI, Object)
+     */
+    public static String url(HttpRequest request, Object route) {
+        if (route instanceof String path) {
+            return request.getScheme() + "://" + request.getAuthority() + path;
+        }
+
+        String path = request.getPath() != null ? request.getPath() : "";
+        int query = path.indexOf('?');
+
+        return request.getScheme() + "://" + request.getAuthority() + (query < 0 ? path : path.substring(0, query));
+    }
+
+    static void setBlockingRoute(Object route) {
+        if (route instanceof String path) {
+            BLOCKING_ROUTE.set(path);
+        }
+    }
+
+    static String getBlockingRoute() {
+        return BLOCKING_ROUTE.get();
+    }
+
+    static void clearBlockingRoute() {
+        BLOCKING_ROUTE.remove();
+    }
+
+    public static void commit(ExchangeEvent event, String url, String method) {
+        event.url = url;
+        event.method = method;
+        event.commit();
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Write of a request body to the connection, requests without body are not recorded.
+ *
+ * @since 2.5.0
+ */
+@Name("com.github.rrs671.nio.rest.RequestWrite")
+@Label("Request Write")
+@Description("Write of a request body to the connection")
+public class RequestWriteEvent extends ExchangeEvent {
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytes;
+
+}
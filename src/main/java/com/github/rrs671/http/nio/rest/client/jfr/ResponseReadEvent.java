@@ -0,0 +1,26 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Read of a response body. The blocking transports decode the body while it is read, so for them this event also
+ * covers the deserialization.
+ *
+ * @since 2.5.0
+ */
+@Name("com.github.rrs671.nio.rest.ResponseRead")
+@Label("Response Read")
+@Description("Read of a response body, including its deserialization on the blocking transports")
+public class ResponseReadEvent extends ExchangeEvent {
+
+    @Label("Status")
+    public int status;
+
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytes;
+
+}
@@ -0,0 +1,21 @@
+package com.github.rrs671.http.nio.rest.client.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Time from the end of the request, after its body was written, until the response headers are received.
+ * The status is 0 when no response was received.
+ *
+ * @since 2.5.0
+ */
+@Name("com.github.rrs671.nio.rest.TimeToFirstByte")
+@Label("Time To First Byte")
+@Description("Time from the end of the request until the response headers are received")
+public class TimeToFirstByteEvent extends ExchangeEvent {
+
+    @Label("Status")
+    public int status;
+
+}
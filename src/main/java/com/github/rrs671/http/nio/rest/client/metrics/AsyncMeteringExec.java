@@ -0,0 +1,266 @@
+package com.github.rrs671.http.nio.rest.client.metrics;
+
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGates;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import org.apache.hc.client5.http.async.AsyncExecCallback;
+import org.apache.hc.client5.http.async.AsyncExecChain;
+import org.apache.hc.client5.http.async.AsyncExecChainHandler;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncDataConsumer;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports each exchange of the httpclient5 async client to a MetricsRecorder, the counterpart of
+ * {@link MeteringClientHttpRequestFactory}. It runs right before the connection is leased, so the latency includes
+ * the wait for a pooled connection and the bytes are counted as they go through the connection. The path reported is
+ * the route of the request when it is known, set in its context by the strategies.
+ *
+ * @since 2.5.0
+ */
+public class AsyncMeteringExec implements AsyncExecChainHandler {
+
+    private final MetricsRecorder recorder;
+
+    public AsyncMeteringExec(MetricsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void execute(HttpRequest request, AsyncEntityProducer entityProducer, AsyncExecChain.Scope scope,
+                        AsyncExecChain chain, AsyncExecCallback callback) throws HttpException, IOException {
+        Object route = scope.clientContext.getAttribute(RequestParams.ROUTE_ATTRIBUTE);
+        Exchange exchange = new Exchange(OriginGates.origin(request.getScheme() + "://" + request.getAuthority()),
+                request.getMethod(), route instanceof String path ? path : path(request.getPath()));
+
+        recorder.onExchangeStart(exchange.origin);
+
+        try {
+            chain.proceed(request, entityProducer != null ? new CountingEntityProducer(entityProducer, exchange) : null,
+                    scope, new MeteringCallback(callback, exchange));
+        } catch (HttpException | IOException | RuntimeException e) {
+            exchange.end(0);
+            throw e;
+        }
+    }
+
+    private static String path(String path) {
+        if (path == null) {
+            return "/";
+        }
+
+        int query = path.indexOf('?');
+
+        return MeteringClientHttpRequestFactory.path(query < 0 ? path : path.substring(0, query));
+    }
+
+    private class Exchange {
+
+        private final String origin;
+        private final String method;
+        private final String path;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private volatile int status;
+        private volatile long bytesSent;
+        private volatile long bytesReceived;
+
+        private Exchange(String origin, String method, String path) {
+            this.origin = origin;
+            this.method = method;
+            this.path = path;
+        }
+
+        private void end(int status) {
+            if (ended.compareAndSet(false, true)) {
+                recorder.onExchangeEnd(origin, method, path, status, System.nanoTime() - start, bytesSent, bytesReceived);
+            }
+        }
+
+    }
+
+    private static class MeteringCallback implements AsyncExecCallback {
+
+        private final AsyncExecCallback callback;
+        private final Exchange exchange;
+
+        private MeteringCallback(AsyncExecCallback callback, Exchange exchange) {
+            this.callback = callback;
+            this.exchange = exchange;
+        }
+
+        @Override
+        public AsyncDataConsumer handleResponse(HttpResponse response, EntityDetails entityDetails) throws HttpException, IOException {
+            exchange.status = response.getCode();
+
+            AsyncDataConsumer dataConsumer = callback.handleResponse(response, entityDetails);
+
+            return dataConsumer != null ? new CountingDataConsumer(dataConsumer, exchange) : null;
+        }
+
+        @Override
+        public void handleInformationResponse(HttpResponse response) throws HttpException, IOException {
+            callback.handleInformationResponse(response);
+        }
+
+        @Override
+        public void completed() {
+            exchange.end(exchange.status);
+            callback.completed();
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            exchange.end(0);
+            callback.failed(cause);
+        }
+
+    }
+
+    private static class CountingDataConsumer implements AsyncDataConsumer {
+
+        private final AsyncDataConsumer dataConsumer;
+        private final Exchange exchange;
+
+        private CountingDataConsumer(AsyncDataConsumer dataConsumer, Exchange exchange) {
+            this.dataConsumer = dataConsumer;
+            this.exchange = exchange;
+        }
+
+        @Override
+        public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+            dataConsumer.updateCapacity(capacityChannel);
+        }
+
+        @Override
+        public void consume(ByteBuffer src) throws IOException {
+            exchange.bytesReceived += src.remaining();
+            dataConsumer.consume(src);
+        }
+
+        @Override
+        public void streamEnd(List<? extends Header> trailers) throws HttpException, IOException {
+            dataConsumer.streamEnd(trailers);
+        }
+
+        @Override
+        public void releaseResources() {
+            dataConsumer.releaseResources();
+        }
+
+    }
+
+    private static class CountingEntityProducer implements AsyncEntityProducer {
+
+        private final AsyncEntityProducer entityProducer;
+        private final Exchange exchange;
+        private CountingChannel channel;
+
+        private CountingEntityProducer(AsyncEntityProducer entityProducer, Exchange exchange) {
+            this.entityProducer = entityProducer;
+            this.exchange = exchange;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return entityProducer.isRepeatable();
+        }
+
+        @Override
+        public String getContentType() {
+            return entityProducer.getContentType();
+        }
+
+        @Override
+        public long getContentLength() {
+            return entityProducer.getContentLength();
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return entityProducer.getContentEncoding();
+        }
+
+        @Override
+        public boolean isChunked() {
+            return entityProducer.isChunked();
+        }
+
+        @Override
+        public Set<String> getTrailerNames() {
+            return entityProducer.getTrailerNames();
+        }
+
+        @Override
+        public int available() {
+            return entityProducer.available();
+        }
+
+        @Override
+        public void produce(DataStreamChannel dataStreamChannel) throws IOException {
+            if (channel == null || channel.channel != dataStreamChannel) {
+                channel = new CountingChannel(dataStreamChannel, exchange);
+            }
+
+            entityProducer.produce(channel);
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            entityProducer.failed(cause);
+        }
+
+        @Override
+        public void releaseResources() {
+            entityProducer.releaseResources();
+        }
+
+    }
+
+    private static class CountingChannel implements DataStreamChannel {
+
+        private final DataStreamChannel channel;
+        private final Exchange exchange;
+
+        private CountingChannel(DataStreamChannel channel, Exchange exchange) {
+            this.channel = channel;
+            this.exchange = exchange;
+        }
+
+        @Override
+        public void requestOutput() {
+            channel.requestOutput();
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int written = channel.write(src);
+            exchange.bytesSent += written;
+
+            return written;
+        }
+
+        @Override
+        public void endStream(List<? extends Header> trailers) throws IOException {
+            channel.endStream(trailers);
+        }
+
+        @Override
+        public void endStream() throws IOException {
+            channel.endStream();
+        }
+
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.github.rrs671.http.nio.rest.client.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * The built-in MetricsRecorder, it keeps in memory the metrics of each origin and of its routes: latency histograms,
+ * status code counters, bytes sent and received, exchanges in flight and the admission wait.
+ * Recording an exchange takes two map lookups and a few atomic increments on its route, nothing is locked.
+ * The routes of the prepared requests are kept by their url template, e.g. /users/{id}, the other paths are kept as
+ * returned by the path normalizer, by default {@link #ID_SEGMENTS}. Each method of a route takes about 10 KB, a
+ * latency histogram of 608 buckets and a counter for each of the 600 status codes, so maxRoutes bounds the memory
+ * of the paths the normalizer does not fold.
+ *
+ * @since 2.5.0
+ */
+public class ClientMetrics implements MetricsRecorder {
+
+    public static final int DEFAULT_MAX_ROUTES = 256;
+
+    /**
+     * Replaces the path segments that look like ids with {id}: the numbers, the UUIDs and the hexadecimal strings of
+     * 16 characters or more, e.g. /users/42/orders/9f1c...e2 is recorded as /users/{id}/orders/{id}
+     */
+    public static final UnaryOperator<String> ID_SEGMENTS = ClientMetrics::normalizeIds;
+
+    private final Map<String, OriginMetrics> origins = new ConcurrentHashMap<>();
+    private final int maxRoutes;
+    private final UnaryOperator<String> pathNormalizer;
+
+    public ClientMetrics() {
+        this(DEFAULT_MAX_ROUTES);
+    }
+
+    /**
+     * @param maxRoutes paths kept for each origin, 0 to record all the paths under "*"
+     */
+    public ClientMetrics(int maxRoutes) {
+        this(maxRoutes, ID_SEGMENTS);
+    }
+
+    /**
+     * @param maxRoutes paths kept for each origin once normalized, 0 to record all the paths under "*"
+     * @param pathNormalizer maps the path of an exchange to its route, UnaryOperator.identity() to keep the literal
+     *                       paths. It is also given the url templates of the prepared requests
+     */
+    public ClientMetrics(int maxRoutes, UnaryOperator<String> pathNormalizer) {
+        if (maxRoutes < 0) {
+            throw new IllegalArgumentException("Max routes must be >= 0");
+        }
+
+        if (pathNormalizer == null) {
+            throw new IllegalArgumentException("Path normalizer cannot be null");
+        }
+
+        this.maxRoutes = maxRoutes;
+        this.pathNormalizer = pathNormalizer;
+    }
+
+    @Override
+    public void onAdmission(String origin, long waitNanos) {
+        origin(origin).onAdmission(waitNanos);
+    }
+
+    @Override
+    public void onExchangeStart(String origin) {
+        origin(origin).onExchangeStart();
+    }
+
+    @Override
+    public void onExchangeEnd(String origin, String method, String path, int status, long latencyNanos,
+                              long bytesSent, long bytesReceived) {
+        origin(origin).onExchangeEnd(method, pathNormalizer.apply(path), status, latencyNanos, bytesSent, bytesReceived);
+    }
+
+    private OriginMetrics origin(String origin) {
+        OriginMetrics metrics = origins.get(origin);
+
+        return metrics != null ? metrics : origins.computeIfAbsent(origin, key -> new OriginMetrics(maxRoutes));
+    }
+
+    static String normalizeIds(String path) {
+        StringBuilder normalized = null;
+        int start = 0;
+
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+
+            if (end < 0) {
+                end = path.length();
+            }
+
+            if (isId(path, start, end)) {
+                if (normalized == null) {
+                    normalized = new StringBuilder(path.length()).append(path, 0, start);
+                }
+
+                normalized.append("{id}");
+            } else if (normalized != null) {
+                normalized.append(path, start, end);
+            }
+
+            if (end < path.length() && normalized != null) {
+                normalized.append('/');
+            }
+
+            start = end + 1;
+        }
+
+        return normalized != null ? normalized.toString() : path;
+    }
+
+    private static boolean isId(String path, int start, int end) {
+        int length = end - start;
+
+        if (length == 0) {
+            return false;
+        }
+
+        boolean digits = true;
+        boolean hex = true;
+        int dashes = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+
+            if (c == '-') {
+                dashes++;
+                digits = false;
+            } else if (c < '0' || c > '9') {
+                digits = false;
+                hex &= c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+            }
+        }
+
+        if (digits) {
+            return true;
+        }
+
+        return hex && (dashes == 0 && length >= 16 || dashes == 4 && length == 36);
+    }
+
+    /**
+     * Returns the metrics of each origin requested so far, the admission wait of a client without per origin gates
+     * is kept under the origin "*"
+     */
+    public Map<String, OriginMetrics> getOrigins() {
+        return Collections.unmodifiableMap(origins);
+    }
+
+    public OriginMetrics getOrigin(String origin) {
+        return origins.get(origin);
+    }
+
+    /**
+     * Returns the exchanges in flight of all the origins
+     */
+    public long getInFlight() {
+        return origins.values().stream().mapToLong(OriginMetrics::getInFlight).sum();
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.github.rrs671.http.nio.rest.client.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The exchanges of a route (method and path) recorded by ClientMetrics, or of a whole origin merged from its routes:
+ * their latency, a counter for each response status code and the body bytes sent and received.
+ *
+ * @since 2.5.0
+ */
+public class EndpointMetrics {
+
+    private static final int MAX_STATUS = 599;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS + 1);
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    EndpointMetrics() {}
+
+    void record(int status, long latencyNanos, long sent, long received) {
+        latency.record(latencyNanos);
+
+        if (status >= 0 && status <= MAX_STATUS) {
+            statusCounts.incrementAndGet(status);
+        }
+
+        if (sent > 0L) {
+            bytesSent.add(sent);
+        }
+
+        if (received > 0L) {
+            bytesReceived.add(received);
+        }
+    }
+
+    void add(EndpointMetrics other) {
+        latency.add(other.latency);
+
+        for (int status = 0; status <= MAX_STATUS; status++) {
+            long count = other.statusCounts.get(status);
+
+            if (count > 0L) {
+                statusCounts.addAndGet(status, count);
+            }
+        }
+
+        bytesSent.add(other.bytesSent.sum());
+        bytesReceived.add(other.bytesReceived.sum());
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getExchanges() {
+        return latency.getCount();
+    }
+
+    /**
+     * Returns the number of responses with the status code, the status 0 counts the exchanges without a response
+     */
+    public long getStatusCount(int status) {
+        return status >= 0 && status <= MAX_STATUS ? statusCounts.get(status) : 0L;
+    }
+
+    /**
+     * Returns the number of responses of each status code received so far, ordered by status code
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+
+        for (int status = 0; status <= MAX_STATUS; status++) {
+            long count = statusCounts.get(status);
+
+            if (count > 0L) {
+                counts.put(status, count);
+            }
+        }
+
+        return counts;
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+}
@@ -0,0 +1,199 @@
+package com.github.rrs671.http.nio.rest.client.metrics;
+
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGates;
+import com.github.rrs671.http.nio.rest.http.CountingInputStream;
+import com.github.rrs671.http.nio.rest.http.CountingOutputStream;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Decorates the request factory of the blocking transports reporting each exchange to a MetricsRecorder.
+ * The exchange ends when its response is closed, after the body was read, so its latency includes the body.
+ * It is the innermost decorator, the bytes are counted as they go through the connection. The path reported is the
+ * route of the request when it is known, see {@link RequestParams#getRoute()}.
+ *
+ * @since 2.5.0
+ */
+public class MeteringClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory requestFactory;
+    private final MetricsRecorder recorder;
+
+    public MeteringClientHttpRequestFactory(ClientHttpRequestFactory requestFactory, MetricsRecorder recorder) {
+        this.requestFactory = requestFactory;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new MeteringRequest(requestFactory.createRequest(uri, httpMethod));
+    }
+
+    static String path(String path) {
+        return path == null || path.isEmpty() ? "/" : path;
+    }
+
+    static String path(Object route, String path) {
+        return route instanceof String value ? value : path(path);
+    }
+
+    private class MeteringRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest request;
+        private CountingOutputStream body;
+        private Body streamingBody;
+
+        private MeteringRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public void setBody(Body body) {
+            this.streamingBody = body;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingOutputStream(request.getBody());
+            }
+
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return request.getAttributes();
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            URI uri = request.getURI();
+            String origin = OriginGates.origin(uri.toString());
+            String path = path(request.getAttributes().get(RequestParams.ROUTE_ATTRIBUTE), uri.getRawPath());
+            long start = System.nanoTime();
+
+            recorder.onExchangeStart(origin);
+
+            ClientHttpResponse response;
+            int status;
+
+            try {
+                if (streamingBody != null) {
+                    if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+                        streamingRequest.setBody(out -> {
+                            body = new CountingOutputStream(out);
+                            streamingBody.writeTo(body);
+                        });
+                    } else {
+                        streamingBody.writeTo(getBody());
+                    }
+                }
+
+                response = request.execute();
+                status = response.getStatusCode().value();
+            } catch (IOException | RuntimeException e) {
+                recorder.onExchangeEnd(origin, request.getMethod().name(), path, 0, System.nanoTime() - start,
+                        bytesSent(), 0L);
+                throw e;
+            }
+
+            return new MeteringResponse(response, origin, request.getMethod().name(), path, status, start, bytesSent());
+        }
+
+        private long bytesSent() {
+            return body != null ? body.getCount() : 0L;
+        }
+
+    }
+
+    private class MeteringResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final String origin;
+        private final String method;
+        private final String path;
+        private final int status;
+        private final long start;
+        private final long bytesSent;
+        private CountingInputStream body;
+        private boolean closed;
+
+        private MeteringResponse(ClientHttpResponse response, String origin, String method, String path, int status,
+                                 long start, long bytesSent) {
+            this.response = response;
+            this.origin = origin;
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            this.start = start;
+            this.bytesSent = bytesSent;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(response.getBody());
+            }
+
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    recorder.onExchangeEnd(origin, method, path, status, System.nanoTime() - start, bytesSent,
+                            body != null ? body.getCount() : 0L);
+                }
+            }
+        }
+
+    }
+
+}
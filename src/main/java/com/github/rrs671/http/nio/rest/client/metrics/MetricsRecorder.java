@@ -0,0 +1,41 @@
+package com.github.rrs671.http.nio.rest.client.metrics;
+
+/**
+ * Instrumentation SPI of a RestRequest, see ClientParams.addMetrics. The exchanges are reported by the transports,
+ * so each attempt of a retried or hedged request is an exchange, the bytes are counted as they are sent and
+ * received (compressed bodies are counted compressed). The callbacks run on the request threads or on the transport
+ * I/O threads, they must be thread safe and must not block.
+ *
+ * @since 2.5.0
+ */
+public interface MetricsRecorder {
+
+    /**
+     * A request was admitted by its gate after waiting waitNanos for its rate slot and concurrency permits.
+     * The origin is "*" when the client has no per origin gate
+     *
+     * @param origin scheme://host:port of the request, or "*"
+     */
+    void onAdmission(String origin, long waitNanos);
+
+    /**
+     * An exchange started on the transport
+     *
+     * @param origin scheme://host:port of the request
+     */
+    void onExchangeStart(String origin);
+
+    /**
+     * An exchange ended, after its response body was read or when it failed
+     *
+     * @param origin scheme://host:port of the request
+     * @param method http method of the request
+     * @param path route of the request when known, e.g. /users/{id}, otherwise its path without the query
+     * @param status response status code, or 0 when no response was received
+     * @param latencyNanos time from the start of the exchange until its end
+     * @param bytesSent request body bytes sent
+     * @param bytesReceived response body bytes received
+     */
+    void onExchangeEnd(String origin, String method, String path, int status, long latencyNanos, long bytesSent, long bytesReceived);
+
+}
@@ -0,0 +1,197 @@
+package com.github.rrs671.http.nio.rest.client.metrics;
+
+import com.github.rrs671.http.nio.rest.client.request.RestRequest;
+import com.github.rrs671.http.nio.rest.handlers.rest.RestHandler;
+import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.core5.pool.PoolStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * A MetricsRecorder that publishes to a Micrometer MeterRegistry, micrometer-core is an optional dependency and must
+ * be on the classpath to use this class. The exchanges are published as the "nio.rest.client.requests" timer with
+ * a percentile histogram, tagged by origin, method, uri and status, the status is "0" when no response was
+ * received. The uri is the url template of the prepared requests, otherwise the path as returned by the path
+ * normalizer, by default {@link ClientMetrics#ID_SEGMENTS}. Each uri is a timer with a percentile histogram for every
+ * origin, method and status, so once maxRoutes uris were published the other ones are published with the uri "*".
+ * The pool and the RestHandler gauges are bound with bindTo.
+ *
+ * @since 2.5.0
+ */
+public class MicrometerMetrics implements MetricsRecorder {
+
+    public static final String PREFIX = "nio.rest.client.";
+
+    private final MeterRegistry registry;
+    private final int maxRoutes;
+    private final UnaryOperator<String> pathNormalizer;
+    private final Map<String, Timer> exchangeTimers = new ConcurrentHashMap<>();
+    private final Map<String, OriginMeters> origins = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> routes = new ConcurrentHashMap<>();
+
+    public MicrometerMetrics(MeterRegistry registry) {
+        this(registry, ClientMetrics.DEFAULT_MAX_ROUTES);
+    }
+
+    /**
+     * @param maxRoutes uris published with their own tag, across all the origins
+     */
+    public MicrometerMetrics(MeterRegistry registry, int maxRoutes) {
+        this(registry, maxRoutes, ClientMetrics.ID_SEGMENTS);
+    }
+
+    /**
+     * @param maxRoutes uris published with their own tag once normalized, across all the origins
+     * @param pathNormalizer maps the path of an exchange to its uri tag, UnaryOperator.identity() to keep the
+     *                       literal paths. It is also given the url templates of the prepared requests
+     */
+    public MicrometerMetrics(MeterRegistry registry, int maxRoutes, UnaryOperator<String> pathNormalizer) {
+        if (maxRoutes < 0) {
+            throw new IllegalArgumentException("Max routes must be >= 0");
+        }
+
+        if (pathNormalizer == null) {
+            throw new IllegalArgumentException("Path normalizer cannot be null");
+        }
+
+        this.registry = registry;
+        this.maxRoutes = maxRoutes;
+        this.pathNormalizer = pathNormalizer;
+    }
+
+    @Override
+    public void onAdmission(String origin, long waitNanos) {
+        origin(origin).admissionWait.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onExchangeStart(String origin) {
+        origin(origin).inFlight.increment();
+    }
+
+    @Override
+    public void onExchangeEnd(String origin, String method, String path, int status, long latencyNanos,
+                              long bytesSent, long bytesReceived) {
+        OriginMeters meters = origin(origin);
+
+        meters.inFlight.decrement();
+        meters.bytesSent.increment(bytesSent);
+        meters.bytesReceived.increment(bytesReceived);
+
+        String uri = route(pathNormalizer.apply(path));
+        String key = origin + ' ' + method + ' ' + uri + ' ' + status;
+        Timer timer = exchangeTimers.get(key);
+
+        if (timer == null) {
+            timer = exchangeTimers.computeIfAbsent(key, ignored -> Timer.builder(PREFIX + "requests")
+                    .tags("origin", origin, "method", method, "uri", uri, "status", String.valueOf(status))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+
+        timer.record(latencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Binds the gauges of the requests pending in all the clients and of the connection pool of the RestRequest,
+     * the pool gauges are not bound for the SIMPLE transport. The RestRequest is weakly referenced
+     *
+     * @param name value of the "client" tag of the pool gauges
+     */
+    public MicrometerMetrics bindTo(RestRequest restRequest, String name) {
+        Gauge.builder(PREFIX + "pending", AsyncExecutorUtils::pendingRequests)
+                .register(registry);
+
+        if (restRequest.getPoolStats() != null) {
+            poolGauge(restRequest, name, "leased", PoolStats::getLeased);
+            poolGauge(restRequest, name, "available", PoolStats::getAvailable);
+            poolGauge(restRequest, name, "pending", PoolStats::getPending);
+            poolGauge(restRequest, name, "max", PoolStats::getMax);
+        }
+
+        return this;
+    }
+
+    /**
+     * Binds the gauges of the requests in flight and of the responses waiting to be consumed of the RestHandler,
+     * it is weakly referenced
+     *
+     * @param name value of the "handler" tag
+     */
+    public MicrometerMetrics bindTo(RestHandler<?, ?> restHandler, String name) {
+        Gauge.builder(PREFIX + "handler.pending", restHandler, RestHandler::getPendingRequests)
+                .tag("handler", name)
+                .register(registry);
+
+        Gauge.builder(PREFIX + "handler.queued", restHandler, RestHandler::getQueuedResponses)
+                .tag("handler", name)
+                .register(registry);
+
+        return this;
+    }
+
+    private void poolGauge(RestRequest restRequest, String name, String state, ToIntFunction<PoolStats> value) {
+        Gauge.builder(PREFIX + "pool.connections", restRequest, request -> {
+                    PoolStats stats = request.getPoolStats();
+                    return stats != null ? value.applyAsInt(stats) : Double.NaN;
+                })
+                .tags("client", name, "state", state)
+                .register(registry);
+    }
+
+    private String route(String path) {
+        if (routes.containsKey(path)) {
+            return path;
+        }
+
+        if (routes.size() >= maxRoutes) {
+            return OriginMetrics.OTHER_ROUTES;
+        }
+
+        routes.putIfAbsent(path, Boolean.TRUE);
+        return path;
+    }
+
+    private OriginMeters origin(String origin) {
+        OriginMeters meters = origins.get(origin);
+
+        return meters != null ? meters : origins.computeIfAbsent(origin, key -> new OriginMeters(registry, key));
+    }
+
+    private static class OriginMeters {
+
+        private final Timer admissionWait;
+        private final Counter bytesSent;
+        private final Counter bytesReceived;
+        private final LongAdder inFlight = new LongAdder();
+
+        private OriginMeters(MeterRegistry registry, String origin) {
+            this.admissionWait = Timer.builder(PREFIX + "admission.wait")
+                    .tag("origin", origin)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.bytesSent = Counter.builder(PREFIX + "bytes.sent")
+                    .tag("origin", origin)
+                    .baseUnit("bytes")
+                    .register(registry);
+            this.bytesReceived = Counter.builder(PREFIX + "bytes.received")
+                    .tag("origin", origin)
+                    .baseUnit("bytes")
+                    .register(registry);
+
+            Gauge.builder(PREFIX + "active", inFlight, LongAdder::sum)
+                    .tag("origin", origin)
+                    .register(registry);
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.github.rrs671.http.nio.rest.client.request;
+
+import com.github.rrs671.http.nio.rest.exceptions.HttpException;
+import org.apache.hc.client5.http.async.methods.AbstractBinResponseConsumer;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpResponse;
+import org.springframework.http.HttpStatusCode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Consumes a response body of the httpclient5 async client into a RawBodySink from the I/O reactor thread,
+ * each received buffer goes straight to the sink instead of being aggregated in a heap byte array.
+ * Error responses are not passed to the sink, their body is kept for the error message.
+ *
+ * @since 2.5.0
+ */
+public class AsyncRawResponseConsumer<T> extends AbstractBinResponseConsumer<Void> {
+
+    private static final int MAX_ERROR_BODY = 8192;
+
+    private final CompletableFuture<T> future;
+    private final SimpleHttpRequest request;
+    private final RawBodySink<T> sink;
+
+    private int code;
+    private String reasonPhrase;
+    private ByteArrayOutputStream errorBody;
+
+    private AsyncRawResponseConsumer(SimpleHttpRequest request, RawBodySink<T> sink) {
+        this.future = new CompletableFuture<>();
+        this.request = request;
+        this.sink = sink;
+    }
+
+    /**
+     * @param route route of the request, or null
+     */
+    public static <T> CompletableFuture<T> execute(CloseableHttpAsyncClient asyncClient, SimpleHttpRequest request, String route,
+                                                   RawBodySink<T> sink) {
+        AsyncRawResponseConsumer<T> consumer = new AsyncRawResponseConsumer<>(request, sink);
+        Future<Void> execution = asyncClient.execute(SimpleRequestProducer.create(request), consumer,
+                AsyncResponseCallback.context(route), consumer.callback());
+
+        consumer.future.whenComplete((result, throwable) -> {
+            if (consumer.future.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+
+        return consumer.future;
+    }
+
+    @Override
+    protected void start(HttpResponse response, ContentType contentType) {
+        code = response.getCode();
+        reasonPhrase = response.getReasonPhrase();
+
+        if (code >= 400) {
+            errorBody = new ByteArrayOutputStream();
+        }
+    }
+
+    @Override
+    protected int capacityIncrement() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected void data(ByteBuffer src, boolean endOfStream) throws IOException {
+        if (errorBody == null) {
+            sink.write(src);
+            return;
+        }
+
+        int length = Math.min(src.remaining(), MAX_ERROR_BODY - errorBody.size());
+
+        for (int i = 0; i < length; i++) {
+            errorBody.write(src.get());
+        }
+
+        src.position(src.limit());
+    }
+
+    @Override
+    protected Void buildResult() {
+        return null;
+    }
+
+    @Override
+    public void releaseResources() {
+        // the sink buffers are released by the request result or by discard on failure
+    }
+
+    private FutureCallback<Void> callback() {
+        return new FutureCallback<>() {
+
+            @Override
+            public void completed(Void result) {
+                if (errorBody != null) {
+                    String body = errorBody.toString(StandardCharsets.UTF_8);
+
+                    future.completeExceptionally(new HttpException(HttpStatusCode.valueOf(code),
+                            AsyncResponseCallback.errorMessage(code, reasonPhrase, body)));
+                    return;
+                }
+
+                if (!future.complete(sink.complete())) {
+                    sink.discard();
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                sink.discard();
+                future.completeExceptionally(AsyncResponseCallback.failure(request, e));
+            }
+
+            @Override
+            public void cancelled() {
+                sink.discard();
+                future.cancel(false);
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,10 @@
+package com.github.rrs671.http.nio.rest.client.request;
+
+import java.util.concurrent.CompletableFuture;
+
+@FunctionalInterface
+public interface AsyncRequestExecutor<T> {
+
+    CompletableFuture<T> execute();
+
+}
@@ -0,0 +1,181 @@
+package com.github.rrs671.http.nio.rest.client.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodecs;
+import com.github.rrs671.http.nio.rest.client.jfr.DeserializationEvent;
+import com.github.rrs671.http.nio.rest.client.jfr.RequestEvents;
+import com.github.rrs671.http.nio.rest.exceptions.CommunicateException;
+import com.github.rrs671.http.nio.rest.exceptions.HttpException;
+import com.github.rrs671.http.nio.rest.exceptions.ProcessException;
+import com.github.rrs671.http.nio.rest.utils.BodyUtils;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Bridges the httpclient5 async callbacks to a CompletableFuture. The future is completed from the I/O reactor
+ * thread and the failures are mapped once to the same exceptions used by the RestClient transports.
+ * The route of the request, when known, is set as the {@link RequestParams#ROUTE_ATTRIBUTE} context attribute for the
+ * metrics and the JFR events.
+ *
+ * @since 2.5.0
+ */
+public class AsyncResponseCallback<T> implements FutureCallback<SimpleHttpResponse> {
+
+    private final CompletableFuture<T> future;
+    private final Function<SimpleHttpResponse, T> reader;
+    private final SimpleHttpRequest request;
+    private final String route;
+
+    private AsyncResponseCallback(SimpleHttpRequest request, String route, Function<SimpleHttpResponse, T> reader) {
+        this.future = new CompletableFuture<>();
+        this.request = request;
+        this.route = route;
+        this.reader = reader;
+    }
+
+    /**
+     * @param route route of the request, or null
+     */
+    public static <T> CompletableFuture<T> execute(CloseableHttpAsyncClient asyncClient, SimpleHttpRequest request,
+                                                   String route, Class<T> clazz, BodyCodecs codecs) {
+        return execute(asyncClient, request, route, decoder(clazz, codecs));
+    }
+
+    /**
+     * Executes a request whose successful response is read by the reader, responses with a status >= 400
+     * still fail with an HttpException
+     */
+    public static <T> CompletableFuture<T> execute(CloseableHttpAsyncClient asyncClient, SimpleHttpRequest request,
+                                                   String route, Function<SimpleHttpResponse, T> reader) {
+        AsyncResponseCallback<T> callback = new AsyncResponseCallback<>(request, route, reader);
+        Future<SimpleHttpResponse> execution = asyncClient.execute(request, context(route), callback);
+
+        callback.future.whenComplete((result, throwable) -> {
+            if (callback.future.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+
+        return callback.future;
+    }
+
+    /**
+     * Executes a request whose body is streamed by the entity producer, the request body set on the SimpleHttpRequest
+     * (if any) is ignored
+     */
+    public static <T> CompletableFuture<T> execute(CloseableHttpAsyncClient asyncClient, SimpleHttpRequest request,
+                                                   String route, AsyncEntityProducer entityProducer, Class<T> clazz,
+                                                   BodyCodecs codecs) {
+        AsyncResponseCallback<T> callback = new AsyncResponseCallback<>(request, route, decoder(clazz, codecs));
+        Future<SimpleHttpResponse> execution = asyncClient.execute(new BasicRequestProducer(request, entityProducer),
+                SimpleResponseConsumer.create(), context(route), callback);
+
+        callback.future.whenComplete((result, throwable) -> {
+            if (callback.future.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+
+        return callback.future;
+    }
+
+    @Override
+    public void completed(SimpleHttpResponse response) {
+        int code = response.getCode();
+
+        if (code >= 400) {
+            future.completeExceptionally(new HttpException(HttpStatusCode.valueOf(code), errorMessage(response)));
+            return;
+        }
+
+        DeserializationEvent event = new DeserializationEvent();
+        event.begin();
+
+        try {
+            T result = reader.apply(response);
+            event.success = true;
+            future.complete(result);
+        } catch (Exception e) {
+            future.completeExceptionally(new ProcessException(e.getMessage()));
+        } finally {
+            event.end();
+
+            if (event.shouldCommit()) {
+                byte[] body = response.getBodyBytes();
+
+                event.status = code;
+                event.bytes = body != null ? body.length : 0L;
+                RequestEvents.commit(event, RequestEvents.url(request, route), request.getMethod());
+            }
+        }
+    }
+
+    @Override
+    public void failed(Exception e) {
+        future.completeExceptionally(failure(request, e));
+    }
+
+    @Override
+    public void cancelled() {
+        future.cancel(false);
+    }
+
+    /**
+     * Returns the context of a request with its route, the client creates a new one when it is null
+     */
+    static HttpClientContext context(String route) {
+        if (route == null) {
+            return null;
+        }
+
+        HttpClientContext context = HttpClientContext.create();
+        context.setAttribute(RequestParams.ROUTE_ATTRIBUTE, route);
+
+        return context;
+    }
+
+    private static <T> Function<SimpleHttpResponse, T> decoder(Class<T> clazz, BodyCodecs codecs) {
+        return response -> {
+            ContentType contentType = response.getContentType();
+            ObjectMapper objectMapper = codecs.forMediaType(contentType != null ? contentType.getMimeType() : null);
+
+            return BodyUtils.decode(response.getBodyBytes(), contentType, clazz, objectMapper);
+        };
+    }
+
+    private static String errorMessage(SimpleHttpResponse response) {
+        return errorMessage(response.getCode(), response.getReasonPhrase(), response.getBodyText());
+    }
+
+    static String errorMessage(int code, String reasonPhrase, String body) {
+        HttpStatus status = HttpStatus.resolve(code);
+        String reason = status != null ? status.getReasonPhrase() : reasonPhrase;
+
+        return code + " " + reason + ": " + (body == null || body.isEmpty() ? "[no body]" : "\"" + body + "\"");
+    }
+
+    static RuntimeException failure(SimpleHttpRequest request, Exception e) {
+        if (e instanceof IOException) {
+            return new CommunicateException("I/O error on " + request.getMethod() + " request for \""
+                    + request.getScheme() + "://" + request.getAuthority() + request.getPath() + "\": " + e.getMessage());
+        }
+
+        return new ProcessException(e.getMessage());
+    }
+
+}
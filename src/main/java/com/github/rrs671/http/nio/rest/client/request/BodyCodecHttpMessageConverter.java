@@ -0,0 +1,18 @@
+package com.github.rrs671.http.nio.rest.client.request;
+
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodec;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * Reads and writes the bodies of the RestClient transports whose Content-Type is the media type of a BodyCodec
+ *
+ * @since 2.5.0
+ */
+public class BodyCodecHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public BodyCodecHttpMessageConverter(BodyCodec codec) {
+        super(codec.getObjectMapper(), MediaType.parseMediaType(codec.getMediaType()));
+    }
+
+}
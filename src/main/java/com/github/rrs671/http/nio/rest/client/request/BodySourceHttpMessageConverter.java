@@ -0,0 +1,65 @@
+package com.github.rrs671.http.nio.rest.client.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rrs671.http.nio.rest.http.BodySource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes a BodySource for the RestClient transports. The converter writes to the request stream when it is sent,
+ * the body is never buffered by the request.
+ *
+ * @since 2.5.0
+ */
+public class BodySourceHttpMessageConverter extends AbstractHttpMessageConverter<BodySource> {
+
+    private final ObjectMapper objectMapper;
+
+    public BodySourceHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.ALL);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BodySource.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected BodySource readInternal(Class<? extends BodySource> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("BodySource is only written", inputMessage);
+    }
+
+    @Override
+    protected MediaType getDefaultContentType(BodySource body) {
+        return MediaType.parseMediaType(body.getContentType());
+    }
+
+    @Override
+    protected Long getContentLength(BodySource body, MediaType contentType) {
+        long contentLength = body.getContentLength();
+
+        return contentLength >= 0 ? contentLength : null;
+    }
+
+    @Override
+    protected boolean supportsRepeatableWrites(BodySource body) {
+        return body.isRepeatable();
+    }
+
+    @Override
+    protected void writeInternal(BodySource body, HttpOutputMessage outputMessage) throws IOException {
+        body.writeTo(outputMessage.getBody(), objectMapper);
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.github.rrs671.http.nio.rest.client.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rrs671.http.nio.rest.http.BodySource;
+import com.github.rrs671.http.nio.rest.http.ByteBufferPool;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Set;
+
+/**
+ * Produces a BodySource for the httpclient5 async client through a pooled direct buffer, the source is read
+ * when the connection can take more data so the upload holds one buffer at a time.
+ * The source is read from the I/O reactor thread.
+ *
+ * @since 2.5.0
+ */
+public class BodySourceProducer implements AsyncEntityProducer {
+
+    private final BodySource source;
+    private final ObjectMapper objectMapper;
+    private final ByteBufferPool pool;
+
+    private ReadableByteChannel channel;
+    private ByteBuffer buffer;
+
+    public BodySourceProducer(BodySource source, ObjectMapper objectMapper, ByteBufferPool pool) {
+        this.source = source;
+        this.objectMapper = objectMapper;
+        this.pool = pool;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return source.isRepeatable();
+    }
+
+    @Override
+    public String getContentType() {
+        return source.getContentType();
+    }
+
+    @Override
+    public long getContentLength() {
+        return source.getContentLength();
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return null;
+    }
+
+    @Override
+    public boolean isChunked() {
+        return source.getContentLength() < 0;
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return null;
+    }
+
+    @Override
+    public int available() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void produce(DataStreamChannel out) throws IOException {
+        if (channel == null) {
+            channel = source.open(objectMapper);
+            buffer = pool.acquire().flip();
+        }
+
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int read = channel.read(buffer);
+                buffer.flip();
+
+                if (read < 0) {
+                    out.endStream();
+                    return;
+                }
+            }
+
+            out.write(buffer);
+
+            if (buffer.hasRemaining()) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void failed(Exception cause) {
+        releaseResources();
+    }
+
+    @Override
+    public void releaseResources() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // the request result is already decided
+            }
+
+            pool.release(buffer);
+            channel = null;
+            buffer = null;
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.rrs671.http.nio.rest.client.request;
+
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodecs;
+import com.github.rrs671.http.nio.rest.client.enums.VerbsEnum;
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGate;
+import com.github.rrs671.http.nio.rest.http.AsyncRequest;
+import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import com.github.rrs671.http.nio.rest.utils.UrlTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A request to a url template prepared by {@link RestRequest#prepare}. Its params with the negotiated headers and
+ * its origin gate are resolved once and shared by the executions, which only expand the template, so the hot
+ * endpoints do not build RequestParams nor parse their url on every call.
+ * It is safe to use from several threads.
+ *
+ * @param <T> response type
+ * @since 2.5.0
+ */
+public class PreparedRequest<T> {
+
+    private final RestRequest restRequest;
+    private final VerbsEnum verb;
+    private final UrlTemplate template;
+    private final Class<T> clazz;
+    private final OriginGate gate;
+    // negotiated without a body, or with a body written as is
+    private final RequestParams params;
+    // negotiated with a body written by the codecs
+    private final RequestParams boundParams;
+
+    PreparedRequest(RestRequest restRequest, VerbsEnum verb, UrlTemplate template, Class<T> clazz, RequestParams params,
+                    OriginGate gate) {
+        if (verb == null || clazz == null) {
+            throw new IllegalArgumentException("Verb and response class cannot be null");
+        }
+
+        if (verb == VerbsEnum.DELETE && clazz != Void.class) {
+            throw new IllegalArgumentException("DELETE requests have no response, the response class must be Void");
+        }
+
+        BodyCodecs codecs = restRequest.getCodecs();
+
+        this.restRequest = restRequest;
+        this.verb = verb;
+        this.template = template;
+        this.clazz = clazz;
+        this.gate = gate;
+        this.params = codecs.negotiate(params, clazz, null);
+        // the negotiation only depends on whether the body is written by the codecs, any such body will do
+        this.boundParams = verb == VerbsEnum.GET || verb == VerbsEnum.DELETE
+                ? this.params
+                : codecs.negotiate(params, clazz, new Object());
+    }
+
+    /**
+     * Executes the request without a body
+     *
+     * @param values values of the template variables, in the order of {@link UrlTemplate#getVariables()}
+     */
+    public AsyncRequest<T> execute(String... values) {
+        return executeWith(null, values);
+    }
+
+    /**
+     * Executes the request with a body, as the RestRequest method of the verb. GET and DELETE requests have no body.
+     *
+     * @param values values of the template variables, in the order of {@link UrlTemplate#getVariables()}
+     */
+    @SuppressWarnings("unchecked")
+    public <R> AsyncRequest<T> executeWith(R body, String... values) {
+        if (body != null && (verb == VerbsEnum.GET || verb == VerbsEnum.DELETE)) {
+            throw new IllegalArgumentException(verb + " requests have no body");
+        }
+
+        String url = template.expand(values);
+        RequestParams requestParams = BodyCodecs.isBoundBody(body) ? boundParams : params;
+
+        CompletableFuture<T> future = switch (verb) {
+            case GET -> restRequest.getFuture(requestParams, clazz, url, gate);
+            case POST -> restRequest.postFuture(requestParams, url, gate, body, clazz);
+            case PUT -> restRequest.putFuture(requestParams, url, gate, body, clazz);
+            case PATCH -> restRequest.patchFuture(requestParams, url, gate, body, clazz);
+            case DELETE -> (CompletableFuture<T>) restRequest.deleteFuture(requestParams, url, gate);
+        };
+
+        return AsyncExecutorUtils.returnAsyncResponse(future);
+    }
+
+    public VerbsEnum getVerb() {
+        return verb;
+    }
+
+    public UrlTemplate getTemplate() {
+        return template;
+    }
+
+    public Class<T> getResponseClass() {
+        return clazz;
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.github.rrs671.http.nio.rest.client.request;
+
+import com.github.rrs671.http.nio.rest.http.ByteBufferPool;
+import com.github.rrs671.http.nio.rest.http.PooledBody;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Destination of a raw response body. The body is received as buffers from the non-blocking transport
+ * or read from a channel with the blocking transports, in both cases it goes through pooled direct buffers only.
+ * A sink is used by a single request, a discarded sink releases its buffers even when it was already completed.
+ *
+ * @since 2.5.0
+ */
+public abstract class RawBodySink<T> {
+
+    protected final ByteBufferPool pool;
+
+    private RawBodySink(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Sink collecting the body in pooled buffers, the result is the PooledBody to be released by the caller
+     */
+    public static RawBodySink<PooledBody> pooled(ByteBufferPool pool) {
+        return new PooledSink(pool);
+    }
+
+    /**
+     * Sink writing the body to the channel as it is received, the result is the number of bytes written.
+     * The channel is not closed.
+     */
+    public static RawBodySink<Long> channel(WritableByteChannel channel, ByteBufferPool pool) {
+        return new ChannelSink(channel, pool);
+    }
+
+    /**
+     * Consumes the remaining bytes of src
+     */
+    public abstract void write(ByteBuffer src) throws IOException;
+
+    /**
+     * Consumes the channel until its end
+     */
+    public abstract void readFrom(ReadableByteChannel channel) throws IOException;
+
+    public abstract T complete();
+
+    /**
+     * Releases what was received when the request fails
+     */
+    public abstract void discard();
+
+    private static class PooledSink extends RawBodySink<PooledBody> {
+
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private ByteBuffer tail;
+
+        private PooledSink(ByteBufferPool pool) {
+            super(pool);
+        }
+
+        @Override
+        public synchronized void write(ByteBuffer src) {
+            while (src.hasRemaining()) {
+                ByteBuffer buffer = tail();
+                int length = Math.min(src.remaining(), buffer.remaining());
+
+                buffer.put(buffer.position(), src, src.position(), length);
+                buffer.position(buffer.position() + length);
+                src.position(src.position() + length);
+            }
+        }
+
+        @Override
+        public synchronized void readFrom(ReadableByteChannel channel) throws IOException {
+            while (channel.read(tail()) >= 0) {
+                // reads until the end of the body
+            }
+        }
+
+        @Override
+        public synchronized PooledBody complete() {
+            if (tail != null && tail.position() == 0) {
+                buffers.removeLast();
+                pool.release(tail);
+            }
+
+            buffers.forEach(ByteBuffer::flip);
+
+            return new PooledBody(buffers, pool);
+        }
+
+        @Override
+        public synchronized void discard() {
+            buffers.forEach(pool::release);
+            buffers.clear();
+            tail = null;
+        }
+
+        private ByteBuffer tail() {
+            if (tail == null || !tail.hasRemaining()) {
+                tail = pool.acquire();
+                buffers.add(tail);
+            }
+
+            return tail;
+        }
+
+    }
+
+    private static class ChannelSink extends RawBodySink<Long> {
+
+        private final WritableByteChannel channel;
+        private long written;
+
+        private ChannelSink(WritableByteChannel channel, ByteBufferPool pool) {
+            super(pool);
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(ByteBuffer src) throws IOException {
+            while (src.hasRemaining()) {
+                written += channel.write(src);
+            }
+        }
+
+        @Override
+        public void readFrom(ReadableByteChannel source) throws IOException {
+            ByteBuffer buffer = pool.acquire();
+
+            try {
+                while (source.read(buffer) >= 0) {
+                    buffer.flip();
+                    write(buffer);
+                    buffer.clear();
+                }
+            } finally {
+                pool.release(buffer);
+            }
+        }
+
+        @Override
+        public Long complete() {
+            return written;
+        }
+
+        @Override
+        public void discard() {
+            // the bytes already written to the channel are left to the caller
+        }
+
+    }
+
+}
@@ -1,149 +1,597 @@
 package com.github.rrs671.http.nio.rest.client.request;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rrs671.http.nio.rest.client.cache.CacheStats;
+import com.github.rrs671.http.nio.rest.client.cache.CacheableResponse;
+import com.github.rrs671.http.nio.rest.client.cache.ResponseCache;
+import com.github.rrs671.http.nio.rest.client.enums.CircuitStateEnum;
+import com.github.rrs671.http.nio.rest.client.enums.TransportEnum;
 import com.github.rrs671.http.nio.rest.client.enums.VerbsEnum;
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodecs;
+import com.github.rrs671.http.nio.rest.client.factory.HttpClientFactory;
+import com.github.rrs671.http.nio.rest.client.factory.ObjectMapperFactory;
 import com.github.rrs671.http.nio.rest.client.factory.RestClientFactory;
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGate;
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGates;
+import com.github.rrs671.http.nio.rest.client.request.reactive.CompletionPublisher;
+import com.github.rrs671.http.nio.rest.client.request.reactive.ResponsePublisher;
+import com.github.rrs671.http.nio.rest.client.request.retry.Retrier;
 import com.github.rrs671.http.nio.rest.client.request.strategy.request.Request;
 import com.github.rrs671.http.nio.rest.client.request.strategy.request.strategies.*;
 import com.github.rrs671.http.nio.rest.http.AsyncRequest;
+import com.github.rrs671.http.nio.rest.http.BodySource;
+import com.github.rrs671.http.nio.rest.http.ByteBufferPool;
+import com.github.rrs671.http.nio.rest.http.JsonArrayIterator;
+import com.github.rrs671.http.nio.rest.http.PooledBody;
+import com.github.rrs671.http.nio.rest.http.Response;
 import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
+import com.github.rrs671.http.nio.rest.utils.BodyUtils;
 import com.github.rrs671.http.nio.rest.utils.ClientParams;
+import com.github.rrs671.http.nio.rest.utils.CompletionIterator;
 import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import com.github.rrs671.http.nio.rest.utils.Tuple;
+import com.github.rrs671.http.nio.rest.utils.UrlTemplate;
+import com.github.rrs671.http.nio.rest.utils.UrlUtils;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+import org.reactivestreams.Publisher;
 import org.springframework.web.client.RestClient;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Semaphore;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-public class RestRequest {
+public class RestRequest implements AutoCloseable {
 
     private ExecutorService globalExecutor;
     private final RestClient restClient;
     private ClientParams clientParams;
-    private Semaphore semaphore;
+    private OriginGates gates;
+    private CloseableHttpClient httpClient;
+    private CloseableHttpAsyncClient asyncClient;
+    private ObjectMapper objectMapper;
+    private BodyCodecs codecs;
+    private ByteBufferPool bufferPool;
+    private ResponseCache responseCache;
+    private SingleFlight singleFlight;
+    private Retrier retrier;
+    private ConnPoolControl<HttpRoute> connectionPool;
 
     public RestRequest(ClientParams clientParams) {
-        this.restClient = RestClientFactory.create(clientParams.getConnTimeout(), clientParams.getReadTimeout(), null);
+        this.restClient = createRestClient(clientParams, null);
         init(clientParams);
     }
 
     public RestRequest(ClientParams clientParams, ObjectMapper objectMapper) {
-        this.restClient = RestClientFactory.create(clientParams.getConnTimeout(), clientParams.getReadTimeout(), objectMapper);
+        this.restClient = createRestClient(clientParams, objectMapper);
         init(clientParams);
     }
 
+    private RestClient createRestClient(ClientParams clientParams, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper != null ? objectMapper : ObjectMapperFactory.getInstance();
+        this.codecs = new BodyCodecs(this.objectMapper, clientParams.getCodecs(), clientParams.getRequestCodec());
+
+        if (clientParams.getTransport() == TransportEnum.ASYNC) {
+            PoolingAsyncClientConnectionManager connectionManager = HttpClientFactory.createAsyncConnectionManager(clientParams);
+
+            this.connectionPool = connectionManager;
+            this.asyncClient = HttpClientFactory.createAsync(clientParams, connectionManager);
+        }
+
+        if (clientParams.getTransport() == TransportEnum.POOLED) {
+            PoolingHttpClientConnectionManager connectionManager = HttpClientFactory.createConnectionManager(clientParams);
+
+            this.connectionPool = connectionManager;
+            this.httpClient = HttpClientFactory.createPooled(clientParams, connectionManager);
+            return RestClientFactory.create(httpClient, clientParams, objectMapper);
+        }
+
+        return RestClientFactory.create(clientParams, objectMapper);
+    }
+
     private void init(ClientParams clientParams) {
         this.clientParams = clientParams;
         this.globalExecutor = AsyncExecutorUtils.getGlobalExecutorInstance();
 
-        if (clientParams.getMaxConcurrentRequests() > 0) {
-            this.semaphore = new Semaphore(clientParams.getMaxConcurrentRequests(), true);
-        } else {
-            this.semaphore = new Semaphore(Integer.MAX_VALUE, true);
+        this.gates = new OriginGates(clientParams);
+        this.bufferPool = new ByteBufferPool(clientParams.getBufferSize(), clientParams.getMaxPooledBuffers());
+
+        if (clientParams.isResponseCacheEnabled()) {
+            this.responseCache = new ResponseCache(clientParams.getResponseCacheSize(), clientParams.getResponseCacheOffHeapSize(),
+                    clientParams.getResponseCacheOffHeapMinEntrySize());
+        }
+
+        if (clientParams.isRequestCoalescing()) {
+            this.singleFlight = new SingleFlight();
+        }
+
+        if (!clientParams.getRetryPolicies().isEmpty()) {
+            this.retrier = new Retrier(clientParams.getRetryPolicies());
         }
     }
 
 
     public <T> AsyncRequest<T> get(RequestParams params, Class<T> clazz) {
+        return processGetResponse(getFuture(params, clazz));
+    }
+
+    /**
+     * Submits a GET for each params and returns the responses in completion order, keyed by their params.
+     * The requests are submitted while the stream is consumed and at most window requests are in flight or waiting
+     * to be consumed, so the memory used does not depend on the batch size. Closing the stream stops the submission.
+     *
+     * @since 2.5.0
+     */
+    public <T> Stream<Tuple<RequestParams, T>> getAll(Stream<RequestParams> params, Class<T> clazz, int window) {
+        return CompletionIterator.stream(params, requestParams -> getFuture(requestParams, clazz), window);
+    }
+
+    /**
+     * @see #getAll(Stream, Class, int)
+     * @since 2.5.0
+     */
+    public <T> Stream<Tuple<RequestParams, T>> getAll(List<RequestParams> params, Class<T> clazz, int window) {
+        return getAll(params.stream(), clazz, window);
+    }
+
+    /**
+     * GET of a JSON array whose elements are bound one at a time while the body is read, instead of binding the whole
+     * body at once. The AsyncRequest completes when the response headers are received, the iterator must be closed
+     * (it is also closed when the array ends) and holds the request concurrency permit until then.
+     * The streamed body is always read by a blocking transport, with ASYNC the SIMPLE transport is used.
+     *
+     * @since 2.5.0
+     */
+    public <T> AsyncRequest<JsonArrayIterator<T>> streamArray(RequestParams params, Class<T> clazz) {
+        return AsyncExecutorUtils.returnAsyncResponse(streamFuture(params, clazz));
+    }
+
+    /**
+     * GET of a JSON array whose elements are bound one at a time while the body is read and passed to the consumer,
+     * on an executor thread. The AsyncRequest completes with the number of elements when the whole array is consumed.
+     *
+     * @since 2.5.0
+     */
+    public <T> AsyncRequest<Long> streamArray(RequestParams params, Class<T> clazz, Consumer<? super T> consumer) {
+        CompletableFuture<Long> future = streamFuture(params, clazz).thenApplyAsync(iterator -> {
+            long count = 0;
+
+            try (iterator) {
+                while (iterator.hasNext()) {
+                    consumer.accept(iterator.next());
+                    count++;
+                }
+            }
+
+            return count;
+        }, globalExecutor);
+
+        return AsyncExecutorUtils.returnAsyncResponse(future);
+    }
+
+    private <T> CompletableFuture<JsonArrayIterator<T>> streamFuture(RequestParams params, Class<T> clazz) {
         AsyncExecutorUtils.incrementRequest();
 
-        String url = buildUrl(params.getBaseUrl(), params.getPaths(), params.getQueryParams());
+        String url = UrlUtils.buildUrl(params);
+        OriginGate gate = gates.forUrl(url);
 
         GetRequestStrategy get = (GetRequestStrategy) Request.getVerbStrategy(VerbsEnum.GET);
-        CompletableFuture<T> future = get.getRequest(globalExecutor, semaphore, restClient, params, clazz, url, clientParams, isScheduled());
 
-        return processGetResponse(future);
+        return get.streamRequest(globalExecutor, gate, restClient, objectMapper, params, clazz, url);
+    }
+
+    /**
+     * GET of the raw response body, without message converters. The body is held in pooled direct buffers and
+     * must be released once consumed so its buffers are reused.
+     * With ASYNC the received buffers are copied once into the pooled buffers, with the blocking transports the body
+     * is read from the response stream into the pooled buffers.
+     *
+     * @since 2.5.0
+     */
+    public AsyncRequest<PooledBody> getRaw(RequestParams params) {
+        return AsyncExecutorUtils.returnAsyncResponse(rawFuture(params, RawBodySink.pooled(bufferPool)));
+    }
+
+    /**
+     * GET of the raw response body written to the channel as it is received, for instance a FileChannel.
+     * The AsyncRequest completes with the number of bytes written, the channel is not closed.
+     * With ASYNC the channel is written from the I/O reactor thread and must not block for long.
+     *
+     * @since 2.5.0
+     */
+    public AsyncRequest<Long> getRaw(RequestParams params, WritableByteChannel channel) {
+        return AsyncExecutorUtils.returnAsyncResponse(rawFuture(params, RawBodySink.channel(channel, bufferPool)));
+    }
+
+    private <T> CompletableFuture<T> rawFuture(RequestParams params, RawBodySink<T> sink) {
+        AsyncExecutorUtils.incrementRequest();
+
+        String url = UrlUtils.buildUrl(params);
+        OriginGate gate = gates.forUrl(url);
+
+        GetRequestStrategy get = (GetRequestStrategy) Request.getVerbStrategy(VerbsEnum.GET);
+
+        return asyncClient != null
+                ? get.rawRequest(gate, asyncClient, params, sink, url)
+                : get.rawRequest(globalExecutor, gate, restClient, params, sink, url);
+    }
+
+    /**
+     * Returns a Publisher of the GET Response, the request is made for each subscription on its first demand
+     *
+     * @since 2.5.0
+     */
+    public <T> Publisher<Response<T>> publishGet(RequestParams params, Class<T> clazz) {
+        return new ResponsePublisher<>(() -> getFuture(params, clazz));
+    }
+
+    /**
+     * Returns a Publisher of the responses of a GET for each params emitted by the upstream Publisher, in completion order
+     * and keyed by their params. The params are only requested from upstream while the subscriber has demand for their
+     * responses, so the requests in flight never exceed the subscriber demand nor maxInFlight.
+     *
+     * @since 2.5.0
+     */
+    public <T> Publisher<Tuple<RequestParams, T>> publishGetAll(Publisher<RequestParams> params, Class<T> clazz, int maxInFlight) {
+        return new CompletionPublisher<>(params, requestParams -> getFuture(requestParams, clazz), maxInFlight);
+    }
+
+    private <T> CompletableFuture<T> getFuture(RequestParams params, Class<T> clazz) {
+        String url = UrlUtils.buildUrl(params);
+
+        return getFuture(codecs.negotiate(params, clazz, null), clazz, url, gates.forUrl(url));
+    }
+
+    /**
+     * GET of the url, the params are already negotiated
+     */
+    <T> CompletableFuture<T> getFuture(RequestParams params, Class<T> clazz, String url, OriginGate gate) {
+        if (singleFlight != null) {
+            return singleFlight.execute(url, params.getHeaders(), clazz, () -> sendGet(params, clazz, url, gate));
+        }
+
+        return sendGet(params, clazz, url, gate);
+    }
+
+    private <T> CompletableFuture<T> sendGet(RequestParams params, Class<T> clazz, String url, OriginGate gate) {
+        if (responseCache != null) {
+            return responseCache.get(url, params, clazz, codecs, requestParams -> cacheableFuture(requestParams, url, gate));
+        }
+
+        AsyncExecutorUtils.incrementRequest();
+
+        GetRequestStrategy get = (GetRequestStrategy) Request.getVerbStrategy(VerbsEnum.GET);
+
+        return retry(VerbsEnum.GET, null, () -> asyncClient != null
+                ? get.getRequest(gate, asyncClient, codecs, params, clazz, url)
+                : get.getRequest(globalExecutor, gate, restClient, params, clazz, url));
+    }
+
+    private CompletableFuture<CacheableResponse> cacheableFuture(RequestParams params, String url, OriginGate gate) {
+        AsyncExecutorUtils.incrementRequest();
+
+        GetRequestStrategy get = (GetRequestStrategy) Request.getVerbStrategy(VerbsEnum.GET);
+
+        return retry(VerbsEnum.GET, null, () -> asyncClient != null
+                ? get.cacheableRequest(gate, asyncClient, params, url)
+                : get.cacheableRequest(globalExecutor, gate, restClient, params, url));
+    }
+
+    /**
+     * Runs the request with the retry policy of the verb, if any. Bodies read once from their source are not retried
+     */
+    private <T> CompletableFuture<T> retry(VerbsEnum verb, Object body, Supplier<CompletableFuture<T>> request) {
+        if (retrier == null || !BodyUtils.isRepeatable(body)) {
+            return request.get();
+        }
+
+        return retrier.execute(verb, request);
     }
 
     private <T> AsyncRequest<T> processGetResponse(CompletableFuture<T> future) {
-        return AsyncExecutorUtils.returnAsyncResponse(future, globalExecutor);
+        return AsyncExecutorUtils.returnAsyncResponse(future);
     }
 
+    /**
+     * The body can be a {@link BodySource}, it is then streamed from its source while the request is sent
+     */
     public <T, R> AsyncRequest<T> post(RequestParams params, R body, Class<T> clazz) {
+        String url = UrlUtils.buildUrl(params);
+
+        return processPostResponse(postFuture(params, url, gates.forUrl(url), body, clazz));
+    }
+
+    /**
+     * Submits a POST of each body to the same params and returns the responses in completion order, keyed by their body.
+     * The url is built once for the whole batch. The requests are submitted while the stream is consumed and at most
+     * window requests are in flight or waiting to be consumed. Closing the stream stops the submission.
+     *
+     * @since 2.5.0
+     */
+    public <T, R> Stream<Tuple<R, T>> postAll(RequestParams params, Stream<R> bodies, Class<T> clazz, int window) {
+        String url = UrlUtils.buildUrl(params);
+        OriginGate gate = gates.forUrl(url);
+
+        return CompletionIterator.stream(bodies, body -> postFuture(params, url, gate, body, clazz), window);
+    }
+
+    /**
+     * @see #postAll(RequestParams, Stream, Class, int)
+     * @since 2.5.0
+     */
+    public <T, R> Stream<Tuple<R, T>> postAll(RequestParams params, List<R> bodies, Class<T> clazz, int window) {
+        return postAll(params, bodies.stream(), clazz, window);
+    }
+
+    /**
+     * Returns a Publisher of the POST Response, the request is made for each subscription on its first demand
+     *
+     * @since 2.5.0
+     */
+    public <T, R> Publisher<Response<T>> publishPost(RequestParams params, R body, Class<T> clazz) {
+        String url = UrlUtils.buildUrl(params);
+        OriginGate gate = gates.forUrl(url);
+
+        return new ResponsePublisher<>(() -> postFuture(params, url, gate, body, clazz));
+    }
+
+    /**
+     * Returns a Publisher of the responses of a POST of each body emitted by the upstream Publisher to the same params,
+     * in completion order and keyed by their body. The bodies are only requested from upstream while the subscriber has
+     * demand for their responses, so the requests in flight never exceed the subscriber demand nor maxInFlight.
+     *
+     * @since 2.5.0
+     */
+    public <T, R> Publisher<Tuple<R, T>> publishPostAll(RequestParams params, Publisher<R> bodies, Class<T> clazz, int maxInFlight) {
+        String url = UrlUtils.buildUrl(params);
+        OriginGate gate = gates.forUrl(url);
+
+        return new CompletionPublisher<>(bodies, body -> postFuture(params, url, gate, body, clazz), maxInFlight);
+    }
+
+    <T, R> CompletableFuture<T> postFuture(RequestParams params, String url, OriginGate gate, R body, Class<T> clazz) {
         AsyncExecutorUtils.incrementRequest();
 
-        String url = buildUrl(params.getBaseUrl(), params.getPaths(), params.getQueryParams());
+        invalidate(url);
 
         PostRequestStrategy post = (PostRequestStrategy) Request.getVerbStrategy(VerbsEnum.POST);
-        CompletableFuture<T> future = post.postRequest(globalExecutor, semaphore, restClient, params, body, clazz, url, clientParams, isScheduled());
+        RequestParams negotiated = codecs.negotiate(params, clazz, body);
 
-        return processPostResponse(future);
+        if (asyncClient != null && body instanceof BodySource source) {
+            return invalidateOnSuccess(url, retry(VerbsEnum.POST, body,
+                    () -> post.uploadRequest(gate, asyncClient, codecs, bufferPool, negotiated, source, clazz, url)));
+        }
+
+        return invalidateOnSuccess(url, retry(VerbsEnum.POST, body, () -> asyncClient != null
+                ? post.postRequest(gate, asyncClient, codecs, negotiated, body, clazz, url)
+                : post.postRequest(globalExecutor, gate, restClient, negotiated, body, clazz, url)));
     }
 
     private <T> AsyncRequest<T> processPostResponse(CompletableFuture<T> future) {
-        return AsyncExecutorUtils.returnAsyncResponse(future, globalExecutor);
+        return AsyncExecutorUtils.returnAsyncResponse(future);
     }
 
+    /**
+     * The body can be a {@link BodySource}, it is then streamed from its source while the request is sent
+     */
     public <T, R> AsyncRequest<T> put(RequestParams params, R body, Class<T> clazz) {
+        String url = UrlUtils.buildUrl(params);
+
+        return processPutResponse(putFuture(params, url, gates.forUrl(url), body, clazz));
+    }
+
+    <T, R> CompletableFuture<T> putFuture(RequestParams params, String url, OriginGate gate, R body, Class<T> clazz) {
         AsyncExecutorUtils.incrementRequest();
 
-        String url = buildUrl(params.getBaseUrl(), params.getPaths(), params.getQueryParams());
+        invalidate(url);
 
         PutRequestStrategy put = (PutRequestStrategy) Request.getVerbStrategy(VerbsEnum.PUT);
-        CompletableFuture<T> future = put.putRequest(globalExecutor, semaphore, restClient, params, body, clazz, url, clientParams, isScheduled());
+        CompletableFuture<T> future;
+        RequestParams negotiated = codecs.negotiate(params, clazz, body);
+
+        if (asyncClient != null && body instanceof BodySource source) {
+            future = retry(VerbsEnum.PUT, body,
+                    () -> put.uploadRequest(gate, asyncClient, codecs, bufferPool, negotiated, source, clazz, url));
+        } else {
+            future = retry(VerbsEnum.PUT, body, () -> asyncClient != null
+                    ? put.putRequest(gate, asyncClient, codecs, negotiated, body, clazz, url)
+                    : put.putRequest(globalExecutor, gate, restClient, negotiated, body, clazz, url));
+        }
 
-        return processPutResponse(future);
+        return invalidateOnSuccess(url, future);
     }
 
     private <T> AsyncRequest<T> processPutResponse(CompletableFuture<T> future) {
-        return AsyncExecutorUtils.returnAsyncResponse(future, globalExecutor);
+        return AsyncExecutorUtils.returnAsyncResponse(future);
     }
 
+    /**
+     * The body can be a {@link BodySource}, it is then streamed from its source while the request is sent
+     */
     public <T, R> AsyncRequest<T> patch(RequestParams params, R body, Class<T> clazz) {
+        String url = UrlUtils.buildUrl(params);
+
+        return processPatchResponse(patchFuture(params, url, gates.forUrl(url), body, clazz));
+    }
+
+    <T, R> CompletableFuture<T> patchFuture(RequestParams params, String url, OriginGate gate, R body, Class<T> clazz) {
         AsyncExecutorUtils.incrementRequest();
 
-        String url = buildUrl(params.getBaseUrl(), params.getPaths(), params.getQueryParams());
+        invalidate(url);
 
         PatchRequestStrategy patch = (PatchRequestStrategy) Request.getVerbStrategy(VerbsEnum.PATCH);
-        CompletableFuture<T> future = patch.patchRequest(globalExecutor, semaphore, restClient, params, body, clazz, url, clientParams, isScheduled());
+        CompletableFuture<T> future;
+        RequestParams negotiated = codecs.negotiate(params, clazz, body);
 
-        return processPatchResponse(future);
+        if (asyncClient != null && body instanceof BodySource source) {
+            future = retry(VerbsEnum.PATCH, body,
+                    () -> patch.uploadRequest(gate, asyncClient, codecs, bufferPool, negotiated, source, clazz, url));
+        } else {
+            future = retry(VerbsEnum.PATCH, body, () -> asyncClient != null
+                    ? patch.patchRequest(gate, asyncClient, codecs, negotiated, body, clazz, url)
+                    : patch.patchRequest(globalExecutor, gate, restClient, negotiated, body, clazz, url));
+        }
+
+        return invalidateOnSuccess(url, future);
     }
 
     private <T> AsyncRequest<T> processPatchResponse(CompletableFuture<T> future) {
-        return AsyncExecutorUtils.returnAsyncResponse(future, globalExecutor);
+        return AsyncExecutorUtils.returnAsyncResponse(future);
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     public AsyncRequest<Void> delete(RequestParams params) {
+        String url = UrlUtils.buildUrl(params);
+
+        return processDeleteResponse(deleteFuture(params, url, gates.forUrl(url)));
+    }
+
+    CompletableFuture<Void> deleteFuture(RequestParams params, String url, OriginGate gate) {
         AsyncExecutorUtils.incrementRequest();
 
-        String url = buildUrl(params.getBaseUrl(), params.getPaths(), params.getQueryParams());
+        invalidate(url);
 
         DeleteRequestStrategy delete = (DeleteRequestStrategy) Request.getVerbStrategy(VerbsEnum.DELETE);
-        CompletableFuture<Void> future = delete.deleteRequest(globalExecutor, semaphore, restClient, params, url, clientParams, isScheduled());
 
-        return processDeleteResponse(future);
+        return invalidateOnSuccess(url, retry(VerbsEnum.DELETE, null, () -> asyncClient != null
+                ? delete.deleteRequest(gate, asyncClient, codecs, params, url)
+                : delete.deleteRequest(globalExecutor, gate, restClient, params, url)));
     }
 
     private AsyncRequest<Void> processDeleteResponse(CompletableFuture<Void> future) {
-        return AsyncExecutorUtils.returnAsyncResponse(future, globalExecutor);
+        return AsyncExecutorUtils.returnAsyncResponse(future);
+    }
+
+    /**
+     * Prepares a request to a url template, e.g. {@code https://api.example.com/users/{id}/orders?status={status}}.
+     * The template is parsed and the headers, the codec negotiation and the origin limits are resolved once, each
+     * execution only expands the template with its values. The headers are name and value pairs.
+     * The path of the template is the route of the requests in the metrics and the JFR events.
+     * DELETE requests have no response, their class must be Void.
+     *
+     * @since 2.5.0
+     */
+    public <T> PreparedRequest<T> prepare(VerbsEnum verb, String urlTemplate, Class<T> clazz, String... headers) {
+        UrlTemplate template = UrlTemplate.compile(urlTemplate);
+        RequestParams params = RequestParams.builder().addUrl(template.getTemplate()).addHeaders(headers)
+                .addRoute(template.getPath()).build();
+
+        return new PreparedRequest<>(this, verb, template, clazz, params, gates.forUrl(template.getOrigin()));
     }
 
-    private String buildUrl(String baseUrl, List<String> paths, Map<String, String> queryParams) {
-        StringBuilder url = new StringBuilder(baseUrl);
+    BodyCodecs getCodecs() {
+        return codecs;
+    }
+
+    /**
+     * Returns the current concurrency limits, the client limit under "*" followed by the limit of each origin.
+     * With an adaptive limiter these are the limits computed from the latest requests.
+     *
+     * @since 2.5.0
+     */
+    public Map<String, Integer> getConcurrencyLimits() {
+        return gates.getLimits();
+    }
+
+    /**
+     * Returns the state of the circuit breaker of each origin requested so far, empty when there is no circuit breaker
+     *
+     * @since 2.5.0
+     */
+    public Map<String, CircuitStateEnum> getCircuitStates() {
+        return gates.getCircuitStates();
+    }
+
+    /**
+     * Returns the response cache counters, or null when the cache is disabled
+     *
+     * @since 2.5.0
+     */
+    public CacheStats getCacheStats() {
+        return responseCache != null ? responseCache.getStats() : null;
+    }
 
-        if (paths != null && !paths.isEmpty()) {
-            url.append("/").append(String.join("/", paths));
+    /**
+     * Returns the connections leased, available and waited for of the connection pool, or null for the SIMPLE transport
+     *
+     * @since 2.5.0
+     */
+    public PoolStats getPoolStats() {
+        return connectionPool != null ? connectionPool.getTotalStats() : null;
+    }
+
+    /**
+     * Invalidates the cached and coalesced GETs of the url, before an unsafe request to it and once it succeeds
+     */
+    private void invalidate(String url) {
+        if (responseCache != null) {
+            responseCache.invalidate(url);
         }
 
-        if (queryParams != null && !queryParams.isEmpty()) {
-            url.append("?").append(queryParams.entrySet().stream()
-                    .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "=" +
-                            URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
-                    .collect(Collectors.joining("&")));
+        if (singleFlight != null) {
+            singleFlight.forget(url);
         }
+    }
+
+    /**
+     * Invalidates the url again when the unsafe request gets a non-error response (RFC 9111 4.4), so a GET that was
+     * in flight meanwhile is not served from the cache nor shared afterwards. The returned future completes after the
+     * invalidation and cancelling it cancels the request.
+     */
+    private <T> CompletableFuture<T> invalidateOnSuccess(String url, CompletableFuture<T> future) {
+        if (responseCache == null && singleFlight == null) {
+            return future;
+        }
+
+        CompletableFuture<T> invalidated = new CompletableFuture<>();
+
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                invalidated.completeExceptionally(throwable);
+                return;
+            }
 
-        return url.toString();
+            invalidate(url);
+            invalidated.complete(result);
+        });
+
+        invalidated.whenComplete((result, throwable) -> {
+            if (invalidated.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+
+        return invalidated;
     }
 
-    private boolean isScheduled() {
-        return this.clientParams.getDelayInMilliSeconds() > 0L;
+    /**
+     * Releases the pooled connections and stops the I/O reactor, if any, without waiting. Requests still in flight on the
+     * POOLED and ASYNC transports are aborted and fail with a communication error, the SIMPLE transport has no pool and
+     * lets them complete.
+     */
+    @Override
+    public void close() {
+        if (httpClient != null) {
+            httpClient.close(CloseMode.IMMEDIATE);
+        }
+
+        if (asyncClient != null) {
+            asyncClient.close(CloseMode.IMMEDIATE);
+        }
+
+        if (responseCache != null) {
+            responseCache.clear();
+        }
     }
 
 }
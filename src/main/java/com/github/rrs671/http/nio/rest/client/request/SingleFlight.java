@@ -0,0 +1,104 @@
+package com.github.rrs671.http.nio.rest.client.request;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent GETs of the same url, headers and response class into a single request.
+ * The first caller starts the request and the callers arriving while it is in flight share its result,
+ * each of them through its own future so cancelling one does not cancel the others.
+ * The result object is shared by the coalesced callers.
+ *
+ * @since 2.5.0
+ */
+public class SingleFlight {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String url, Map<String, String> headers, Class<T> clazz,
+                                            Supplier<CompletableFuture<T>> request) {
+        Key key = new Key(url, headers, clazz);
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> shared = inFlight.putIfAbsent(key, created);
+
+        if (shared == null) {
+            shared = created;
+            start(key, created, request);
+        }
+
+        return (CompletableFuture<T>) shared.copy();
+    }
+
+    /**
+     * Stops coalescing with the requests to the url in flight, for instance after an unsafe request to it.
+     * Their callers still get their result, the next calls start a new request.
+     */
+    public void forget(String url) {
+        inFlight.keySet().removeIf(key -> key.url.equals(url));
+    }
+
+    /**
+     * Number of distinct requests in flight
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+    private <T> void start(Key key, CompletableFuture<Object> created, Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> future;
+
+        try {
+            future = request.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        future.whenComplete((result, throwable) -> {
+            inFlight.remove(key, created);
+
+            if (throwable != null) {
+                created.completeExceptionally(throwable);
+            } else {
+                created.complete(result);
+            }
+        });
+    }
+
+    private static final class Key {
+
+        private final String url;
+        private final Map<String, String> headers;
+        private final Class<?> clazz;
+        private final int hash;
+
+        private Key(String url, Map<String, String> headers, Class<?> clazz) {
+            this.url = url;
+            this.headers = headers != null ? headers : Map.of();
+            this.clazz = clazz;
+            this.hash = Objects.hash(url, this.headers, clazz);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+
+            return url.equals(key.url) && clazz == key.clazz && headers.equals(key.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
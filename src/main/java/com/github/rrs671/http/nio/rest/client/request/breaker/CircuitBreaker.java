@@ -0,0 +1,147 @@
+package com.github.rrs671.http.nio.rest.client.request.breaker;
+
+import com.github.rrs671.http.nio.rest.client.enums.CircuitStateEnum;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The circuit breaker of an origin, see {@link CircuitBreakerConfig}. The state changes are lock-free: each state is
+ * a new phase with its own counters and the phase is replaced with a CAS. A half-open phase whose calls did not complete
+ * within the open duration, for instance because they were cancelled, permits new half-open calls.
+ *
+ * @since 2.5.0
+ */
+public class CircuitBreaker {
+
+    private final CircuitBreakerConfig config;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final AtomicReference<Phase> phase;
+
+    public CircuitBreaker(CircuitBreakerConfig config) {
+        this.config = config;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDurationInMilliSeconds());
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(config.getOpenDurationInMilliSeconds());
+        this.phase = new AtomicReference<>(closed());
+    }
+
+    /**
+     * Returns true when a call may be made, an open breaker becomes half-open after its open duration
+     * and then permits its half-open calls only
+     */
+    public boolean tryAcquirePermission() {
+        Phase current = phase.get();
+
+        if (current.state == CircuitStateEnum.CLOSED) {
+            return true;
+        }
+
+        if (current.state == CircuitStateEnum.OPEN) {
+            if (System.nanoTime() - current.since < openNanos) {
+                return false;
+            }
+
+            phase.compareAndSet(current, halfOpen());
+            current = phase.get();
+
+            if (current.state != CircuitStateEnum.HALF_OPEN) {
+                return current.state == CircuitStateEnum.CLOSED;
+            }
+        }
+
+        while (true) {
+            int permits = current.permits.get();
+
+            if (permits <= 0) {
+                if (System.nanoTime() - current.since >= openNanos && phase.compareAndSet(current, halfOpen())) {
+                    return tryAcquirePermission();
+                }
+
+                return false;
+            }
+
+            if (current.permits.compareAndSet(permits, permits - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call
+     */
+    public void onResult(long durationNanos, boolean failure) {
+        Phase current = phase.get();
+        boolean slow = durationNanos >= slowCallNanos;
+
+        if (current.state == CircuitStateEnum.CLOSED) {
+            current.window.record(failure, slow);
+
+            if (current.window.getCalls() >= config.getMinCalls() && isTripped(current.window.getFailureRate(), current.window.getSlowCallRate())) {
+                phase.compareAndSet(current, open());
+            }
+        } else if (current.state == CircuitStateEnum.HALF_OPEN) {
+            if (failure) {
+                current.failures.incrementAndGet();
+            }
+
+            if (slow) {
+                current.slowCalls.incrementAndGet();
+            }
+
+            int calls = current.calls.incrementAndGet();
+
+            if (calls == config.getHalfOpenCalls()) {
+                double failureRate = (double) current.failures.get() / calls;
+                double slowCallRate = (double) current.slowCalls.get() / calls;
+
+                phase.compareAndSet(current, isTripped(failureRate, slowCallRate) ? open() : closed());
+            }
+        }
+    }
+
+    public CircuitStateEnum getState() {
+        Phase current = phase.get();
+
+        if (current.state == CircuitStateEnum.OPEN && System.nanoTime() - current.since >= openNanos) {
+            return CircuitStateEnum.HALF_OPEN;
+        }
+
+        return current.state;
+    }
+
+    private boolean isTripped(double failureRate, double slowCallRate) {
+        return failureRate >= config.getFailureRateThreshold() || slowCallRate >= config.getSlowCallRateThreshold();
+    }
+
+    private Phase closed() {
+        return new Phase(CircuitStateEnum.CLOSED, new SlidingWindow(config.getWindowSize()), 0);
+    }
+
+    private Phase open() {
+        return new Phase(CircuitStateEnum.OPEN, null, 0);
+    }
+
+    private Phase halfOpen() {
+        return new Phase(CircuitStateEnum.HALF_OPEN, null, config.getHalfOpenCalls());
+    }
+
+    private static final class Phase {
+
+        private final CircuitStateEnum state;
+        private final long since = System.nanoTime();
+        private final SlidingWindow window;
+        private final AtomicInteger permits;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        private Phase(CircuitStateEnum state, SlidingWindow window, int permits) {
+            this.state = state;
+            this.window = window;
+            this.permits = new AtomicInteger(permits);
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.github.rrs671.http.nio.rest.client.request.breaker;
+
+/**
+ * The thresholds of the circuit breakers of the origins. A closed breaker opens when, over its last window calls and
+ * once it has at least min calls, the failure rate or the slow call rate reaches its threshold. An open breaker fails
+ * the requests at once for the open duration and then lets the half-open calls through, their outcome closes it or
+ * opens it again. The failures are the requests that could not communicate (including timeouts) and the ones the server
+ * answered it is overloaded (429, 502, 503 or 504).
+ *
+ * @since 2.5.0
+ */
+public class CircuitBreakerConfig {
+
+    private double failureRateThreshold;
+    private double slowCallRateThreshold;
+    private long slowCallDurationInMilliSeconds;
+    private int windowSize;
+    private int minCalls;
+    private long openDurationInMilliSeconds;
+    private int halfOpenCalls;
+
+    private CircuitBreakerConfig() {}
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getSlowCallDurationInMilliSeconds() {
+        return slowCallDurationInMilliSeconds;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinCalls() {
+        return minCalls;
+    }
+
+    public long getOpenDurationInMilliSeconds() {
+        return openDurationInMilliSeconds;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public static CircuitBreakerConfigBuilder builder() {
+        return new CircuitBreakerConfigBuilder();
+    }
+
+    public static class CircuitBreakerConfigBuilder {
+
+        private CircuitBreakerConfigBuilder() {}
+
+        private double failureRateThreshold = 0.5;
+        private double slowCallRateThreshold = 1;
+        private long slowCallDurationInMilliSeconds = 60_000;
+        private int windowSize = 100;
+        private int minCalls = 20;
+        private long openDurationInMilliSeconds = 30_000;
+        private int halfOpenCalls = 5;
+
+        /**
+         * Failure rate, between 0 and 1, that opens the breaker, 0.5 by default
+         */
+        public CircuitBreakerConfigBuilder addFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Rate, between 0 and 1, of the calls taking at least the slow call duration that opens the breaker,
+         * 1 and 60 seconds by default
+         */
+        public CircuitBreakerConfigBuilder addSlowCallRateThreshold(double slowCallRateThreshold, long slowCallDurationInMilliSeconds) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            this.slowCallDurationInMilliSeconds = slowCallDurationInMilliSeconds;
+            return this;
+        }
+
+        /**
+         * Number of the latest calls the rates are computed from and the min calls before the breaker may open,
+         * 100 and 20 by default
+         */
+        public CircuitBreakerConfigBuilder addWindow(int windowSize, int minCalls) {
+            this.windowSize = windowSize;
+            this.minCalls = minCalls;
+            return this;
+        }
+
+        /**
+         * Time the breaker stays open before the half-open calls, 30 seconds by default
+         */
+        public CircuitBreakerConfigBuilder addOpenDuration(long openDurationInMilliSeconds) {
+            this.openDurationInMilliSeconds = openDurationInMilliSeconds;
+            return this;
+        }
+
+        /**
+         * Calls let through by a half-open breaker to decide whether it closes, 5 by default
+         */
+        public CircuitBreakerConfigBuilder addHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        public CircuitBreakerConfig build() {
+            if (this.failureRateThreshold <= 0 || this.failureRateThreshold > 1
+                    || this.slowCallRateThreshold <= 0 || this.slowCallRateThreshold > 1) {
+                throw new IllegalArgumentException("Circuit breaker rate thresholds must be > 0 and <= 1");
+            }
+
+            if (this.windowSize <= 0 || this.minCalls <= 0 || this.minCalls > this.windowSize) {
+                throw new IllegalArgumentException("Circuit breaker window must be 0 < min calls <= window size");
+            }
+
+            if (this.slowCallDurationInMilliSeconds <= 0 || this.openDurationInMilliSeconds <= 0 || this.halfOpenCalls <= 0) {
+                throw new IllegalArgumentException("Circuit breaker durations and half-open calls must be > 0");
+            }
+
+            CircuitBreakerConfig config = new CircuitBreakerConfig();
+
+            config.failureRateThreshold = this.failureRateThreshold;
+            config.slowCallRateThreshold = this.slowCallRateThreshold;
+            config.slowCallDurationInMilliSeconds = this.slowCallDurationInMilliSeconds;
+            config.windowSize = this.windowSize;
+            config.minCalls = this.minCalls;
+            config.openDurationInMilliSeconds = this.openDurationInMilliSeconds;
+            config.halfOpenCalls = this.halfOpenCalls;
+
+            return config;
+        }
+    }
+
+}
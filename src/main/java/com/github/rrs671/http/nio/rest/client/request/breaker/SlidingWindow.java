@@ -0,0 +1,69 @@
+package com.github.rrs671.http.nio.rest.client.request.breaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free count-based window of the latest call outcomes. Each call takes the next slot of a ring and replaces its
+ * outcome, the counters are adjusted by the difference so the rates are read without scanning the ring
+ */
+final class SlidingWindow {
+
+    private static final int RECORDED = 1;
+    private static final int FAILURE = 2;
+    private static final int SLOW = 4;
+
+    private final int size;
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger slowCalls = new AtomicInteger();
+
+    SlidingWindow(int size) {
+        this.size = size;
+        this.outcomes = new AtomicIntegerArray(size);
+    }
+
+    void record(boolean failure, boolean slow) {
+        int outcome = RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0);
+        int replaced = outcomes.getAndSet((int) (next.getAndIncrement() % size), outcome);
+
+        if ((replaced & RECORDED) == 0) {
+            calls.incrementAndGet();
+        }
+
+        adjust(failures, replaced, outcome, FAILURE);
+        adjust(slowCalls, replaced, outcome, SLOW);
+    }
+
+    int getCalls() {
+        return calls.get();
+    }
+
+    double getFailureRate() {
+        int recorded = calls.get();
+
+        return recorded == 0 ? 0 : (double) failures.get() / recorded;
+    }
+
+    double getSlowCallRate() {
+        int recorded = calls.get();
+
+        return recorded == 0 ? 0 : (double) slowCalls.get() / recorded;
+    }
+
+    private static void adjust(AtomicInteger counter, int replaced, int outcome, int flag) {
+        int delta = (outcome & flag) != 0 ? 1 : 0;
+
+        if ((replaced & flag) != 0) {
+            delta--;
+        }
+
+        if (delta != 0) {
+            counter.addAndGet(delta);
+        }
+    }
+
+}
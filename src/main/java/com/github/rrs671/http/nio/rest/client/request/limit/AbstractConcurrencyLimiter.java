@@ -0,0 +1,121 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base of the lock-free concurrency limiters. While permits are free they are taken with a single CAS,
+ * when the limit is reached the callers are queued and the permits are handed over to them on release,
+ * so no thread is parked waiting for a permit. The waiters are completed on the hand-off executor, by default the
+ * global executor, so a release never runs the continuation of a queued request on the releasing thread, which is
+ * often an I/O reactor thread. Subclasses only decide the current limit.
+ *
+ * @since 2.5.0
+ */
+public abstract class AbstractConcurrencyLimiter implements ConcurrencyLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+    private final Executor executor;
+
+    protected AbstractConcurrencyLimiter() {
+        this(AsyncExecutorUtils.getGlobalExecutorInstance());
+    }
+
+    protected AbstractConcurrencyLimiter(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Hand-off executor cannot be null");
+        }
+
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return waiters.isEmpty() && reserve();
+    }
+
+    @Override
+    public CompletableFuture<Void> acquire() {
+        if (tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.offer(waiter);
+        drain();
+
+        return waiter;
+    }
+
+    @Override
+    public void release() {
+        inFlight.decrementAndGet();
+
+        if (!waiters.isEmpty()) {
+            drain();
+        }
+    }
+
+    @Override
+    public void release(long rttNanos, boolean dropped) {
+        onSample(rttNanos, dropped, inFlight.get());
+        release();
+    }
+
+    /**
+     * Called with the outcome of each request before its permit is released
+     */
+    protected abstract void onSample(long rttNanos, boolean dropped, int inFlight);
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private boolean reserve() {
+        int current;
+
+        while ((current = inFlight.get()) < getLimit()) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Hands the free permits over to the waiters. Both the waiter that queues itself and the releasing thread drain,
+     * so a permit released while a waiter is being queued is never lost. The permit of a waiter cancelled meanwhile
+     * is released again from the executor, never recursively.
+     */
+    private void drain() {
+        while (!waiters.isEmpty() && reserve()) {
+            CompletableFuture<Void> waiter = waiters.poll();
+
+            if (waiter == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+
+            try {
+                executor.execute(() -> {
+                    if (!waiter.complete(null)) {
+                        release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.decrementAndGet();
+                waiter.completeExceptionally(e);
+            }
+        }
+    }
+
+}
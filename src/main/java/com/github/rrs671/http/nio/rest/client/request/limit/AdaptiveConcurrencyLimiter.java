@@ -0,0 +1,64 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Base of the limiters that adjust their limit from the request outcomes. The limit is kept as a double, so it can
+ * grow by fractions of a permit, and updated with CAS between the min and max bounds.
+ *
+ * @since 2.5.0
+ */
+public abstract class AdaptiveConcurrencyLimiter extends AbstractConcurrencyLimiter {
+
+    private final AtomicLong limit;
+    private final AtomicLong lastBackoff = new AtomicLong(System.nanoTime());
+    private final int minLimit;
+    private final int maxLimit;
+
+    protected AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limit bounds must be 0 < min <= max");
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = new AtomicLong(Double.doubleToLongBits(Math.clamp(initialLimit, minLimit, maxLimit)));
+    }
+
+    @Override
+    public int getLimit() {
+        return (int) currentLimit();
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    protected double currentLimit() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    protected void updateLimit(DoubleUnaryOperator update) {
+        limit.getAndUpdate(bits -> Double.doubleToLongBits(
+                Math.clamp(update.applyAsDouble(Double.longBitsToDouble(bits)), minLimit, maxLimit)));
+    }
+
+    /**
+     * Multiplies the limit by the ratio. The requests already in flight at the last backoff were sent under the old limit,
+     * so their drops are ignored and the limit is backed off at most once per round trip.
+     */
+    protected void backoff(long rttNanos, double ratio) {
+        long now = System.nanoTime();
+        long last = lastBackoff.get();
+
+        if (now - rttNanos - last >= 0 && lastBackoff.compareAndSet(last, now)) {
+            updateLimit(current -> current * ratio);
+        }
+    }
+
+}
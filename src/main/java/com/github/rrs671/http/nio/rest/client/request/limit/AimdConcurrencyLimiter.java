@@ -0,0 +1,45 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+/**
+ * A concurrency limiter that adjusts its limit with additive increase / multiplicative decrease. Each successful
+ * request grows the limit by 1/limit (about one permit per round trip) while the limit is being used, a dropped
+ * request or a request slower than the timeout shrinks it by the backoff ratio.
+ *
+ * @since 2.5.0
+ */
+public class AimdConcurrencyLimiter extends AdaptiveConcurrencyLimiter {
+
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    private final double backoffRatio;
+    private final long timeoutNanos;
+
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long timeoutNanos) {
+        this(initialLimit, minLimit, maxLimit, DEFAULT_BACKOFF_RATIO, timeoutNanos);
+    }
+
+    public AimdConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long timeoutNanos) {
+        super(initialLimit, minLimit, maxLimit);
+
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+
+        this.backoffRatio = backoffRatio;
+        this.timeoutNanos = timeoutNanos > 0 ? timeoutNanos : Long.MAX_VALUE;
+    }
+
+    @Override
+    protected void onSample(long rttNanos, boolean dropped, int inFlight) {
+        if (dropped || rttNanos > timeoutNanos) {
+            backoff(rttNanos, backoffRatio);
+            return;
+        }
+
+        // do not grow a limit the caller is not using
+        if (inFlight * 2 >= currentLimit()) {
+            updateLimit(current -> current + 1 / current);
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Limits the requests in flight. Permits are acquired without blocking, when there is no permit available the
+ * caller receives a future completed when a permit is handed over to it.
+ *
+ * @since 2.5.0
+ */
+public interface ConcurrencyLimiter {
+
+    /**
+     * Takes a permit if one is available and nobody is waiting
+     */
+    boolean tryAcquire();
+
+    /**
+     * Returns a future completed when the permit is granted, waiters are served in arrival order
+     */
+    CompletableFuture<Void> acquire();
+
+    void release();
+
+    /**
+     * Releases the permit informing the request outcome, adaptive limiters adjust their limit from it
+     *
+     * @param rttNanos time the request held the permit
+     * @param dropped true if the request timed out, failed to communicate or was rejected by an overloaded server
+     */
+    default void release(long rttNanos, boolean dropped) {
+        release();
+    }
+
+    int getLimit();
+
+    int getInFlight();
+
+}
@@ -0,0 +1,30 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+/**
+ * A concurrency limiter with a fixed limit.
+ *
+ * @since 2.5.0
+ */
+public class FixedConcurrencyLimiter extends AbstractConcurrencyLimiter {
+
+    private final int limit;
+
+    public FixedConcurrencyLimiter(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Concurrency limit must be > 0");
+        }
+
+        this.limit = limit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    protected void onSample(long rttNanos, boolean dropped, int inFlight) {
+        // fixed limit
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A Vegas style concurrency limiter that compares the recent round trip time with the no-load one (the min RTT).
+ * While the recent RTT stays within the tolerance of the min RTT the limit grows by a queue allowance of sqrt(limit)
+ * per round trip, when the server starts queueing and the RTT grows the limit is scaled by the gradient
+ * minRtt / shortRtt (at most halved per round trip). Dropped requests shrink the limit by the backoff ratio.
+ * <p>
+ * Each sample moves the limit 1/limit of the way to its target, so the limit changes about once per round trip
+ * whatever the request rate. The min RTT slowly drifts up so a permanently slower origin is eventually accepted as the
+ * new baseline.
+ *
+ * @since 2.5.0
+ */
+public class GradientConcurrencyLimiter extends AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_RTT_ALPHA = 0.1;
+    private static final double MIN_RTT_DRIFT = 1.0001;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final AtomicLong shortRtt = new AtomicLong(Double.doubleToLongBits(0));
+    private final AtomicLong minRtt = new AtomicLong(Double.doubleToLongBits(0));
+
+    public GradientConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        super(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    protected void onSample(long rttNanos, boolean dropped, int inFlight) {
+        if (dropped) {
+            backoff(rttNanos, BACKOFF_RATIO);
+            return;
+        }
+
+        double shortTerm = update(shortRtt, current -> current + SHORT_RTT_ALPHA * (rttNanos - current), rttNanos);
+        double noLoad = update(minRtt, current -> Math.min(rttNanos, current * MIN_RTT_DRIFT), rttNanos);
+
+        double gradient = Math.clamp(RTT_TOLERANCE * noLoad / shortTerm, 0.5, 1.0);
+
+        // do not grow a limit the caller is not using
+        if (gradient == 1.0 && inFlight * 2 < currentLimit()) {
+            return;
+        }
+
+        updateLimit(current -> {
+            double target = current * gradient + Math.sqrt(current);
+
+            return current + (target - current) / current;
+        });
+    }
+
+    private static double update(AtomicLong value, DoubleUnaryOperator update, long firstSample) {
+        return Double.longBitsToDouble(value.updateAndGet(bits -> {
+            double current = Double.longBitsToDouble(bits);
+
+            return Double.doubleToLongBits(current == 0 ? firstSample : update.applyAsDouble(current));
+        }));
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+import java.util.Arrays;
+
+/**
+ * The hedging of the idempotent requests to an origin. The hedging delay is the configured percentile of the latencies
+ * of the latest requests, so only the requests slower than that percentile are hedged. Each request adds the budget ratio
+ * to a token bucket and each hedge takes a whole token, so the hedges never exceed that ratio of the requests.
+ * No request is hedged until enough latencies are known.
+ *
+ * @since 2.5.0
+ */
+public class HedgingPolicy {
+
+    private static final int WINDOW = 1024;
+    private static final int MIN_SAMPLES = 32;
+    private static final int UPDATE_INTERVAL = 64;
+    private static final double MAX_TOKENS = 10;
+
+    private final double percentile;
+    private final double budget;
+    private final long[] latencies = new long[WINDOW];
+
+    private long samples;
+    private volatile long delayNanos = -1L;
+    private double tokens;
+
+    /**
+     * @param percentile percentile of the latencies used as hedging delay, between 0 and 1
+     * @param budget max ratio of hedges to requests, between 0 and 1
+     */
+    public HedgingPolicy(double percentile, double budget) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Hedging percentile must be > 0 and < 1");
+        }
+
+        if (budget <= 0 || budget > 1) {
+            throw new IllegalArgumentException("Hedging budget must be > 0 and <= 1");
+        }
+
+        this.percentile = percentile;
+        this.budget = budget;
+    }
+
+    /**
+     * Returns the nanoseconds to wait before hedging a request, -1 while the latencies are not known
+     */
+    public long getDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * Adds the budget of a new request
+     */
+    public synchronized void onRequest() {
+        tokens = Math.min(MAX_TOKENS, tokens + budget);
+    }
+
+    /**
+     * Takes the budget of a hedge, returns false when it is exhausted
+     */
+    public synchronized boolean tryHedge() {
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens -= 1;
+        return true;
+    }
+
+    /**
+     * Records the latency of a completed request, from its submission to its response
+     */
+    public synchronized void record(long latencyNanos) {
+        latencies[(int) (samples++ % WINDOW)] = latencyNanos;
+
+        if (samples >= MIN_SAMPLES && (samples % UPDATE_INTERVAL == 0 || delayNanos < 0)) {
+            long[] sorted = Arrays.copyOf(latencies, (int) Math.min(samples, WINDOW));
+            Arrays.sort(sorted);
+
+            delayNanos = sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)];
+        }
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public double getBudget() {
+        return budget;
+    }
+
+}
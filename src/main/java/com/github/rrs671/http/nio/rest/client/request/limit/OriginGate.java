@@ -0,0 +1,212 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+import com.github.rrs671.http.nio.rest.client.jfr.RequestAdmissionEvent;
+import com.github.rrs671.http.nio.rest.client.metrics.MetricsRecorder;
+import com.github.rrs671.http.nio.rest.client.request.breaker.CircuitBreaker;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The admission of the requests to a single origin (scheme+host+port). A request needs a permit of its origin
+ * and, when the client has a global limit, a permit of the client. A slow origin only exhausts its own permits.
+ * With a rate limit the request first waits for its rate slot, without holding any permit.
+ * With a hedging policy the slow idempotent requests to the origin are hedged.
+ * With a circuit breaker the requests fail at once while the breaker of the origin is open.
+ * With a metrics recorder the admission wait of each request is recorded.
+ *
+ * @since 2.5.0
+ */
+public class OriginGate {
+
+    private final String origin;
+    private final ConcurrencyLimiter originLimiter;
+    private final ConcurrencyLimiter clientLimiter;
+    private final RateLimiter rateLimiter;
+    private final HedgingPolicy hedgingPolicy;
+    private final CircuitBreaker circuitBreaker;
+    private final MetricsRecorder metricsRecorder;
+
+    public OriginGate(String origin, ConcurrencyLimiter originLimiter, ConcurrencyLimiter clientLimiter) {
+        this(origin, originLimiter, clientLimiter, null);
+    }
+
+    public OriginGate(String origin, ConcurrencyLimiter originLimiter, ConcurrencyLimiter clientLimiter, RateLimiter rateLimiter) {
+        this(origin, originLimiter, clientLimiter, rateLimiter, null);
+    }
+
+    public OriginGate(String origin, ConcurrencyLimiter originLimiter, ConcurrencyLimiter clientLimiter, RateLimiter rateLimiter,
+                      HedgingPolicy hedgingPolicy) {
+        this(origin, originLimiter, clientLimiter, rateLimiter, hedgingPolicy, null);
+    }
+
+    public OriginGate(String origin, ConcurrencyLimiter originLimiter, ConcurrencyLimiter clientLimiter, RateLimiter rateLimiter,
+                      HedgingPolicy hedgingPolicy, CircuitBreaker circuitBreaker) {
+        this(origin, originLimiter, clientLimiter, rateLimiter, hedgingPolicy, circuitBreaker, null);
+    }
+
+    public OriginGate(String origin, ConcurrencyLimiter originLimiter, ConcurrencyLimiter clientLimiter, RateLimiter rateLimiter,
+                      HedgingPolicy hedgingPolicy, CircuitBreaker circuitBreaker, MetricsRecorder metricsRecorder) {
+        this.origin = origin;
+        this.originLimiter = originLimiter;
+        this.clientLimiter = clientLimiter;
+        this.rateLimiter = rateLimiter;
+        this.hedgingPolicy = hedgingPolicy;
+        this.circuitBreaker = circuitBreaker;
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    /**
+     * Returns false when the circuit breaker of the origin does not permit the request
+     */
+    public boolean isCallPermitted() {
+        return circuitBreaker == null || circuitBreaker.tryAcquirePermission();
+    }
+
+    public boolean isRateLimited() {
+        return rateLimiter != null;
+    }
+
+    /**
+     * Returns a future completed when the request is admitted, after its rate slot, if any, and its permits.
+     * The wait is recorded as a RequestAdmission JFR event, the requests admitted by tryAdmit did not wait.
+     */
+    public CompletableFuture<Void> admit() {
+        long start = metricsRecorder != null ? System.nanoTime() : 0L;
+        RequestAdmissionEvent event = new RequestAdmissionEvent();
+
+        if (event.isEnabled()) {
+            event.begin();
+        }
+
+        long delayNanos = rateLimiter != null ? rateLimiter.reserve() : 0L;
+
+        CompletableFuture<Void> admitted = delayNanos <= 0L
+                ? acquire()
+                : CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS))
+                        .thenCompose(ready -> acquire());
+
+        if (event.isEnabled()) {
+            admitted = admitted.whenComplete((ready, e) -> {
+                event.end();
+
+                if (event.shouldCommit()) {
+                    event.origin = origin;
+                    event.commit();
+                }
+            });
+        }
+
+        if (metricsRecorder == null) {
+            return admitted;
+        }
+
+        return admitted.thenRun(() -> metricsRecorder.onAdmission(origin, System.nanoTime() - start));
+    }
+
+    /**
+     * Admits the request at once when it has no rate limit and its permits are available, otherwise admit must be used
+     */
+    public boolean tryAdmit() {
+        if (rateLimiter != null || !tryAcquire()) {
+            return false;
+        }
+
+        if (metricsRecorder != null) {
+            metricsRecorder.onAdmission(origin, 0L);
+        }
+
+        return true;
+    }
+
+    public boolean tryAcquire() {
+        if (originLimiter != null && !originLimiter.tryAcquire()) {
+            return false;
+        }
+
+        if (clientLimiter != null && !clientLimiter.tryAcquire()) {
+            if (originLimiter != null) {
+                originLimiter.release();
+            }
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns a future completed when the request is admitted, the origin permit is always taken before the client one
+     */
+    public CompletableFuture<Void> acquire() {
+        if (tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (originLimiter == null) {
+            return clientLimiter.acquire();
+        }
+
+        if (clientLimiter == null) {
+            return originLimiter.acquire();
+        }
+
+        return originLimiter.acquire().thenCompose(acquired -> clientLimiter.acquire());
+    }
+
+    public void release() {
+        if (clientLimiter != null) {
+            clientLimiter.release();
+        }
+
+        if (originLimiter != null) {
+            originLimiter.release();
+        }
+    }
+
+    /**
+     * Releases the permits informing the request outcome to the limiters and to the circuit breaker
+     */
+    public void release(long rttNanos, boolean dropped) {
+        if (circuitBreaker != null) {
+            circuitBreaker.onResult(rttNanos, dropped);
+        }
+
+        if (clientLimiter != null) {
+            clientLimiter.release(rttNanos, dropped);
+        }
+
+        if (originLimiter != null) {
+            originLimiter.release(rttNanos, dropped);
+        }
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public ConcurrencyLimiter getOriginLimiter() {
+        return originLimiter;
+    }
+
+    public ConcurrencyLimiter getClientLimiter() {
+        return clientLimiter;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+}
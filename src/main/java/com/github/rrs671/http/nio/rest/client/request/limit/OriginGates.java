@@ -0,0 +1,166 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+import com.github.rrs671.http.nio.rest.client.enums.CircuitStateEnum;
+import com.github.rrs671.http.nio.rest.client.enums.RateLimitScopeEnum;
+import com.github.rrs671.http.nio.rest.client.request.breaker.CircuitBreaker;
+import com.github.rrs671.http.nio.rest.client.request.breaker.CircuitBreakerConfig;
+import com.github.rrs671.http.nio.rest.utils.ClientParams;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The OriginGates of a RestRequest. When there is no per origin limit (of concurrency or rate) nor hedging nor circuit
+ * breaker all the origins share a single gate and the url is not parsed. The hedging latencies and the circuit breakers
+ * are kept for each origin.
+ *
+ * @since 2.5.0
+ */
+public class OriginGates {
+
+    private static final String ANY_ORIGIN = "*";
+
+    private final Map<String, OriginGate> gates = new ConcurrentHashMap<>();
+    private final ClientParams clientParams;
+    private final ConcurrencyLimiter clientLimiter;
+    private final RateLimiter clientRateLimiter;
+    private final OriginGate clientGate;
+    private final int maxConcurrentRequestsPerOrigin;
+    private final boolean rateLimitPerOrigin;
+    private final boolean hedging;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+
+    public OriginGates(ClientParams clientParams) {
+        this.clientParams = clientParams;
+        this.clientLimiter = clientParams.getMaxConcurrentRequests() > 0
+                ? newLimiter(clientParams.getMaxConcurrentRequests())
+                : null;
+        this.rateLimitPerOrigin = clientParams.getRateLimit() > 0 && clientParams.getRateLimitScope() == RateLimitScopeEnum.ORIGIN;
+        this.clientRateLimiter = clientParams.getRateLimit() > 0 && !rateLimitPerOrigin
+                ? new RateLimiter(clientParams.getRateLimit(), clientParams.getRateLimitBurst())
+                : null;
+        this.clientGate = new OriginGate(ANY_ORIGIN, null, clientLimiter, clientRateLimiter, null, null,
+                clientParams.getMetricsRecorder());
+        this.maxConcurrentRequestsPerOrigin = clientParams.getMaxConcurrentRequestsPerOrigin();
+        this.hedging = clientParams.isHedgingEnabled();
+        this.circuitBreakerConfig = clientParams.getCircuitBreaker();
+    }
+
+    public OriginGate forUrl(String url) {
+        if (maxConcurrentRequestsPerOrigin <= 0 && !rateLimitPerOrigin && !hedging && circuitBreakerConfig == null) {
+            return clientGate;
+        }
+
+        return gates.computeIfAbsent(origin(url), this::newGate);
+    }
+
+    public ConcurrencyLimiter getClientLimiter() {
+        return clientLimiter;
+    }
+
+    /**
+     * Returns the current limit of each limiter, the client limit under "*" followed by the limit of each origin
+     */
+    public Map<String, Integer> getLimits() {
+        Map<String, Integer> limits = new LinkedHashMap<>();
+
+        if (clientLimiter != null) {
+            limits.put(ANY_ORIGIN, clientLimiter.getLimit());
+        }
+
+        gates.forEach((origin, gate) -> {
+            if (gate.getOriginLimiter() != null) {
+                limits.put(origin, gate.getOriginLimiter().getLimit());
+            }
+        });
+
+        return limits;
+    }
+
+    /**
+     * Returns the state of the circuit breaker of each origin requested so far
+     */
+    public Map<String, CircuitStateEnum> getCircuitStates() {
+        Map<String, CircuitStateEnum> states = new LinkedHashMap<>();
+
+        gates.forEach((origin, gate) -> {
+            if (gate.getCircuitBreaker() != null) {
+                states.put(origin, gate.getCircuitBreaker().getState());
+            }
+        });
+
+        return states;
+    }
+
+    private OriginGate newGate(String origin) {
+        ConcurrencyLimiter originLimiter = maxConcurrentRequestsPerOrigin > 0 ? newLimiter(maxConcurrentRequestsPerOrigin) : null;
+        RateLimiter rateLimiter = rateLimitPerOrigin
+                ? new RateLimiter(clientParams.getRateLimit(), clientParams.getRateLimitBurst())
+                : clientRateLimiter;
+
+        HedgingPolicy hedgingPolicy = hedging
+                ? new HedgingPolicy(clientParams.getHedgingPercentile(), clientParams.getHedgingBudget())
+                : null;
+
+        CircuitBreaker circuitBreaker = circuitBreakerConfig != null ? new CircuitBreaker(circuitBreakerConfig) : null;
+
+        return new OriginGate(origin, originLimiter, clientLimiter, rateLimiter, hedgingPolicy, circuitBreaker,
+                clientParams.getMetricsRecorder());
+    }
+
+    private ConcurrencyLimiter newLimiter(int initialLimit) {
+        int min = clientParams.getMinConcurrencyLimit();
+        int max = clientParams.getMaxConcurrencyLimit();
+
+        return switch (clientParams.getLimiter()) {
+            case AIMD -> new AimdConcurrencyLimiter(initialLimit, min, max,
+                    TimeUnit.SECONDS.toNanos(clientParams.getReadTimeout()));
+            case GRADIENT -> new GradientConcurrencyLimiter(initialLimit, min, max);
+            default -> new FixedConcurrencyLimiter(initialLimit);
+        };
+    }
+
+    /**
+     * Returns the scheme://host:port of an url, the default port of the scheme is used when the port is absent
+     */
+    public static String origin(String url) {
+        int schemeEnd = url.indexOf("://");
+
+        if (schemeEnd < 0) {
+            return url;
+        }
+
+        int authorityStart = schemeEnd + 3;
+        int authorityEnd = url.length();
+
+        for (int i = authorityStart; i < url.length(); i++) {
+            char c = url.charAt(i);
+
+            if (c == '/' || c == '?' || c == '#') {
+                authorityEnd = i;
+                break;
+            }
+        }
+
+        int userInfoEnd = url.lastIndexOf('@', authorityEnd - 1);
+
+        if (userInfoEnd >= authorityStart) {
+            authorityStart = userInfoEnd + 1;
+        }
+
+        String scheme = url.substring(0, schemeEnd).toLowerCase(Locale.ROOT);
+        String authority = url.substring(authorityStart, authorityEnd).toLowerCase(Locale.ROOT);
+
+        boolean hasPort = authority.lastIndexOf(':') > authority.lastIndexOf(']');
+
+        if (hasPort) {
+            return scheme + "://" + authority;
+        }
+
+        return scheme + "://" + authority + ":" + ("https".equals(scheme) ? 443 : 80);
+    }
+
+}
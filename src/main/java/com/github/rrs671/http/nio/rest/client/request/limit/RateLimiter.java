@@ -0,0 +1,60 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket, implemented as a generic cell rate algorithm. Each request reserves its slot with a single
+ * CAS and gets back how long it has to wait for it, so the caller can schedule the request instead of sleeping.
+ * Up to burst requests are admitted at once after an idle period, then one every 1/rate seconds.
+ *
+ * @since 2.5.0
+ */
+public class RateLimiter {
+
+    private final double requestsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public RateLimiter(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Requests per second must be > 0");
+        }
+
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be > 0");
+        }
+
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - toleranceNanos);
+    }
+
+    /**
+     * Reserves the next slot and returns the nanoseconds to wait before the request may start, 0 when it may start now
+     */
+    public long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long arrival = current - now > 0 ? current : now;
+
+            if (theoreticalArrival.compareAndSet(current, arrival + intervalNanos)) {
+                return Math.max(0L, arrival - toleranceNanos - now);
+            }
+        }
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+}
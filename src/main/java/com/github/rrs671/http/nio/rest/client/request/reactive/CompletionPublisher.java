@@ -0,0 +1,216 @@
+package com.github.rrs671.http.nio.rest.client.request.reactive;
+
+import com.github.rrs671.http.nio.rest.http.Response;
+import com.github.rrs671.http.nio.rest.utils.Tuple;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A Publisher of the responses of the requests made for each item of an upstream Publisher, in completion order and
+ * keyed by their item. Items are only requested from upstream while the downstream has demand for their responses,
+ * so the requests in flight never exceed the downstream demand nor the max in flight value, and the backpressure
+ * goes end to end from the subscriber to the source of the requests.
+ * <p>
+ * Failed requests are emitted as error responses, only an upstream error terminates the subscription with onError,
+ * after the responses of the requests already in flight. Cancelling the subscription cancels the upstream, the
+ * requests already in flight are not cancelled. Each subscription subscribes the upstream again.
+ *
+ * @since 2.5.0
+ */
+public class CompletionPublisher<K, T> implements Publisher<Tuple<K, T>> {
+
+    private final Publisher<K> upstream;
+    private final Function<K, CompletableFuture<T>> submit;
+    private final int maxInFlight;
+
+    public CompletionPublisher(Publisher<K> upstream, Function<K, CompletableFuture<T>> submit, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in flight must be > 0");
+        }
+
+        this.upstream = Objects.requireNonNull(upstream);
+        this.submit = Objects.requireNonNull(submit);
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Tuple<K, T>> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        upstream.subscribe(new CompletionSubscription<>(subscriber, submit, maxInFlight));
+    }
+
+    /**
+     * Subscriber of the upstream and Subscription of the downstream. All the signals to the downstream and the requests
+     * to the upstream are made by a single drain loop at a time, entered by whichever thread signalled last.
+     */
+    private static final class CompletionSubscription<K, T> implements Subscriber<K>, Subscription {
+
+        private final Subscriber<? super Tuple<K, T>> downstream;
+        private final Function<K, CompletableFuture<T>> submit;
+        private final int maxInFlight;
+
+        private final Queue<Tuple<K, T>> completed = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private Subscription upstream;
+        private volatile boolean upstreamDone;
+        private volatile Throwable upstreamError;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // only accessed by the drain loop
+        private long emitted;
+        private long upstreamRequested;
+        private boolean terminated;
+
+        CompletionSubscription(Subscriber<? super Tuple<K, T>> downstream, Function<K, CompletableFuture<T>> submit, int maxInFlight) {
+            this.downstream = downstream;
+            this.submit = submit;
+            this.maxInFlight = maxInFlight;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            if (this.upstream != null) {
+                subscription.cancel();
+                return;
+            }
+
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(K item) {
+            if (cancelled) {
+                return;
+            }
+
+            CompletableFuture<T> future;
+
+            inFlight.incrementAndGet();
+
+            try {
+                future = submit.apply(item);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+
+            future.whenComplete((result, throwable) -> {
+                completed.offer(throwable == null
+                        ? new Tuple<>(item, new Response<>(result))
+                        : new Tuple<>(item, new Response<T>(throwable)));
+                inFlight.decrementAndGet();
+                drain();
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            upstreamError = throwable;
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Rule 3.9: request must be > 0, was " + n);
+            } else {
+                requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+
+            do {
+                if (!terminated) {
+                    drainOnce();
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainOnce() {
+            if (cancelled || invalidRequest != null) {
+                terminated = true;
+                upstream.cancel();
+                completed.clear();
+
+                if (!cancelled) {
+                    downstream.onError(invalidRequest);
+                }
+
+                return;
+            }
+
+            long demand = requested.get();
+
+            while (emitted != demand) {
+                Tuple<K, T> response = completed.poll();
+
+                if (response == null) {
+                    break;
+                }
+
+                downstream.onNext(response);
+                emitted++;
+            }
+
+            if (upstreamDone && inFlight.get() == 0 && completed.isEmpty()) {
+                terminated = true;
+
+                if (upstreamError != null) {
+                    downstream.onError(upstreamError);
+                } else {
+                    downstream.onComplete();
+                }
+
+                return;
+            }
+
+            // the items requested from upstream and not emitted yet never exceed the demand nor the max in flight
+            long allowed = Math.min(demand, emitted + maxInFlight);
+
+            if (!upstreamDone && allowed > upstreamRequested) {
+                long n = allowed - upstreamRequested;
+                upstreamRequested = allowed;
+                upstream.request(n);
+            }
+        }
+
+    }
+
+}
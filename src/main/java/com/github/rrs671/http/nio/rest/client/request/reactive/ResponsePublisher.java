@@ -0,0 +1,86 @@
+package com.github.rrs671.http.nio.rest.client.request.reactive;
+
+import com.github.rrs671.http.nio.rest.http.Response;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * A Publisher of a single request Response. The request is made for each subscription on its first demand, the
+ * Response, success or error, is emitted followed by onComplete. Cancelling the subscription does not cancel a request
+ * already made, its Response is just not emitted.
+ *
+ * @since 2.5.0
+ */
+public class ResponsePublisher<T> implements Publisher<Response<T>> {
+
+    private final Supplier<CompletableFuture<T>> request;
+
+    public ResponsePublisher(Supplier<CompletableFuture<T>> request) {
+        this.request = Objects.requireNonNull(request);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Response<T>> subscriber) {
+        Objects.requireNonNull(subscriber);
+
+        subscriber.onSubscribe(new ResponseSubscription<>(subscriber, request));
+    }
+
+    private static final class ResponseSubscription<T> implements Subscription {
+
+        private final Subscriber<? super Response<T>> subscriber;
+        private final Supplier<CompletableFuture<T>> request;
+        private final AtomicBoolean requested = new AtomicBoolean();
+
+        private volatile boolean cancelled;
+
+        ResponseSubscription(Subscriber<? super Response<T>> subscriber, Supplier<CompletableFuture<T>> request) {
+            this.subscriber = subscriber;
+            this.request = request;
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled || !requested.compareAndSet(false, true)) {
+                return;
+            }
+
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("Rule 3.9: request must be > 0, was " + n));
+                return;
+            }
+
+            CompletableFuture<T> future;
+
+            try {
+                future = request.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+
+            future.whenComplete((result, throwable) -> {
+                if (cancelled) {
+                    return;
+                }
+
+                cancelled = true;
+                subscriber.onNext(throwable == null ? new Response<>(result) : new Response<T>(throwable));
+                subscriber.onComplete();
+            });
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+    }
+
+}
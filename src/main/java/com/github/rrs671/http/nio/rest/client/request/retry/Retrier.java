@@ -0,0 +1,116 @@
+package com.github.rrs671.http.nio.rest.client.request.retry;
+
+import com.github.rrs671.http.nio.rest.client.enums.VerbsEnum;
+import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
+
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Retries the requests of a RestRequest with the policy of their verb. Each attempt is a new request that is admitted
+ * by its gate again, the backoff waits are scheduled so no thread is parked and no permit is held while waiting.
+ * Cancelling the returned future cancels the attempt in flight and the following retries.
+ *
+ * @since 2.5.0
+ */
+public class Retrier {
+
+    private final Map<VerbsEnum, RetryPolicy> policies;
+    private final Map<RetryPolicy, RetryBudget> budgets = new IdentityHashMap<>();
+
+    public Retrier(Map<VerbsEnum, RetryPolicy> policies) {
+        this.policies = new EnumMap<>(policies);
+
+        for (RetryPolicy policy : this.policies.values()) {
+            budgets.computeIfAbsent(policy, p -> new RetryBudget(p.getBudgetMaxTokens(), p.getBudgetTokenRatio()));
+        }
+    }
+
+    /**
+     * Runs the request and its retries, the first attempt is already counted as pending by the caller
+     */
+    public <T> CompletableFuture<T> execute(VerbsEnum verb, Supplier<CompletableFuture<T>> attempt) {
+        RetryPolicy policy = policies.get(verb);
+
+        if (policy == null) {
+            return attempt.get();
+        }
+
+        Retry<T> retry = new Retry<>(policy, budgets.get(policy), attempt);
+        retry.attempt(1);
+
+        return retry.result;
+    }
+
+    private static final class Retry<T> {
+
+        private final RetryPolicy policy;
+        private final RetryBudget budget;
+        private final Supplier<CompletableFuture<T>> attempt;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile CompletableFuture<T> current;
+
+        private Retry(RetryPolicy policy, RetryBudget budget, Supplier<CompletableFuture<T>> attempt) {
+            this.policy = policy;
+            this.budget = budget;
+            this.attempt = attempt;
+
+            result.whenComplete((value, throwable) -> {
+                CompletableFuture<T> inFlight = current;
+
+                if (result.isCancelled() && inFlight != null) {
+                    inFlight.cancel(true);
+                }
+            });
+        }
+
+        private void attempt(int number) {
+            CompletableFuture<T> future;
+
+            try {
+                future = attempt.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+
+            current = future;
+            future.whenComplete((value, throwable) -> completed(number, value, throwable));
+        }
+
+        private void completed(int number, T value, Throwable throwable) {
+            if (throwable == null) {
+                budget.onSuccess();
+                result.complete(value);
+                return;
+            }
+
+            Throwable failure = unwrap(throwable);
+
+            if (result.isDone() || !policy.isRetryable(failure) || !budget.onFailure() || number >= policy.getMaxAttempts()) {
+                result.completeExceptionally(failure);
+                return;
+            }
+
+            CompletableFuture.delayedExecutor(policy.backoffInMilliSeconds(number), TimeUnit.MILLISECONDS).execute(() -> {
+                if (!result.isDone()) {
+                    AsyncExecutorUtils.incrementRequest();
+                    attempt(number + 1);
+                }
+            });
+        }
+
+        private static Throwable unwrap(Throwable throwable) {
+            while (throwable instanceof CompletionException && throwable.getCause() != null) {
+                throwable = throwable.getCause();
+            }
+
+            return throwable;
+        }
+    }
+
+}
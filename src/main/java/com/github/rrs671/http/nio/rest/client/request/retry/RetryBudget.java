@@ -0,0 +1,31 @@
+package com.github.rrs671.http.nio.rest.client.request.retry;
+
+/**
+ * The token bucket throttling the retries of a policy, it starts full
+ */
+final class RetryBudget {
+
+    private final double maxTokens;
+    private final double tokenRatio;
+    private double tokens;
+
+    RetryBudget(int maxTokens, double tokenRatio) {
+        this.maxTokens = maxTokens;
+        this.tokenRatio = tokenRatio;
+        this.tokens = maxTokens;
+    }
+
+    synchronized void onSuccess() {
+        tokens = Math.min(maxTokens, tokens + tokenRatio);
+    }
+
+    /**
+     * Takes the token of a retryable failure and returns true when the retry is allowed
+     */
+    synchronized boolean onFailure() {
+        tokens = Math.max(0, tokens - 1);
+
+        return tokens > maxTokens / 2;
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.github.rrs671.http.nio.rest.client.request.retry;
+
+import com.github.rrs671.http.nio.rest.exceptions.CommunicateException;
+import com.github.rrs671.http.nio.rest.exceptions.HttpException;
+import org.springframework.http.HttpStatus;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * When and how a failed request is retried. A request is retried when it could not communicate (including timeouts)
+ * or when its status is one of the retried statuses or status classes, by default 429, 502, 503 and 504.
+ * The wait before each retry grows exponentially up to a max and is randomized between 0 and that value (full jitter).
+ * The retries are throttled by a token bucket: each retried failure takes a token, each success gives back the token ratio
+ * and no retry is made while the bucket is under half of its tokens, so a downstream failing broadly is not hit by
+ * a retry storm.
+ *
+ * @since 2.5.0
+ */
+public class RetryPolicy {
+
+    private int maxAttempts;
+    private long initialBackoffInMilliSeconds;
+    private long maxBackoffInMilliSeconds;
+    private Set<Integer> statuses;
+    private Set<HttpStatus.Series> statusClasses;
+    private boolean communicationErrors;
+    private int budgetMaxTokens;
+    private double budgetTokenRatio;
+
+    private RetryPolicy() {}
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoffInMilliSeconds() {
+        return initialBackoffInMilliSeconds;
+    }
+
+    public long getMaxBackoffInMilliSeconds() {
+        return maxBackoffInMilliSeconds;
+    }
+
+    public Set<Integer> getStatuses() {
+        return statuses;
+    }
+
+    public Set<HttpStatus.Series> getStatusClasses() {
+        return statusClasses;
+    }
+
+    public boolean isCommunicationErrors() {
+        return communicationErrors;
+    }
+
+    public int getBudgetMaxTokens() {
+        return budgetMaxTokens;
+    }
+
+    public double getBudgetTokenRatio() {
+        return budgetTokenRatio;
+    }
+
+    /**
+     * Returns true when the request failure is retried by this policy
+     */
+    public boolean isRetryable(Throwable failure) {
+        if (failure instanceof CommunicateException) {
+            return communicationErrors;
+        }
+
+        if (failure instanceof HttpException e) {
+            int status = e.getStatusCode().value();
+            HttpStatus.Series series = HttpStatus.Series.resolve(status);
+
+            return statuses.contains(status) || series != null && statusClasses.contains(series);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the milliseconds to wait before the retry following the attempt, randomized with full jitter
+     *
+     * @param attempt number of the failed attempt, from 1
+     */
+    public long backoffInMilliSeconds(int attempt) {
+        long backoff = initialBackoffInMilliSeconds << Math.min(attempt - 1, 30);
+
+        if (backoff <= 0 || backoff > maxBackoffInMilliSeconds) {
+            backoff = maxBackoffInMilliSeconds;
+        }
+
+        return ThreadLocalRandom.current().nextLong(backoff + 1);
+    }
+
+    public static RetryPolicyBuilder builder() {
+        return new RetryPolicyBuilder();
+    }
+
+    public static class RetryPolicyBuilder {
+
+        private RetryPolicyBuilder() {}
+
+        private int maxAttempts = 3;
+        private long initialBackoffInMilliSeconds = 100;
+        private long maxBackoffInMilliSeconds = 2000;
+        private final Set<Integer> statuses = new HashSet<>(Set.of(429, 502, 503, 504));
+        private final Set<HttpStatus.Series> statusClasses = EnumSet.noneOf(HttpStatus.Series.class);
+        private boolean communicationErrors = true;
+        private int budgetMaxTokens = 10;
+        private double budgetTokenRatio = 0.1;
+
+        /**
+         * Max attempts of a request including the first one, 3 by default
+         */
+        public RetryPolicyBuilder addMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Wait before the first retry, doubled for each following retry up to the max, 100 and 2000 ms by default
+         */
+        public RetryPolicyBuilder addBackoff(long initialBackoffInMilliSeconds, long maxBackoffInMilliSeconds) {
+            this.initialBackoffInMilliSeconds = initialBackoffInMilliSeconds;
+            this.maxBackoffInMilliSeconds = maxBackoffInMilliSeconds;
+            return this;
+        }
+
+        /**
+         * Also retries the responses with these statuses
+         */
+        public RetryPolicyBuilder addRetryOn(int... statuses) {
+            for (int status : statuses) {
+                this.statuses.add(status);
+            }
+
+            return this;
+        }
+
+        /**
+         * Also retries the responses of the status class, for instance {@link HttpStatus.Series#SERVER_ERROR}
+         */
+        public RetryPolicyBuilder addRetryOn(HttpStatus.Series statusClass) {
+            this.statusClasses.add(statusClass);
+            return this;
+        }
+
+        /**
+         * Retries only the given statuses, replacing the default ones
+         */
+        public RetryPolicyBuilder addRetryOnlyOn(int... statuses) {
+            this.statuses.clear();
+            return addRetryOn(statuses);
+        }
+
+        /**
+         * Retries the requests that could not communicate, including timeouts, enabled by default
+         */
+        public RetryPolicyBuilder addRetryOnCommunicationError(boolean communicationErrors) {
+            this.communicationErrors = communicationErrors;
+            return this;
+        }
+
+        /**
+         * Tokens of the retry budget and tokens given back by each success, 10 and 0.1 by default.
+         * No retry is made while fewer than half of the tokens are left
+         */
+        public RetryPolicyBuilder addBudget(int maxTokens, double tokenRatio) {
+            this.budgetMaxTokens = maxTokens;
+            this.budgetTokenRatio = tokenRatio;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            if (this.maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be >= 1");
+            }
+
+            if (this.initialBackoffInMilliSeconds < 0 || this.maxBackoffInMilliSeconds < this.initialBackoffInMilliSeconds) {
+                throw new IllegalArgumentException("Backoff must be 0 <= initial <= max");
+            }
+
+            if (this.budgetMaxTokens < 1 || this.budgetTokenRatio <= 0) {
+                throw new IllegalArgumentException("Retry budget max tokens must be >= 1 and its token ratio must be > 0");
+            }
+
+            RetryPolicy retryPolicy = new RetryPolicy();
+
+            retryPolicy.maxAttempts = this.maxAttempts;
+            retryPolicy.initialBackoffInMilliSeconds = this.initialBackoffInMilliSeconds;
+            retryPolicy.maxBackoffInMilliSeconds = this.maxBackoffInMilliSeconds;
+            retryPolicy.statuses = Set.copyOf(this.statuses);
+            retryPolicy.statusClasses = Set.copyOf(this.statusClasses);
+            retryPolicy.communicationErrors = this.communicationErrors;
+            retryPolicy.budgetMaxTokens = this.budgetMaxTokens;
+            retryPolicy.budgetTokenRatio = this.budgetTokenRatio;
+
+            return retryPolicy;
+        }
+    }
+
+}
@@ -1,30 +1,47 @@
 package com.github.rrs671.http.nio.rest.client.request.strategy.request.strategies;
 
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodecs;
+import com.github.rrs671.http.nio.rest.client.request.AsyncResponseCallback;
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGate;
 import com.github.rrs671.http.nio.rest.client.request.strategy.request.RequestStrategy;
 import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
-import com.github.rrs671.http.nio.rest.utils.ClientParams;
 import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import com.github.rrs671.http.nio.rest.utils.UrlUtils;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.springframework.web.client.RestClient;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Semaphore;
 
 public class DeleteRequestStrategy implements RequestStrategy {
 
-    public CompletableFuture<Void> deleteRequest(ExecutorService executor, Semaphore semaphore,
-                                                 RestClient restClient, RequestParams params, String url, ClientParams clientParams, boolean isScheduled) {
-        return AsyncExecutorUtils.asyncRequest(executor, semaphore, clientParams, isScheduled, () -> {
-            RestClient.RequestHeadersSpec<?> spec = restClient.delete().uri(url);
+    public CompletableFuture<Void> deleteRequest(ExecutorService executor, OriginGate gate,
+                                                 RestClient restClient, RequestParams params, String url) {
+        return AsyncExecutorUtils.idempotentRequest(executor, gate, true, () -> {
+            RestClient.RequestHeadersSpec<?> spec = UrlUtils.uri(restClient.delete(), url, params.getRoute());
 
             if (Objects.nonNull(params.getHeaders())) {
                 params.getHeaders().forEach(spec::header);
             }
 
-            spec.retrieve();
+            spec.retrieve().toBodilessEntity();
             return null;
         });
     }
 
+    public CompletableFuture<Void> deleteRequest(OriginGate gate, CloseableHttpAsyncClient asyncClient, BodyCodecs codecs,
+                                                 RequestParams params, String url) {
+        return AsyncExecutorUtils.idempotentNonBlockingRequest(gate, true, () -> {
+            SimpleRequestBuilder builder = SimpleRequestBuilder.delete(url);
+
+            if (Objects.nonNull(params.getHeaders())) {
+                params.getHeaders().forEach(builder::setHeader);
+            }
+
+            return AsyncResponseCallback.execute(asyncClient, builder.build(), params.getRoute(), Void.class, codecs);
+        });
+    }
+
 }
@@ -1,22 +1,42 @@
 package com.github.rrs671.http.nio.rest.client.request.strategy.request.strategies;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodecs;
+import com.github.rrs671.http.nio.rest.client.cache.CacheableResponse;
+import com.github.rrs671.http.nio.rest.client.request.AsyncRawResponseConsumer;
+import com.github.rrs671.http.nio.rest.client.request.AsyncResponseCallback;
+import com.github.rrs671.http.nio.rest.client.request.RawBodySink;
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGate;
 import com.github.rrs671.http.nio.rest.client.request.strategy.request.RequestStrategy;
+import com.github.rrs671.http.nio.rest.http.JsonArrayIterator;
 import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
-import com.github.rrs671.http.nio.rest.utils.ClientParams;
 import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import com.github.rrs671.http.nio.rest.utils.UrlUtils;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.http.Header;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Semaphore;
 
 public class GetRequestStrategy implements RequestStrategy {
 
-    public <T> CompletableFuture<T> getRequest(ExecutorService executor, Semaphore semaphore, RestClient restClient,
-                                               RequestParams params, Class<T> clazz, String url, ClientParams clientParams, boolean isScheduled) {
-        return AsyncExecutorUtils.asyncRequest(executor, semaphore, clientParams, isScheduled, () -> {
-            RestClient.RequestHeadersSpec<?> spec = restClient.get().uri(url);
+    private static final ResponseErrorHandler ERROR_HANDLER = new DefaultResponseErrorHandler();
+
+    public <T> CompletableFuture<T> getRequest(ExecutorService executor, OriginGate gate, RestClient restClient,
+                                               RequestParams params, Class<T> clazz, String url) {
+        return AsyncExecutorUtils.idempotentRequest(executor, gate, true, () -> {
+            RestClient.RequestHeadersSpec<?> spec = UrlUtils.uri(restClient.get(), url, params.getRoute());
 
             if (Objects.nonNull(params.getHeaders())) {
                 params.getHeaders().forEach(spec::header);
@@ -25,4 +45,129 @@ public class GetRequestStrategy implements RequestStrategy {
         });
     }
 
+    /**
+     * Streams the elements of a JSON array response body, the response stays open until the iterator is closed
+     */
+    public <T> CompletableFuture<JsonArrayIterator<T>> streamRequest(ExecutorService executor, OriginGate gate, RestClient restClient,
+                                                                     ObjectMapper objectMapper, RequestParams params, Class<T> clazz, String url) {
+        return AsyncExecutorUtils.streamingRequest(executor, gate, () -> {
+            RestClient.RequestHeadersSpec<?> spec = UrlUtils.uri(restClient.get(), url, params.getRoute());
+
+            if (Objects.isNull(params.getHeaders()) || params.getHeaders().keySet().stream().noneMatch(HttpHeaders.ACCEPT::equalsIgnoreCase)) {
+                spec.accept(MediaType.APPLICATION_JSON);
+            }
+
+            if (Objects.nonNull(params.getHeaders())) {
+                params.getHeaders().forEach(spec::header);
+            }
+
+            return spec.exchange((request, response) -> {
+                try {
+                    if (response.getStatusCode().isError()) {
+                        ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+                    }
+
+                    return new JsonArrayIterator<>(objectMapper, response.getBody(), clazz, response);
+                } catch (IOException | RuntimeException e) {
+                    response.close();
+                    throw e;
+                }
+            }, false);
+        });
+    }
+
+    /**
+     * Reads the raw response body into the sink, no message converter is involved
+     */
+    public <T> CompletableFuture<T> rawRequest(ExecutorService executor, OriginGate gate, RestClient restClient,
+                                               RequestParams params, RawBodySink<T> sink, String url) {
+        return AsyncExecutorUtils.asyncRequest(executor, gate, () -> {
+            RestClient.RequestHeadersSpec<?> spec = UrlUtils.uri(restClient.get(), url, params.getRoute());
+
+            if (Objects.nonNull(params.getHeaders())) {
+                params.getHeaders().forEach(spec::header);
+            }
+
+            return spec.exchange((request, response) -> {
+                if (response.getStatusCode().isError()) {
+                    ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+                }
+
+                try (ReadableByteChannel body = Channels.newChannel(response.getBody())) {
+                    sink.readFrom(body);
+                    return sink.complete();
+                } catch (IOException | RuntimeException e) {
+                    sink.discard();
+                    throw e;
+                }
+            });
+        });
+    }
+
+    /**
+     * Reads the status, the caching headers and the body of the response for the response cache, a 304 is not an error
+     */
+    public CompletableFuture<CacheableResponse> cacheableRequest(ExecutorService executor, OriginGate gate, RestClient restClient,
+                                                                 RequestParams params, String url) {
+        return AsyncExecutorUtils.idempotentRequest(executor, gate, true, () -> {
+            RestClient.RequestHeadersSpec<?> spec = UrlUtils.uri(restClient.get(), url, params.getRoute());
+
+            if (Objects.nonNull(params.getHeaders())) {
+                params.getHeaders().forEach(spec::header);
+            }
+
+            return spec.exchange((request, response) -> {
+                if (response.getStatusCode().isError()) {
+                    ERROR_HANDLER.handleError(request.getURI(), request.getMethod(), response);
+                }
+
+                HttpHeaders headers = response.getHeaders();
+
+                return new CacheableResponse(response.getStatusCode().value(), CacheableResponse.headers(headers::get),
+                        response.getBody().readAllBytes());
+            });
+        });
+    }
+
+    public CompletableFuture<CacheableResponse> cacheableRequest(OriginGate gate, CloseableHttpAsyncClient asyncClient,
+                                                                 RequestParams params, String url) {
+        return AsyncExecutorUtils.idempotentNonBlockingRequest(gate, true, () -> {
+            SimpleRequestBuilder builder = SimpleRequestBuilder.get(url);
+
+            if (Objects.nonNull(params.getHeaders())) {
+                params.getHeaders().forEach(builder::setHeader);
+            }
+
+            return AsyncResponseCallback.execute(asyncClient, builder.build(), params.getRoute(), response -> new CacheableResponse(response.getCode(),
+                    CacheableResponse.headers(name -> Arrays.stream(response.getHeaders(name)).map(Header::getValue).toList()),
+                    response.getBodyBytes() != null ? response.getBodyBytes() : new byte[0]));
+        });
+    }
+
+    public <T> CompletableFuture<T> rawRequest(OriginGate gate, CloseableHttpAsyncClient asyncClient, RequestParams params,
+                                               RawBodySink<T> sink, String url) {
+        return AsyncExecutorUtils.nonBlockingRequest(gate, () -> {
+            SimpleRequestBuilder builder = SimpleRequestBuilder.get(url);
+
+            if (Objects.nonNull(params.getHeaders())) {
+                params.getHeaders().forEach(builder::setHeader);
+            }
+
+            return AsyncRawResponseConsumer.execute(asyncClient, builder.build(), params.getRoute(), sink);
+        });
+    }
+
+    public <T> CompletableFuture<T> getRequest(OriginGate gate, CloseableHttpAsyncClient asyncClient, BodyCodecs codecs,
+                                               RequestParams params, Class<T> clazz, String url) {
+        return AsyncExecutorUtils.idempotentNonBlockingRequest(gate, true, () -> {
+            SimpleRequestBuilder builder = SimpleRequestBuilder.get(url);
+
+            if (Objects.nonNull(params.getHeaders())) {
+                params.getHeaders().forEach(builder::setHeader);
+            }
+
+            return AsyncResponseCallback.execute(asyncClient, builder.build(), params.getRoute(), clazz, codecs);
+        });
+    }
+
 }
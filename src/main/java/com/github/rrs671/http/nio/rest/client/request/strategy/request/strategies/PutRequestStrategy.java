@@ -1,22 +1,31 @@
 package com.github.rrs671.http.nio.rest.client.request.strategy.request.strategies;
 
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodecs;
+import com.github.rrs671.http.nio.rest.client.request.AsyncResponseCallback;
+import com.github.rrs671.http.nio.rest.client.request.BodySourceProducer;
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGate;
 import com.github.rrs671.http.nio.rest.client.request.strategy.request.RequestStrategy;
+import com.github.rrs671.http.nio.rest.http.BodySource;
+import com.github.rrs671.http.nio.rest.http.ByteBufferPool;
 import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
-import com.github.rrs671.http.nio.rest.utils.ClientParams;
+import com.github.rrs671.http.nio.rest.utils.BodyUtils;
 import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import com.github.rrs671.http.nio.rest.utils.UrlUtils;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.http.ContentType;
 import org.springframework.web.client.RestClient;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Semaphore;
 
 public class PutRequestStrategy implements RequestStrategy {
 
-    public <T, R> CompletableFuture<T> putRequest(ExecutorService executor, Semaphore semaphore, RestClient restClient,
-                                                  RequestParams params, R body, Class<T> clazz, String url, ClientParams clientParams, boolean isScheduled) {
-        return AsyncExecutorUtils.asyncRequest(executor, semaphore, clientParams, isScheduled, () -> {
-            RestClient.RequestBodySpec spec = restClient.put().uri(url);
+    public <T, R> CompletableFuture<T> putRequest(ExecutorService executor, OriginGate gate, RestClient restClient,
+                                                  RequestParams params, R body, Class<T> clazz, String url) {
+        return AsyncExecutorUtils.idempotentRequest(executor, gate, BodyUtils.isRepeatable(body), () -> {
+            RestClient.RequestBodySpec spec = UrlUtils.uri(restClient.put(), url, params.getRoute());
 
             if (Objects.nonNull(params.getHeaders())) {
                 params.getHeaders().forEach(spec::header);
@@ -26,4 +35,39 @@ public class PutRequestStrategy implements RequestStrategy {
         });
     }
 
+    public <T, R> CompletableFuture<T> putRequest(OriginGate gate, CloseableHttpAsyncClient asyncClient, BodyCodecs codecs,
+                                                   RequestParams params, R body, Class<T> clazz, String url) {
+        return AsyncExecutorUtils.idempotentNonBlockingRequest(gate, BodyUtils.isRepeatable(body), () -> {
+            SimpleRequestBuilder builder = SimpleRequestBuilder.put(url);
+
+            if (Objects.nonNull(params.getHeaders())) {
+                params.getHeaders().forEach(builder::setHeader);
+            }
+
+            ContentType contentType = BodyUtils.contentType(body, params.getHeaders());
+            builder.setBody(BodyUtils.encode(body, codecs.forMediaType(contentType.getMimeType())), contentType);
+
+            return AsyncResponseCallback.execute(asyncClient, builder.build(), params.getRoute(), clazz, codecs);
+        });
+    }
+
+    /**
+     * Put of a body streamed from its source while the request is sent. The RestClient transports stream it
+     * with its message converter from putRequest
+     */
+    public <T> CompletableFuture<T> uploadRequest(OriginGate gate, CloseableHttpAsyncClient asyncClient, BodyCodecs codecs,
+                                                  ByteBufferPool bufferPool, RequestParams params, BodySource body, Class<T> clazz, String url) {
+        return AsyncExecutorUtils.nonBlockingRequest(gate, () -> {
+            SimpleRequestBuilder builder = SimpleRequestBuilder.put(url);
+
+            if (Objects.nonNull(params.getHeaders())) {
+                params.getHeaders().forEach(builder::setHeader);
+            }
+
+            BodySourceProducer producer = new BodySourceProducer(body, codecs.getObjectMapper(), bufferPool);
+
+            return AsyncResponseCallback.execute(asyncClient, builder.build(), params.getRoute(), producer, clazz, codecs);
+        });
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.github.rrs671.http.nio.rest.exceptions;
+
+/**
+ * The request was not sent because the circuit breaker of its origin is open. It has no stack trace,
+ * so failing fast stays cheap
+ *
+ * @since 2.5.0
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private final String origin;
+
+    public CircuitOpenException(String origin) {
+        super("Circuit breaker of " + origin + " is open", null, false, false);
+        this.origin = origin;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+}
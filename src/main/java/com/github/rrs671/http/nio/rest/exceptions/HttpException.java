@@ -19,6 +19,12 @@ public class HttpException extends RuntimeException {
         this.statusCode = e.getStatusCode();
     }
 
+    public HttpException(HttpStatusCode statusCode, String message) {
+        super();
+        this.message = message;
+        this.statusCode = statusCode;
+    }
+
     public String getMessage() {
         return this.message;
     }
@@ -1,45 +1,219 @@
 package com.github.rrs671.http.nio.rest.handlers.rest;
 
+import com.github.rrs671.http.nio.rest.client.jfr.HandlerDispatchEvent;
+import com.github.rrs671.http.nio.rest.client.request.RestRequest;
+import com.github.rrs671.http.nio.rest.exceptions.ProcessException;
 import com.github.rrs671.http.nio.rest.handlers.rest.response.ResponseHandler;
 import com.github.rrs671.http.nio.rest.http.AsyncRequest;
+import com.github.rrs671.http.nio.rest.http.Response;
 import com.github.rrs671.http.nio.rest.utils.AsyncExecutorUtils;
 
 import java.util.Map;
-import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
-public abstract class RestHandler<K, T> {
+/***
+ * Base class of the rest jobs. Each request future feeds the ResponseHandler directly when it completes,
+ * there is no polling and no worker thread while the job is idle.
+ * A job must be closed to release its RestRequest, use shutdown and awaitTermination to wait the requests in flight.
+ * @param <K> key from requests
+ * @param <T> data return type
+ * @since 2.4.0
+ */
+public abstract class RestHandler<K, T> implements AutoCloseable {
 
+    private final AtomicLong pendingRequests = new AtomicLong();
+    private final CompletableFuture<Void> terminated = new CompletableFuture<>();
+
+    private volatile boolean shutdown;
+
+    private RestRequest restRequest;
+    private ResponseHandler<K, T> responseHandler;
+
+    protected void registerResponseHandler(RestRequest restRequest, ResponseHandler<K, T> responseHandler) {
+        this.restRequest = restRequest;
+        this.responseHandler = responseHandler;
+    }
+
+    /**
+     * @deprecated use {@link #registerResponseHandler(RestRequest, ResponseHandler)} and {@link #dispatch}. The
+     * requests offered to the queue are taken by the workers of the ResponseHandler and delivered when they complete,
+     * as the dispatched ones.
+     */
+    @Deprecated(since = "2.5.0")
     protected void registerResponseHandler(Queue<Map.Entry<K, AsyncRequest<T>>> pendingAsyncRequests, ResponseHandler<K, T> responseHandler) {
         startResponseProcessing(pendingAsyncRequests, responseHandler, responseHandler.getInactiveTimeInSeconds(), responseHandler.getWorkers());
     }
 
+    /**
+     * @deprecated use {@link #registerResponseHandler(RestRequest, ResponseHandler)} and {@link #dispatch}. The workers
+     * wait on a BlockingQueue, other queues are polled every inactiveTimeInSeconds. They stop once the job is shutdown
+     * and the queue is empty.
+     */
+    @Deprecated(since = "2.5.0")
     protected void startResponseProcessing(Queue<Map.Entry<K, AsyncRequest<T>>> pendingAsyncRequests, ResponseHandler<K, T> responseHandler,
-                                        int inactiveTimeInSeconds, int workers) {
+                                           int inactiveTimeInSeconds, int workers) {
+        this.responseHandler = responseHandler;
+
         ExecutorService executor = AsyncExecutorUtils.getGlobalExecutorInstance();
+        long waitMillis = inactiveTimeInSeconds > 0 ? inactiveTimeInSeconds * 1000L : 100L;
 
-        for (int i = 0; i < workers; i++) {
-            CompletableFuture.runAsync(() -> {
-                while (true) {
-                    if (pendingAsyncRequests.isEmpty()) {
-                        try {
-                            Thread.sleep(inactiveTimeInSeconds * 1000L);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-
-                        continue;
-                    }
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            executor.execute(() -> takeRequests(pendingAsyncRequests, waitMillis));
+        }
+    }
 
-                    Map.Entry<K, AsyncRequest<T>> requestEntry = pendingAsyncRequests.poll();
+    private void takeRequests(Queue<Map.Entry<K, AsyncRequest<T>>> pendingAsyncRequests, long waitMillis) {
+        while (!shutdown || !pendingAsyncRequests.isEmpty()) {
+            // counted before it leaves the queue, so the job does not terminate in between
+            pendingRequests.incrementAndGet();
 
-                    if (Objects.nonNull(requestEntry)) {
-                        executor.submit(() -> responseHandler.addResponse(requestEntry.getKey(), requestEntry.getValue().getResponse()));
+            Map.Entry<K, AsyncRequest<T>> requestEntry;
+
+            try {
+                if (pendingAsyncRequests instanceof BlockingQueue<Map.Entry<K, AsyncRequest<T>>> blockingQueue) {
+                    requestEntry = blockingQueue.poll(waitMillis, TimeUnit.MILLISECONDS);
+                } else {
+                    requestEntry = pendingAsyncRequests.poll();
+
+                    if (requestEntry == null) {
+                        Thread.sleep(waitMillis);
                     }
                 }
-            }, executor);
+            } catch (InterruptedException e) {
+                requestDone();
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (requestEntry == null) {
+                requestDone();
+                continue;
+            }
+
+            deliver(requestEntry.getKey(), requestEntry.getValue().toCompletableFuture());
+        }
+    }
+
+    /**
+     * Starts a request and delivers its response to the ResponseHandler when it completes. Fails when the job is shutdown.
+     */
+    protected void dispatch(K key, Supplier<AsyncRequest<T>> request) {
+        pendingRequests.incrementAndGet();
+
+        if (shutdown) {
+            requestDone();
+            throw new ProcessException("Rest handler is shutdown");
+        }
+
+        CompletableFuture<T> future;
+
+        try {
+            future = request.get().toCompletableFuture();
+        } catch (RuntimeException e) {
+            requestDone();
+            throw e;
+        }
+
+        deliver(key, future);
+    }
+
+    /**
+     * Delivers the response to the ResponseHandler when the counted request completes
+     */
+    private void deliver(K key, CompletableFuture<T> future) {
+        future.whenComplete((result, throwable) -> {
+            Response<T> response = throwable == null ? new Response<>(result) : new Response<>(throwable);
+            HandlerDispatchEvent event = new HandlerDispatchEvent();
+            event.begin();
+
+            try {
+                responseHandler.addResponse(key, response);
+            } finally {
+                event.end();
+
+                if (event.shouldCommit()) {
+                    event.handler = responseHandler.getClass().getName();
+                    event.success = response.isSuccess();
+                    event.status = response.isHttpResponseError() ? response.getErrorStatusCode().value() : 0;
+                    event.commit();
+                }
+
+                requestDone();
+            }
+        });
+    }
+
+    private void requestDone() {
+        if (pendingRequests.decrementAndGet() == 0L && shutdown) {
+            terminated.complete(null);
+        }
+    }
+
+    /**
+     * Returns the number of requests in flight
+     */
+    public long getPendingRequests() {
+        return pendingRequests.get();
+    }
+
+    /**
+     * Returns the number of responses delivered to the ResponseHandler and not consumed yet
+     *
+     * @since 2.5.0
+     */
+    public int getQueuedResponses() {
+        return responseHandler != null ? responseHandler.getQueuedResponses() : 0;
+    }
+
+    /**
+     * Stops accepting new requests, the requests in flight are still delivered to the ResponseHandler
+     */
+    public void shutdown() {
+        shutdown = true;
+
+        if (pendingRequests.get() == 0L) {
+            terminated.complete(null);
+        }
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Waits the requests in flight after a shutdown
+     *
+     * @return true if all requests were delivered to the ResponseHandler, false if the timeout elapsed
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            terminated.get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            throw new ProcessException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Shutdowns the job and closes its RestRequest, requests still in flight on the pooled transports are aborted.
+     * Call shutdown and awaitTermination first to deliver them to the ResponseHandler
+     */
+    @Override
+    public void close() {
+        shutdown();
+
+        if (restRequest != null) {
+            restRequest.close();
         }
     }
 
@@ -4,15 +4,9 @@ import com.github.rrs671.http.nio.rest.client.NioRestClient;
 import com.github.rrs671.http.nio.rest.client.request.RestRequest;
 import com.github.rrs671.http.nio.rest.handlers.rest.RestHandler;
 import com.github.rrs671.http.nio.rest.handlers.rest.response.ResponseHandler;
-import com.github.rrs671.http.nio.rest.http.AsyncRequest;
 import com.github.rrs671.http.nio.rest.utils.ClientParams;
 import com.github.rrs671.http.nio.rest.utils.RequestParams;
 
-import java.util.AbstractMap;
-import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
-
 /***
  * A class designed to create a delete rest job.
  * using this class is possible to create multiples GET Requests and receive the
@@ -23,21 +17,17 @@ import java.util.concurrent.LinkedBlockingQueue;
  */
 public class GetRestHandler<K, T> extends RestHandler<K, T> {
 
-    private final Queue<Map.Entry<K, AsyncRequest<T>>> pendingAsyncRequests;
-
     private final RestRequest restRequest;
     private final Class<T> clazz;
 
     public GetRestHandler(NioRestClient client, ClientParams clientParams, ResponseHandler<K, T> responseHandler, Class<T> clazz) {
         this.clazz = clazz;
         this.restRequest = client.rest(clientParams);
-        this.pendingAsyncRequests = new LinkedBlockingQueue<>();
-        super.registerResponseHandler(pendingAsyncRequests, responseHandler);
+        super.registerResponseHandler(restRequest, responseHandler);
     }
 
     public void doGet(K key, RequestParams requestParams) {
-        AsyncRequest<T> asyncRequest = restRequest.get(requestParams, clazz);
-        pendingAsyncRequests.offer(new AbstractMap.SimpleEntry<>(key, asyncRequest));
+        dispatch(key, () -> restRequest.get(requestParams, clazz));
     }
 
 }
\ No newline at end of file
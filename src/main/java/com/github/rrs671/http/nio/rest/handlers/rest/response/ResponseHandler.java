@@ -4,17 +4,51 @@ import com.github.rrs671.http.nio.rest.http.Response;
 import com.github.rrs671.http.nio.rest.utils.Tuple;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public interface ResponseHandler<K, T> {
 
+    /**
+     * Called by the Rest Handler when a request completes, possibly from a transport I/O thread, it must not block.
+     */
     void addResponse(K key, Response<T> response);
 
     boolean hasResponse();
 
     Optional<Tuple<K, T>> consume();
 
-    int getInactiveTimeInSeconds();
-
-    int getWorkers();
+    /**
+     * Waits up to the timeout for a response
+     *
+     * @since 2.5.0
+     */
+    default Optional<Tuple<K, T>> consume(long timeout, TimeUnit unit) throws InterruptedException {
+        return consume();
+    }
+
+    /**
+     * Returns the number of responses waiting to be consumed, 0 when the handler does not keep them
+     *
+     * @since 2.5.0
+     */
+    default int getQueuedResponses() {
+        return 0;
+    }
+
+    /**
+     * @deprecated responses are delivered when the requests complete, there is no polling anymore
+     */
+    @Deprecated(since = "2.5.0")
+    default int getInactiveTimeInSeconds() {
+        return 0;
+    }
+
+    /**
+     * @deprecated responses are delivered when the requests complete, there are no workers anymore
+     */
+    @Deprecated(since = "2.5.0")
+    default int getWorkers() {
+        return 0;
+    }
 
 }
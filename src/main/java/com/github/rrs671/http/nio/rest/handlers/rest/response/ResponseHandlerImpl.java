@@ -4,7 +4,9 @@ import com.github.rrs671.http.nio.rest.http.Response;
 import com.github.rrs671.http.nio.rest.utils.Tuple;
 
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /***
  * A class designed to recovery asynchronously requests response from a Rest Handle.
@@ -14,10 +16,18 @@ import java.util.concurrent.LinkedBlockingQueue;
  */
 public class ResponseHandlerImpl<K, T> implements ResponseHandler<K,T> {
 
-    private final Queue<Map.Entry<K, Response<T>>> readyRequests;
+    private final BlockingQueue<Map.Entry<K, Response<T>>> readyRequests;
     private final int inactiveTimeInSeconds;
     private final int workers;
 
+    public ResponseHandlerImpl() {
+        this(0, 0);
+    }
+
+    /**
+     * @deprecated inactive time and workers are no longer used, use {@link #ResponseHandlerImpl()}
+     */
+    @Deprecated(since = "2.5.0")
     public ResponseHandlerImpl(int inactiveTimeInSeconds, int workers) {
         readyRequests = new LinkedBlockingQueue<>();
         this.inactiveTimeInSeconds = inactiveTimeInSeconds;
@@ -36,8 +46,20 @@ public class ResponseHandlerImpl<K, T> implements ResponseHandler<K,T> {
 
     @Override
     public Optional<Tuple<K, T>> consume() {
-        Map.Entry<K, Response<T>> polled = readyRequests.poll();
+        return toTuple(readyRequests.poll());
+    }
+
+    @Override
+    public Optional<Tuple<K, T>> consume(long timeout, TimeUnit unit) throws InterruptedException {
+        return toTuple(readyRequests.poll(timeout, unit));
+    }
+
+    @Override
+    public int getQueuedResponses() {
+        return readyRequests.size();
+    }
 
+    private Optional<Tuple<K, T>> toTuple(Map.Entry<K, Response<T>> polled) {
         if (Objects.isNull(polled)) {
             return Optional.empty();
         }
@@ -46,11 +68,13 @@ public class ResponseHandlerImpl<K, T> implements ResponseHandler<K,T> {
     }
 
     @Override
+    @Deprecated(since = "2.5.0")
     public int getInactiveTimeInSeconds() {
         return inactiveTimeInSeconds;
     }
 
     @Override
+    @Deprecated(since = "2.5.0")
     public int getWorkers() {
         return workers;
     }
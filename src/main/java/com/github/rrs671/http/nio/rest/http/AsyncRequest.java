@@ -21,6 +21,15 @@ public class AsyncRequest<T> {
         return ResponseUtils.getResult(this.future);
     }
 
+    /**
+     * Returns a future completed with the Response when the request completes, without blocking any thread
+     *
+     * @since 2.5.0
+     */
+    public CompletableFuture<Response<T>> getResponseAsync() {
+        return this.future.handle((result, throwable) -> throwable == null ? new Response<>(result) : new Response<T>(throwable));
+    }
+
     public CompletableFuture<T> toCompletableFuture() {
         return this.future;
     }
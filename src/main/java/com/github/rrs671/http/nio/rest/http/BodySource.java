@@ -0,0 +1,289 @@
+package com.github.rrs671.http.nio.rest.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.rrs671.http.nio.rest.exceptions.ProcessException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * Request body streamed while the request is sent, instead of being serialized up front, so uploads run with
+ * constant memory whatever their size. A BodySource can be used as the body of a POST, PUT or PATCH.
+ * Files can be sent more than once, the channel and elements sources are consumed by the first request and
+ * the channels are closed once sent.
+ *
+ * @since 2.5.0
+ */
+public abstract class BodySource {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final String contentType;
+
+    private BodySource(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public static BodySource of(Path file) {
+        return of(file, "application/octet-stream");
+    }
+
+    public static BodySource of(Path file, String contentType) {
+        return new FileSource(file, contentType);
+    }
+
+    public static BodySource of(ReadableByteChannel channel) {
+        return of(channel, "application/octet-stream");
+    }
+
+    public static BodySource of(ReadableByteChannel channel, String contentType) {
+        return new ChannelSource(channel, contentType);
+    }
+
+    /**
+     * Elements serialized one at a time as the items of a JSON array
+     */
+    public static <T> BodySource jsonArray(Iterator<T> elements) {
+        return new ElementsSource(elements, "application/json", false);
+    }
+
+    /**
+     * Elements serialized one at a time as newline delimited JSON
+     */
+    public static <T> BodySource ndjson(Iterator<T> elements) {
+        return new ElementsSource(elements, APPLICATION_NDJSON, true);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the body size in bytes, or -1 when it is not known and the body is sent chunked
+     */
+    public long getContentLength() {
+        return -1;
+    }
+
+    public boolean isRepeatable() {
+        return false;
+    }
+
+    /**
+     * Writes the body to the request stream of the blocking transports
+     */
+    public abstract void writeTo(OutputStream out, ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Opens the body as a channel read by the non-blocking transport
+     */
+    public abstract ReadableByteChannel open(ObjectMapper objectMapper) throws IOException;
+
+    private static void transfer(FileChannel file, long position, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        long size = file.size();
+
+        while (position < size) {
+            position += file.transferTo(position, size - position, target);
+        }
+    }
+
+    private static class FileSource extends BodySource {
+
+        private final Path file;
+
+        private FileSource(Path file, String contentType) {
+            super(contentType);
+            this.file = file;
+        }
+
+        @Override
+        public long getContentLength() {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                throw new ProcessException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public void writeTo(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                transfer(channel, 0, out);
+            }
+        }
+
+        @Override
+        public ReadableByteChannel open(ObjectMapper objectMapper) throws IOException {
+            return FileChannel.open(file, StandardOpenOption.READ);
+        }
+
+    }
+
+    private static class ChannelSource extends BodySource {
+
+        private final ReadableByteChannel channel;
+
+        private ChannelSource(ReadableByteChannel channel, String contentType) {
+            super(contentType);
+            this.channel = channel;
+        }
+
+        @Override
+        public void writeTo(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            try (channel) {
+                if (channel instanceof FileChannel file) {
+                    transfer(file, file.position(), out);
+                } else {
+                    Channels.newInputStream(channel).transferTo(out);
+                }
+            }
+        }
+
+        @Override
+        public ReadableByteChannel open(ObjectMapper objectMapper) {
+            return channel;
+        }
+
+    }
+
+    private static class ElementsSource extends BodySource {
+
+        private final Iterator<?> elements;
+        private final boolean newlineDelimited;
+
+        private ElementsSource(Iterator<?> elements, String contentType, boolean newlineDelimited) {
+            super(contentType);
+            this.elements = elements;
+            this.newlineDelimited = newlineDelimited;
+        }
+
+        @Override
+        public void writeTo(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            ObjectWriter writer = writer(objectMapper).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            boolean written = false;
+
+            try (SequenceWriter sequence = sequence(writer, out)) {
+                while (elements.hasNext()) {
+                    sequence.write(elements.next());
+                    written = true;
+                }
+            }
+
+            if (newlineDelimited && written) {
+                out.write('\n');
+            }
+        }
+
+        @Override
+        public ReadableByteChannel open(ObjectMapper objectMapper) throws IOException {
+            return new ElementsChannel(writer(objectMapper).with(SerializationFeature.FLUSH_AFTER_WRITE_VALUE));
+        }
+
+        private ObjectWriter writer(ObjectMapper objectMapper) {
+            ObjectWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.INDENT_OUTPUT)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            return newlineDelimited ? writer.withRootValueSeparator("\n") : writer;
+        }
+
+        private SequenceWriter sequence(ObjectWriter writer, OutputStream out) throws IOException {
+            return newlineDelimited ? writer.writeValues(out) : writer.writeValuesAsArray(out);
+        }
+
+        /**
+         * Serializes the next element when the previous one is read, the pending bytes buffer grows to the largest
+         * element and is reused
+         */
+        private class ElementsChannel implements ReadableByteChannel {
+
+            private final PendingBytes pending = new PendingBytes();
+            private final SequenceWriter sequence;
+            private boolean written;
+            private boolean finished;
+            private boolean open = true;
+            private int position;
+
+            private ElementsChannel(ObjectWriter writer) throws IOException {
+                this.sequence = sequence(writer, pending);
+            }
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                if (!open) {
+                    throw new ClosedChannelException();
+                }
+
+                while (position == pending.size()) {
+                    if (finished) {
+                        return -1;
+                    }
+
+                    pending.reset();
+                    position = 0;
+
+                    if (elements.hasNext()) {
+                        sequence.write(elements.next());
+                        written = true;
+                    } else {
+                        sequence.close();
+                        finished = true;
+
+                        if (newlineDelimited && written) {
+                            pending.write('\n');
+                        }
+                    }
+                }
+
+                int length = Math.min(dst.remaining(), pending.size() - position);
+
+                dst.put(pending.bytes(), position, length);
+                position += length;
+
+                return length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void close() {
+                open = false;
+            }
+
+        }
+
+    }
+
+    private static class PendingBytes extends ByteArrayOutputStream {
+
+        private byte[] bytes() {
+            return buf;
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.github.rrs671.http.nio.rest.http;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct buffers of a fixed size used to hold raw response bodies off the heap.
+ * Released buffers are kept up to maxPooledBuffers and reused, the buffers over that limit are left to the GC.
+ *
+ * @since 2.5.0
+ */
+public class ByteBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooledBuffers;
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledBuffers = new AtomicInteger();
+
+    public ByteBufferPool(int bufferSize, int maxPooledBuffers) {
+        if (bufferSize <= 0 || maxPooledBuffers < 0) {
+            throw new IllegalArgumentException("Buffer size must be > 0 and max pooled buffers must be >= 0");
+        }
+
+        this.bufferSize = bufferSize;
+        this.maxPooledBuffers = maxPooledBuffers;
+    }
+
+    /**
+     * Returns a cleared buffer of the pool buffer size, allocated when the pool is empty
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        pooledBuffers.decrementAndGet();
+
+        return buffer.clear();
+    }
+
+    /**
+     * Returns a buffer to the pool, it must not be used after its release
+     */
+    public void release(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+
+        if (pooledBuffers.incrementAndGet() > maxPooledBuffers) {
+            pooledBuffers.decrementAndGet();
+            return;
+        }
+
+        buffers.offer(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getPooledBuffers() {
+        return pooledBuffers.get();
+    }
+
+}
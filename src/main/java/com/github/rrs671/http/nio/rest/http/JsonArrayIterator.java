@@ -0,0 +1,176 @@
+package com.github.rrs671.http.nio.rest.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.rrs671.http.nio.rest.exceptions.CommunicateException;
+import com.github.rrs671.http.nio.rest.exceptions.ProcessException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates the elements of a JSON array response body while it is read. Each element is bound when it is requested,
+ * so the memory used is proportional to one element and not to the whole body.
+ * The response is released when the array ends, on the first error or on close, it must be closed when the iteration
+ * is not completed.
+ *
+ * @since 2.5.0
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private final Closeable response;
+
+    private Runnable onClose;
+    private boolean ready;
+    private boolean finished;
+    private boolean closed;
+
+    public JsonArrayIterator(ObjectMapper objectMapper, InputStream body, Class<T> clazz, Closeable response) {
+        this.response = response;
+        this.reader = objectMapper.readerFor(clazz);
+
+        try {
+            this.parser = objectMapper.createParser(body);
+
+            JsonToken token = parser.nextToken();
+
+            if (token == null) {
+                close();
+            } else if (token != JsonToken.START_ARRAY) {
+                throw new ProcessException("Response body is not a JSON array, found " + token);
+            }
+        } catch (IOException e) {
+            closeQuietly();
+            throw failure(e);
+        } catch (RuntimeException e) {
+            closeQuietly();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished) {
+            return false;
+        }
+
+        if (ready) {
+            return true;
+        }
+
+        try {
+            JsonToken token = parser.nextToken();
+
+            if (token == null || token == JsonToken.END_ARRAY) {
+                close();
+                return false;
+            }
+        } catch (IOException e) {
+            closeQuietly();
+            throw failure(e);
+        }
+
+        ready = true;
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        ready = false;
+
+        try {
+            return reader.readValue(parser);
+        } catch (IOException e) {
+            closeQuietly();
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Returns the Stream view of the remaining elements, closing the stream closes this iterator
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Registers an action run once when the iterator is closed, after the response is released
+     */
+    public synchronized void onClose(Runnable action) {
+        if (closed) {
+            action.run();
+            return;
+        }
+
+        Runnable previous = onClose;
+        onClose = previous == null ? action : () -> {
+            previous.run();
+            action.run();
+        };
+    }
+
+    @Override
+    public void close() {
+        Runnable action;
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            finished = true;
+            action = onClose;
+            onClose = null;
+        }
+
+        try {
+            if (parser != null) {
+                parser.close();
+            }
+
+            response.close();
+        } catch (IOException e) {
+            throw new CommunicateException(e.getMessage(), e);
+        } finally {
+            if (action != null) {
+                action.run();
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (RuntimeException e) {
+            // the original failure is reported
+        }
+    }
+
+    private static RuntimeException failure(IOException e) {
+        if (e instanceof JsonProcessingException) {
+            return new ProcessException(e.getMessage());
+        }
+
+        return new CommunicateException(e.getMessage(), e);
+    }
+
+}
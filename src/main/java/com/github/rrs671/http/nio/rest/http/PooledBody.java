@@ -0,0 +1,100 @@
+package com.github.rrs671.http.nio.rest.http;
+
+import com.github.rrs671.http.nio.rest.exceptions.CommunicateException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Raw response body held in pooled direct buffers, it is not copied to the heap nor decoded.
+ * The buffers are ready to be read and belong to the pool, they must not be used after {@link #release()},
+ * the body must be released (or closed) once it is consumed so its buffers are reused by the next responses.
+ *
+ * @since 2.5.0
+ */
+public class PooledBody implements AutoCloseable {
+
+    private final List<ByteBuffer> buffers;
+    private final ByteBufferPool pool;
+    private final long size;
+    private boolean released;
+
+    public PooledBody(List<ByteBuffer> buffers, ByteBufferPool pool) {
+        this.buffers = buffers;
+        this.pool = pool;
+
+        long remaining = 0;
+
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+
+        this.size = remaining;
+    }
+
+    /**
+     * Returns the buffers of the body in order
+     */
+    public List<ByteBuffer> getBuffers() {
+        checkNotReleased();
+
+        return Collections.unmodifiableList(buffers);
+    }
+
+    /**
+     * Returns the body size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes the whole body to the channel, the buffers positions are kept so the body can be written again
+     */
+    public long writeTo(WritableByteChannel channel) {
+        checkNotReleased();
+
+        try {
+            for (ByteBuffer buffer : buffers) {
+                int position = buffer.position();
+
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+
+                buffer.position(position);
+            }
+        } catch (IOException e) {
+            throw new CommunicateException(e.getMessage(), e);
+        }
+
+        return size;
+    }
+
+    /**
+     * Returns the buffers to the pool, calling it more than once has no effect
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+
+        released = true;
+        buffers.forEach(pool::release);
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    private synchronized void checkNotReleased() {
+        if (released) {
+            throw new IllegalStateException("Body already released");
+        }
+    }
+
+}
@@ -1,10 +1,13 @@
 package com.github.rrs671.http.nio.rest.http;
 
+import com.github.rrs671.http.nio.rest.exceptions.CircuitOpenException;
 import com.github.rrs671.http.nio.rest.exceptions.HttpException;
 import com.github.rrs671.http.nio.rest.exceptions.ResponseException;
 import org.springframework.http.HttpStatusCode;
 
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * This classes represents the request response. To have a more safety, use also the ResponseUtils class.
@@ -22,6 +25,7 @@ public class Response<T> {
 
     private HttpStatusCode statusCode;
     private String message;
+    private boolean circuitOpen;
 
     public Response(T result) {
         this.result = result;
@@ -29,22 +33,16 @@ public class Response<T> {
     }
 
     public Response(Throwable throwable) {
-        if (throwable.getCause() != null && throwable.getCause().getCause() != null) {
-            message = throwable.getCause().getCause().getMessage();
-        } else if (throwable.getCause() != null) {
-            message = throwable.getCause().getMessage();
-        } else {
-            message = throwable.getMessage();
-        }
+        Throwable cause = unwrap(throwable);
+
+        message = cause.getMessage() != null ? cause.getMessage() : cause.toString();
 
-        if (throwable instanceof HttpException) {
-            statusCode = extractStatusCode(throwable);
-        } else if (throwable.getCause() instanceof HttpException) {
-            statusCode = extractStatusCode(throwable);
-        } else if (throwable.getCause().getCause() instanceof HttpException) {
-            statusCode = extractStatusCode(throwable.getCause());
+        if (cause instanceof HttpException httpException) {
+            statusCode = httpException.getStatusCode();
         }
 
+        circuitOpen = cause instanceof CircuitOpenException;
+
         result = null;
         success = false;
     }
@@ -77,6 +75,15 @@ public class Response<T> {
         return statusCode != null;
     }
 
+    /**
+     * Returns true when the request was not sent because the circuit breaker of its origin is open
+     *
+     * @since 2.5.0
+     */
+    public boolean isCircuitOpen() {
+        return circuitOpen;
+    }
+
     public boolean isSuccess() {
         return success;
     }
@@ -85,12 +92,14 @@ public class Response<T> {
         return !success;
     }
 
-    private HttpStatusCode extractStatusCode(Throwable throwable) {
-        if (throwable instanceof HttpException httpException) {
-            return httpException.getStatusCode();
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
         }
 
-        return ((HttpException) throwable.getCause()).getStatusCode();
+        return cause;
     }
 
 }
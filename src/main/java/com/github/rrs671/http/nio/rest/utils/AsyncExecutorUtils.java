@@ -1,15 +1,25 @@
 package com.github.rrs671.http.nio.rest.utils;
 
+import com.github.rrs671.http.nio.rest.client.request.AsyncRequestExecutor;
 import com.github.rrs671.http.nio.rest.client.request.RequestExecutor;
+import com.github.rrs671.http.nio.rest.client.request.limit.HedgingPolicy;
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGate;
+import com.github.rrs671.http.nio.rest.exceptions.CircuitOpenException;
 import com.github.rrs671.http.nio.rest.exceptions.CommunicateException;
 import com.github.rrs671.http.nio.rest.exceptions.HttpException;
 import com.github.rrs671.http.nio.rest.exceptions.ProcessException;
 import com.github.rrs671.http.nio.rest.http.AsyncRequest;
+import com.github.rrs671.http.nio.rest.http.JsonArrayIterator;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.ResourceAccessException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public abstract class AsyncExecutorUtils {
 
@@ -34,54 +44,381 @@ public abstract class AsyncExecutorUtils {
         unprocessedRequests.incrementAndGet();
     }
 
-    public static <T> CompletableFuture<T> asyncRequest(ExecutorService executorService, Semaphore semaphore, ClientParams clientParams, boolean isScheduled, RequestExecutor<T> requestExecutor) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                semaphore.acquire();
-                return executeRequest(requestExecutor, semaphore, clientParams, isScheduled);
-            } catch (InterruptedException e) {
+    /**
+     * Runs a request on a blocking transport. The request waits for its rate slot and its permit without parking a thread
+     * and then runs on the executor.
+     */
+    public static <T> CompletableFuture<T> asyncRequest(ExecutorService executorService, OriginGate gate, RequestExecutor<T> requestExecutor) {
+        if (!gate.isCallPermitted()) {
+            return circuitOpen(gate);
+        }
+
+        if (gate.tryAdmit()) {
+            return CompletableFuture.supplyAsync(() -> executeRequest(requestExecutor, gate), executorService);
+        }
+
+        return gate.admit().thenApplyAsync(admitted -> executeRequest(requestExecutor, gate), executorService);
+    }
+
+    /**
+     * Runs a request on a non-blocking transport. When the request is admitted at once it is started on the caller thread
+     * and completed by the transport I/O callbacks, no thread is parked while the request waits or is in flight.
+     */
+    public static <T> CompletableFuture<T> nonBlockingRequest(OriginGate gate, AsyncRequestExecutor<T> requestExecutor) {
+        if (!gate.isCallPermitted()) {
+            return circuitOpen(gate);
+        }
+
+        if (gate.tryAdmit()) {
+            return executeNonBlockingRequest(requestExecutor, gate);
+        }
+
+        return gate.admit().thenCompose(admitted -> executeNonBlockingRequest(requestExecutor, gate));
+    }
+
+    /**
+     * Runs an idempotent request on a blocking transport, hedged when the gate has a hedging policy.
+     * The losing attempt is cancelled by interrupting its thread.
+     *
+     * @param hedgeable false when a second attempt can not send the same request, as a body read once from its source
+     */
+    public static <T> CompletableFuture<T> idempotentRequest(ExecutorService executorService, OriginGate gate,
+                                                             boolean hedgeable, RequestExecutor<T> requestExecutor) {
+        HedgingPolicy hedgingPolicy = gate.getHedgingPolicy();
+
+        if (hedgingPolicy == null || !hedgeable) {
+            return asyncRequest(executorService, gate, requestExecutor);
+        }
+
+        return hedgedRequest(hedgingPolicy, () -> cancellableRequest(executorService, gate, requestExecutor));
+    }
+
+    /**
+     * Runs an idempotent request on a non-blocking transport, hedged when the gate has a hedging policy.
+     * The losing attempt is cancelled on the transport.
+     *
+     * @param hedgeable false when a second attempt can not send the same request, as a body read once from its source
+     */
+    public static <T> CompletableFuture<T> idempotentNonBlockingRequest(OriginGate gate, boolean hedgeable,
+                                                                        AsyncRequestExecutor<T> requestExecutor) {
+        HedgingPolicy hedgingPolicy = gate.getHedgingPolicy();
+
+        if (hedgingPolicy == null || !hedgeable) {
+            return nonBlockingRequest(gate, requestExecutor);
+        }
+
+        return hedgedRequest(hedgingPolicy, () -> cancellableNonBlockingRequest(gate, requestExecutor));
+    }
+
+    /**
+     * Starts an attempt and, when it has no response after the hedging delay and the budget allows, a second one.
+     * The first response, including an error status, completes the request and cancels the other attempt. A failure to
+     * communicate only completes the request when no other attempt is pending. Cancelling the request cancels its attempts.
+     */
+    private static <T> CompletableFuture<T> hedgedRequest(HedgingPolicy hedgingPolicy, Supplier<CompletableFuture<T>> attempt) {
+        hedgingPolicy.onRequest();
+
+        long delayNanos = hedgingPolicy.getDelayNanos();
+        HedgedRequest<T> request = new HedgedRequest<>(hedgingPolicy);
+
+        request.start(attempt);
+
+        if (delayNanos >= 0) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                if (!request.result.isDone() && hedgingPolicy.tryHedge()) {
+                    incrementRequest();
+                    request.start(attempt);
+                }
+            });
+        }
+
+        return request.result;
+    }
+
+    /**
+     * Runs a request on a blocking transport whose future can be cancelled while the request waits or runs
+     */
+    private static <T> CompletableFuture<T> cancellableRequest(ExecutorService executorService, OriginGate gate,
+                                                              RequestExecutor<T> requestExecutor) {
+        if (!gate.isCallPermitted()) {
+            return circuitOpen(gate);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> admission = gate.tryAdmit()
+                ? CompletableFuture.completedFuture(null)
+                : gate.admit();
+
+        admission.thenRun(() -> executorService.execute(() -> {
+            if (result.isDone()) {
                 unprocessedRequests.decrementAndGet();
-                semaphore.release();
-                throw new RuntimeException(e);
+                gate.release();
+                return;
+            }
+
+            Thread thread = Thread.currentThread();
+            AtomicBoolean running = new AtomicBoolean(true);
+
+            result.whenComplete((value, throwable) -> {
+                if (result.isCancelled() && running.get()) {
+                    thread.interrupt();
+                }
+            });
+
+            try {
+                result.complete(executeRequest(requestExecutor, gate));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                running.set(false);
             }
-        }, executorService);
+        }));
+
+        return result;
     }
 
-    public static <T> AsyncRequest<T> returnAsyncResponse(CompletableFuture<T> future, ExecutorService globalExecutor) {
-        return new AsyncRequest<>(CompletableFuture.supplyAsync(() -> {
+    /**
+     * Runs a request on a non-blocking transport whose future can be cancelled while the request waits or is in flight
+     */
+    private static <T> CompletableFuture<T> cancellableNonBlockingRequest(OriginGate gate, AsyncRequestExecutor<T> requestExecutor) {
+        if (!gate.isCallPermitted()) {
+            return circuitOpen(gate);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> admission = gate.tryAdmit()
+                ? CompletableFuture.completedFuture(null)
+                : gate.admit();
+
+        admission.thenRun(() -> {
+            if (result.isDone()) {
+                unprocessedRequests.decrementAndGet();
+                gate.release();
+                return;
+            }
+
+            CompletableFuture<T> execution;
+            long start = System.nanoTime();
+
             try {
-                return future.get();
-            } catch (InterruptedException | ExecutionException e) {
-                throw new CompletionException(e);
+                execution = requestExecutor.execute();
+            } catch (Exception e) {
+                execution = CompletableFuture.failedFuture(new ProcessException(e.getMessage()));
             }
-        }, globalExecutor));
+
+            CompletableFuture<T> started = execution;
+
+            started.whenComplete((value, throwable) -> {
+                unprocessedRequests.decrementAndGet();
+                gate.release(System.nanoTime() - start, !started.isCancelled() && isDropped(throwable));
+
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                } else {
+                    result.complete(value);
+                }
+            });
+
+            result.whenComplete((value, throwable) -> {
+                if (result.isCancelled()) {
+                    started.cancel(true);
+                }
+            });
+        });
+
+        return result;
     }
 
-    private static void applyDelay(ClientParams clientParams) {
+    /**
+     * Fails a request at once because the circuit breaker of its origin is open, no permit nor thread is taken
+     */
+    private static <T> CompletableFuture<T> circuitOpen(OriginGate gate) {
+        unprocessedRequests.decrementAndGet();
+
+        return CompletableFuture.failedFuture(new CircuitOpenException(gate.getOrigin()));
+    }
+
+    private static <T> CompletableFuture<T> executeNonBlockingRequest(AsyncRequestExecutor<T> requestExecutor, OriginGate gate) {
+        CompletableFuture<T> future;
+        long start = System.nanoTime();
+
         try {
-            Thread.sleep(clientParams.getDelayInMilliSeconds());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+            future = requestExecutor.execute();
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(new ProcessException(e.getMessage()));
         }
+
+        return future.whenComplete((result, throwable) -> {
+            unprocessedRequests.decrementAndGet();
+            gate.release(System.nanoTime() - start, isDropped(throwable));
+        });
     }
 
-    public static  <T> T executeRequest(RequestExecutor<T> executor, Semaphore semaphore, ClientParams clientParams, boolean isScheduled) {
+    /**
+     * Returns the AsyncRequest view of a request future. The future is wrapped directly, no task is submitted
+     * and no thread waits for its completion.
+     */
+    public static <T> AsyncRequest<T> returnAsyncResponse(CompletableFuture<T> future) {
+        return new AsyncRequest<>(future);
+    }
+
+    /**
+     * @deprecated the executor is no longer used, use {@link #returnAsyncResponse(CompletableFuture)}
+     */
+    @Deprecated(since = "2.5.0")
+    public static <T> AsyncRequest<T> returnAsyncResponse(CompletableFuture<T> future, ExecutorService globalExecutor) {
+        return returnAsyncResponse(future);
+    }
+
+    /**
+     * Runs a request whose response body is read by the caller after the request completes. The permit is held until
+     * the iterator is closed, the round trip time reported to the limiter is the time until the response headers.
+     */
+    public static <T> CompletableFuture<JsonArrayIterator<T>> streamingRequest(ExecutorService executorService, OriginGate gate,
+                                                                             RequestExecutor<JsonArrayIterator<T>> requestExecutor) {
+        if (!gate.isCallPermitted()) {
+            return circuitOpen(gate);
+        }
+
+        if (gate.tryAdmit()) {
+            return CompletableFuture.supplyAsync(() -> executeStreamingRequest(requestExecutor, gate), executorService);
+        }
+
+        return gate.admit().thenApplyAsync(admitted -> executeStreamingRequest(requestExecutor, gate), executorService);
+    }
+
+    private static <T> JsonArrayIterator<T> executeStreamingRequest(RequestExecutor<JsonArrayIterator<T>> executor, OriginGate gate) {
+        long start = System.nanoTime();
+        JsonArrayIterator<T> iterator = executeRequest(executor, gate, false);
+        long rttNanos = System.nanoTime() - start;
+
+        iterator.onClose(() -> {
+            unprocessedRequests.decrementAndGet();
+            gate.release(rttNanos, false);
+        });
+
+        return iterator;
+    }
+
+    private static final class HedgedRequest<T> {
+
+        private final HedgingPolicy hedgingPolicy;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<CompletableFuture<T>> attempts = new ArrayList<>(2);
+        private final long start = System.nanoTime();
+        private int pending;
+
+        private HedgedRequest(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+
+            result.whenComplete((value, throwable) -> cancelAttempts());
+        }
+
+        private void start(Supplier<CompletableFuture<T>> attempt) {
+            CompletableFuture<T> future = attempt.get();
+
+            synchronized (this) {
+                attempts.add(future);
+                pending++;
+            }
+
+            future.whenComplete((value, throwable) -> completed(future, value, throwable));
+
+            if (result.isDone()) {
+                future.cancel(true);
+            }
+        }
+
+        private void completed(CompletableFuture<T> attempt, T value, Throwable throwable) {
+            if (attempt.isCancelled()) {
+                return;
+            }
+
+            boolean last;
+
+            synchronized (this) {
+                last = --pending == 0;
+            }
+
+            if (throwable == null) {
+                hedgingPolicy.record(System.nanoTime() - start);
+                result.complete(value);
+            } else if (last || !isCommunicationFailure(unwrap(throwable))) {
+                result.completeExceptionally(unwrap(throwable));
+            }
+        }
+
+        private void cancelAttempts() {
+            List<CompletableFuture<T>> started;
+
+            synchronized (this) {
+                started = List.copyOf(attempts);
+            }
+
+            started.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+
+    public static  <T> T executeRequest(RequestExecutor<T> executor, OriginGate gate) {
+        return executeRequest(executor, gate, true);
+    }
+
+    private static <T> T executeRequest(RequestExecutor<T> executor, OriginGate gate, boolean releaseOnSuccess) {
+        long start = System.nanoTime();
+        boolean dropped = false;
+        boolean success = false;
+
         try {
-            return executor.execute();
+            T result = executor.execute();
+            success = true;
+
+            return result;
         } catch (HttpStatusCodeException e) {
+            dropped = isOverloaded(e.getStatusCode());
             throw new HttpException(e);
         } catch (ResourceAccessException e) {
+            dropped = true;
             throw new CommunicateException(e.getMessage()) ;
         } catch (Exception e) {
             throw new ProcessException(e.getMessage());
         } finally {
-            if (isScheduled && unprocessedRequests.get() > 1L && clientParams.getMaxConcurrentRequests() < unprocessedRequests.get()) {
-                applyDelay(clientParams);
+            if (!success || releaseOnSuccess) {
+                unprocessedRequests.decrementAndGet();
+                gate.release(System.nanoTime() - start, dropped && !Thread.currentThread().isInterrupted());
             }
+        }
+    }
 
-            unprocessedRequests.decrementAndGet();
-            semaphore.release();
+    /**
+     * A request is dropped, for the adaptive limiters, when it could not communicate (including timeouts)
+     * or the server answered it is overloaded
+     */
+    private static boolean isDropped(Throwable throwable) {
+        throwable = unwrap(throwable);
+
+        if (throwable instanceof HttpException e) {
+            return isOverloaded(e.getStatusCode());
         }
+
+        return throwable instanceof CommunicateException;
+    }
+
+    private static boolean isCommunicationFailure(Throwable throwable) {
+        return throwable instanceof CommunicateException || throwable instanceof CircuitOpenException;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while (throwable instanceof CompletionException && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+
+        return throwable;
+    }
+
+    private static boolean isOverloaded(HttpStatusCode statusCode) {
+        int status = statusCode.value();
+
+        return status == 429 || status == 502 || status == 503 || status == 504;
     }
 
     public static boolean isParalell() {
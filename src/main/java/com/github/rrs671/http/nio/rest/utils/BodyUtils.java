@@ -0,0 +1,99 @@
+package com.github.rrs671.http.nio.rest.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.rrs671.http.nio.rest.exceptions.ProcessException;
+import com.github.rrs671.http.nio.rest.http.BodySource;
+import org.apache.hc.core5.http.ContentType;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class has the body conversions used by the transports that do not rely on the RestClient message converters.
+ * It follows the same rules of the RestClient: String and byte[] are written and read as they are and
+ * everything else is bound as JSON.
+ *
+ * @since 2.5.0
+ */
+public abstract class BodyUtils {
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private BodyUtils() {}
+
+    public static byte[] encode(Object body, ObjectMapper objectMapper) {
+        if (body == null) {
+            return new byte[0];
+        }
+
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+
+        if (body instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        try {
+            return objectMapper.writerFor(body.getClass()).writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new ProcessException(e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T decode(byte[] body, ContentType contentType, Class<T> clazz, ObjectMapper objectMapper) {
+        if (clazz == null || clazz == Void.class || body == null || body.length == 0) {
+            return null;
+        }
+
+        if (clazz == byte[].class) {
+            return (T) body;
+        }
+
+        if (clazz == String.class) {
+            Charset charset = contentType != null ? contentType.getCharset(StandardCharsets.UTF_8) : StandardCharsets.UTF_8;
+            return (T) new String(body, charset);
+        }
+
+        try {
+            return objectMapper.readerFor(clazz).readValue(body);
+        } catch (IOException e) {
+            throw new ProcessException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns false for a body read once from its source, it can not be sent again by a retry or a hedged attempt
+     */
+    public static boolean isRepeatable(Object body) {
+        return !(body instanceof BodySource source) || source.isRepeatable();
+    }
+
+    /**
+     * Returns the body content type, the Content-Type header informed on the request params has precedence
+     */
+    public static ContentType contentType(Object body, Map<String, String> headers) {
+        if (Objects.nonNull(headers)) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                if (CONTENT_TYPE.equalsIgnoreCase(header.getKey())) {
+                    return ContentType.parse(header.getValue());
+                }
+            }
+        }
+
+        if (body instanceof String) {
+            return ContentType.TEXT_PLAIN.withCharset(StandardCharsets.UTF_8);
+        }
+
+        if (body instanceof byte[]) {
+            return ContentType.APPLICATION_OCTET_STREAM;
+        }
+
+        return ContentType.APPLICATION_JSON;
+    }
+
+}
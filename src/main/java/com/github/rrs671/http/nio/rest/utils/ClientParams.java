@@ -1,9 +1,38 @@
 package com.github.rrs671.http.nio.rest.utils;
 
+import com.github.rrs671.http.nio.rest.client.codec.BodyCodec;
+import com.github.rrs671.http.nio.rest.client.metrics.MetricsRecorder;
+import com.github.rrs671.http.nio.rest.client.request.breaker.CircuitBreakerConfig;
+import com.github.rrs671.http.nio.rest.client.enums.ContentEncodingEnum;
+import com.github.rrs671.http.nio.rest.client.enums.LimiterEnum;
+import com.github.rrs671.http.nio.rest.client.enums.RateLimitScopeEnum;
+import com.github.rrs671.http.nio.rest.client.enums.TransportEnum;
+import com.github.rrs671.http.nio.rest.client.enums.VerbsEnum;
+import com.github.rrs671.http.nio.rest.client.request.retry.RetryPolicy;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * An abstraction for http parameters.
  * Inform a connection and read timeout value
- * Max concurrent requests and delay time (delay time is always the time to wait after the requests is done)
+ * Max concurrent requests and max concurrent requests per origin
+ * The limiter of the concurrent requests, with adaptive limiters the max concurrent requests are the initial limits
+ * The rate limit in requests per second with its burst, for the whole client or for each origin. The deprecated
+ * request delay is mapped to a rate limit of max concurrent requests every delay milliseconds
+ * The transport used to execute the requests and, for pooled transports, the connection pool limits,
+ * keep-alive, idle eviction and time to live values
+ * The size and the max pooled count of the direct buffers holding raw response bodies
+ * The compression of the responses and of the request bodies above a size threshold
+ * The binary codecs negotiated with the servers, JSON is the fallback
+ * The size of the GET response cache and of its off-heap tier for large bodies
+ * The coalescing of concurrent identical GETs into one request
+ * The hedging of the slow idempotent requests, with its latency percentile and budget
+ * The retry policy of each verb
+ * The circuit breaker of each origin
  *
  * @since 1.0.0
  */
@@ -12,7 +41,37 @@ public class ClientParams {
     private int connTimeout;
     private int readTimeout;
     private int maxConcurrentRequests;
+    private int maxConcurrentRequestsPerOrigin;
     private long delayInMilliSeconds;
+    private LimiterEnum limiter;
+    private int minConcurrencyLimit;
+    private int maxConcurrencyLimit;
+    private double rateLimit;
+    private int rateLimitBurst;
+    private RateLimitScopeEnum rateLimitScope;
+
+    private TransportEnum transport;
+    private int maxTotalConnections;
+    private int maxConnectionsPerRoute;
+    private int keepAliveInSeconds;
+    private int idleEvictionInSeconds;
+    private int connectionTimeToLiveInSeconds;
+    private int bufferSize;
+    private int maxPooledBuffers;
+    private boolean responseCompression;
+    private ContentEncodingEnum requestCompression;
+    private int requestCompressionMinSize;
+    private List<BodyCodec> codecs;
+    private BodyCodec requestCodec;
+    private long responseCacheSize;
+    private long responseCacheOffHeapSize;
+    private int responseCacheOffHeapMinEntrySize;
+    private boolean requestCoalescing;
+    private double hedgingPercentile;
+    private double hedgingBudget;
+    private Map<VerbsEnum, RetryPolicy> retryPolicies;
+    private CircuitBreakerConfig circuitBreaker;
+    private MetricsRecorder metricsRecorder;
 
     private ClientParams() {}
 
@@ -28,10 +87,142 @@ public class ClientParams {
         return maxConcurrentRequests;
     }
 
+    public int getMaxConcurrentRequestsPerOrigin() {
+        return maxConcurrentRequestsPerOrigin;
+    }
+
+    /**
+     * @deprecated the delay is converted to an equivalent rate limit, see {@link #getRateLimit()}
+     */
+    @Deprecated(since = "2.5.0")
     public long getDelayInMilliSeconds() {
         return delayInMilliSeconds;
     }
 
+    public LimiterEnum getLimiter() {
+        return limiter;
+    }
+
+    public int getMinConcurrencyLimit() {
+        return minConcurrencyLimit;
+    }
+
+    public int getMaxConcurrencyLimit() {
+        return maxConcurrencyLimit;
+    }
+
+    public double getRateLimit() {
+        return rateLimit;
+    }
+
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public RateLimitScopeEnum getRateLimitScope() {
+        return rateLimitScope;
+    }
+
+    public TransportEnum getTransport() {
+        return transport;
+    }
+
+    public int getMaxTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public int getKeepAliveInSeconds() {
+        return keepAliveInSeconds;
+    }
+
+    public int getIdleEvictionInSeconds() {
+        return idleEvictionInSeconds;
+    }
+
+    public int getConnectionTimeToLiveInSeconds() {
+        return connectionTimeToLiveInSeconds;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getMaxPooledBuffers() {
+        return maxPooledBuffers;
+    }
+
+    public boolean isResponseCompression() {
+        return responseCompression;
+    }
+
+    public ContentEncodingEnum getRequestCompression() {
+        return requestCompression;
+    }
+
+    public int getRequestCompressionMinSize() {
+        return requestCompressionMinSize;
+    }
+
+    public boolean isCompressionEnabled() {
+        return responseCompression || requestCompression != null;
+    }
+
+    public List<BodyCodec> getCodecs() {
+        return codecs;
+    }
+
+    public BodyCodec getRequestCodec() {
+        return requestCodec;
+    }
+
+    public long getResponseCacheSize() {
+        return responseCacheSize;
+    }
+
+    public long getResponseCacheOffHeapSize() {
+        return responseCacheOffHeapSize;
+    }
+
+    public int getResponseCacheOffHeapMinEntrySize() {
+        return responseCacheOffHeapMinEntrySize;
+    }
+
+    public boolean isResponseCacheEnabled() {
+        return responseCacheSize > 0;
+    }
+
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    public double getHedgingBudget() {
+        return hedgingBudget;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgingBudget > 0;
+    }
+
+    public Map<VerbsEnum, RetryPolicy> getRetryPolicies() {
+        return retryPolicies;
+    }
+
+    public CircuitBreakerConfig getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
     public static NioRestClientParamsBuilder builder() {
         return new NioRestClientParamsBuilder();
     }
@@ -42,7 +233,37 @@ public class ClientParams {
         private int connTimeout;
         private int readTimeout;
         private int maxConcurrentRequests;
+        private int maxConcurrentRequestsPerOrigin;
         private long delayInMilliSeconds;
+        private LimiterEnum limiter = LimiterEnum.FIXED;
+        private int minConcurrencyLimit = 1;
+        private int maxConcurrencyLimit = 1000;
+        private double rateLimit;
+        private int rateLimitBurst;
+        private RateLimitScopeEnum rateLimitScope = RateLimitScopeEnum.CLIENT;
+
+        private TransportEnum transport = TransportEnum.SIMPLE;
+        private int maxTotalConnections;
+        private int maxConnectionsPerRoute;
+        private int keepAliveInSeconds;
+        private int idleEvictionInSeconds;
+        private int connectionTimeToLiveInSeconds;
+        private int bufferSize = 64 * 1024;
+        private int maxPooledBuffers = 256;
+        private boolean responseCompression;
+        private ContentEncodingEnum requestCompression;
+        private int requestCompressionMinSize;
+        private final List<BodyCodec> codecs = new ArrayList<>();
+        private BodyCodec requestCodec;
+        private long responseCacheSize;
+        private long responseCacheOffHeapSize;
+        private int responseCacheOffHeapMinEntrySize;
+        private boolean requestCoalescing;
+        private double hedgingPercentile;
+        private double hedgingBudget;
+        private final Map<VerbsEnum, RetryPolicy> retryPolicies = new EnumMap<>(VerbsEnum.class);
+        private CircuitBreakerConfig circuitBreaker;
+        private MetricsRecorder metricsRecorder;
 
         public NioRestClientParamsBuilder addConnectionTimeout(int connTimeout) {
             this.connTimeout = connTimeout;
@@ -59,25 +280,343 @@ public class ClientParams {
             return this;
         }
 
+        /**
+         * Max concurrent requests for each scheme+host+port, each origin has its own permits and wait queue
+         * so a slow origin does not starve the others. It can be combined with the max concurrent requests of the client.
+         */
+        public NioRestClientParamsBuilder addMaxConcurrentRequestPerOrigin(int maxConcurrentRequestsPerOrigin) {
+            this.maxConcurrentRequestsPerOrigin = maxConcurrentRequestsPerOrigin;
+            return this;
+        }
+
+        /**
+         * @deprecated use {@link #addRateLimit(double, int)}. The delay is converted to a rate limit of
+         * maxConcurrentRequests requests every delay milliseconds, with a burst of maxConcurrentRequests
+         */
+        @Deprecated(since = "2.5.0")
         public NioRestClientParamsBuilder addRequestDelay(long delayInMilliSeconds) {
             this.delayInMilliSeconds = delayInMilliSeconds;
             return this;
         }
 
+        /**
+         * Limiter of the concurrent requests, FIXED by default. With AIMD or GRADIENT the max concurrent requests
+         * (of the client and per origin) are the initial limits, adjusted from the observed round trip times and drops.
+         * The pooled transports then do not retry the 429 and 503 responses, so the limiter sees them
+         */
+        public NioRestClientParamsBuilder addConcurrencyLimiter(LimiterEnum limiter) {
+            Objects.requireNonNull(limiter);
+
+            this.limiter = limiter;
+            return this;
+        }
+
+        /**
+         * Bounds of the limit of the adaptive limiters, 1 and 1000 by default
+         */
+        public NioRestClientParamsBuilder addConcurrencyLimitBounds(int minConcurrencyLimit, int maxConcurrencyLimit) {
+            this.minConcurrencyLimit = minConcurrencyLimit;
+            this.maxConcurrencyLimit = maxConcurrencyLimit;
+            return this;
+        }
+
+        /**
+         * Max requests started per second. Up to burst requests start at once after an idle period, the following
+         * requests are scheduled at the rate without holding a concurrency permit or a thread while they wait
+         */
+        public NioRestClientParamsBuilder addRateLimit(double requestsPerSecond, int burst) {
+            this.rateLimit = requestsPerSecond;
+            this.rateLimitBurst = burst;
+            return this;
+        }
+
+        /**
+         * Scope of the rate limit, CLIENT by default
+         */
+        public NioRestClientParamsBuilder addRateLimitScope(RateLimitScopeEnum rateLimitScope) {
+            Objects.requireNonNull(rateLimitScope);
+
+            this.rateLimitScope = rateLimitScope;
+            return this;
+        }
+
+        /**
+         * Transport used to execute the requests, SIMPLE by default
+         */
+        public NioRestClientParamsBuilder addTransport(TransportEnum transport) {
+            Objects.requireNonNull(transport);
+
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Max connections kept by the pool for all the routes (pooled transports only)
+         */
+        public NioRestClientParamsBuilder addMaxTotalConnections(int maxTotalConnections) {
+            this.maxTotalConnections = maxTotalConnections;
+            return this;
+        }
+
+        /**
+         * Max connections kept by the pool for each scheme+host+port (pooled transports only)
+         */
+        public NioRestClientParamsBuilder addMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        /**
+         * Keep-alive used when the server does not send a Keep-Alive header (pooled transports only)
+         */
+        public NioRestClientParamsBuilder addKeepAlive(int keepAliveInSeconds) {
+            this.keepAliveInSeconds = keepAliveInSeconds;
+            return this;
+        }
+
+        /**
+         * Connections idle for longer than this value are evicted from the pool (pooled transports only)
+         */
+        public NioRestClientParamsBuilder addIdleEviction(int idleEvictionInSeconds) {
+            this.idleEvictionInSeconds = idleEvictionInSeconds;
+            return this;
+        }
+
+        /**
+         * Max lifetime of a pooled connection, after that it is closed instead of reused (pooled transports only)
+         */
+        public NioRestClientParamsBuilder addConnectionTimeToLive(int connectionTimeToLiveInSeconds) {
+            this.connectionTimeToLiveInSeconds = connectionTimeToLiveInSeconds;
+            return this;
+        }
+
+        /**
+         * Size in bytes of the direct buffers holding raw response bodies and the max buffers kept for reuse,
+         * 64 KiB and 256 by default
+         */
+        public NioRestClientParamsBuilder addBufferPool(int bufferSize, int maxPooledBuffers) {
+            this.bufferSize = bufferSize;
+            this.maxPooledBuffers = maxPooledBuffers;
+            return this;
+        }
+
+        /**
+         * Asks for gzip or deflate responses with Accept-Encoding and decompresses them while they are read,
+         * disabled by default
+         */
+        public NioRestClientParamsBuilder addResponseCompression(boolean responseCompression) {
+            this.responseCompression = responseCompression;
+            return this;
+        }
+
+        /**
+         * Compresses the request bodies with at least minSizeInBytes bytes while they are written, disabled by default.
+         * Bodies of unknown length are compressed unless they can be measured first, the server must accept the coding
+         */
+        public NioRestClientParamsBuilder addRequestCompression(ContentEncodingEnum encoding, int minSizeInBytes) {
+            Objects.requireNonNull(encoding);
+
+            this.requestCompression = encoding;
+            this.requestCompressionMinSize = minSizeInBytes;
+            return this;
+        }
+
+        /**
+         * Accepts the codec for the bound responses, the codecs are preferred in the order they are added and
+         * JSON is accepted last. Responses are read with the codec of their Content-Type
+         */
+        public NioRestClientParamsBuilder addCodec(BodyCodec codec) {
+            Objects.requireNonNull(codec);
+
+            this.codecs.add(codec);
+            return this;
+        }
+
+        /**
+         * Accepts the codec as {@link #addCodec(BodyCodec)} and writes the bound request bodies with it
+         * instead of JSON, the servers must accept it. A Content-Type header on the request params has precedence
+         */
+        public NioRestClientParamsBuilder addRequestCodec(BodyCodec codec) {
+            Objects.requireNonNull(codec);
+
+            if (!this.codecs.contains(codec)) {
+                this.codecs.add(codec);
+            }
+
+            this.requestCodec = codec;
+            return this;
+        }
+
+        /**
+         * Caches the GET responses allowed by their Cache-Control, Expires, ETag and Last-Modified headers
+         * up to maxSizeInBytes of bodies and headers, the least recently used entries are evicted first. Disabled by default
+         */
+        public NioRestClientParamsBuilder addResponseCache(long maxSizeInBytes) {
+            this.responseCacheSize = maxSizeInBytes;
+            return this;
+        }
+
+        /**
+         * Keeps the cached bodies with at least minEntrySizeInBytes bytes in direct buffers, outside of the heap,
+         * up to maxSizeInBytes. Needs the response cache
+         */
+        public NioRestClientParamsBuilder addResponseCacheOffHeap(long maxSizeInBytes, int minEntrySizeInBytes) {
+            this.responseCacheOffHeapSize = maxSizeInBytes;
+            this.responseCacheOffHeapMinEntrySize = minEntrySizeInBytes;
+            return this;
+        }
+
+        /**
+         * Concurrent GETs with the same url, headers and response class share a single request in flight and its result
+         * object, disabled by default
+         */
+        public NioRestClientParamsBuilder addRequestCoalescing(boolean requestCoalescing) {
+            this.requestCoalescing = requestCoalescing;
+            return this;
+        }
+
+        /**
+         * Hedges the GET, PUT and DELETE requests slower than the percentile (0.95 for p95) of the latest latencies
+         * of their origin: a second attempt is sent, the first response is used and the other attempt is cancelled.
+         * The budget (0.05 for 5%) is the max ratio of extra requests. The PUT of a body read once from its source is
+         * not hedged. Disabled by default
+         */
+        public NioRestClientParamsBuilder addHedging(double percentile, double budget) {
+            this.hedgingPercentile = percentile;
+            this.hedgingBudget = budget;
+            return this;
+        }
+
+        /**
+         * Retries the failed GET, PUT and DELETE requests with the policy, no request is retried by default
+         */
+        public NioRestClientParamsBuilder addRetryPolicy(RetryPolicy retryPolicy) {
+            addRetryPolicy(VerbsEnum.GET, retryPolicy);
+            addRetryPolicy(VerbsEnum.PUT, retryPolicy);
+            return addRetryPolicy(VerbsEnum.DELETE, retryPolicy);
+        }
+
+        /**
+         * Retries the failed requests of the verb with the policy. POST and PATCH should only be retried when the server
+         * makes them idempotent
+         */
+        public NioRestClientParamsBuilder addRetryPolicy(VerbsEnum verb, RetryPolicy retryPolicy) {
+            Objects.requireNonNull(verb);
+            Objects.requireNonNull(retryPolicy);
+
+            this.retryPolicies.put(verb, retryPolicy);
+            return this;
+        }
+
+        /**
+         * Keeps a circuit breaker for each origin, the requests to an origin whose breaker is open fail at once
+         * with a CircuitOpenException. Disabled by default
+         */
+        public NioRestClientParamsBuilder addCircuitBreaker(CircuitBreakerConfig circuitBreaker) {
+            this.circuitBreaker = Objects.requireNonNull(circuitBreaker);
+            return this;
+        }
+
+        /**
+         * Reports the admission wait and each exchange of the requests to the recorder, e.g. a ClientMetrics or a
+         * MicrometerMetrics. Disabled by default
+         */
+        public NioRestClientParamsBuilder addMetrics(MetricsRecorder metricsRecorder) {
+            this.metricsRecorder = Objects.requireNonNull(metricsRecorder);
+            return this;
+        }
+
         public ClientParams build() {
             ClientParams clientParams = new ClientParams();
 
             clientParams.connTimeout = this.connTimeout;
             clientParams.readTimeout = this.readTimeout;
             clientParams.maxConcurrentRequests = this.maxConcurrentRequests;
+            clientParams.maxConcurrentRequestsPerOrigin = this.maxConcurrentRequestsPerOrigin;
             clientParams.delayInMilliSeconds = this.delayInMilliSeconds;
+            clientParams.limiter = this.limiter;
+            clientParams.minConcurrencyLimit = this.minConcurrencyLimit;
+            clientParams.maxConcurrencyLimit = this.maxConcurrencyLimit;
+            clientParams.rateLimit = this.rateLimit;
+            clientParams.rateLimitBurst = this.rateLimitBurst;
+            clientParams.rateLimitScope = this.rateLimitScope;
+
+            clientParams.transport = this.transport;
+            clientParams.maxTotalConnections = this.maxTotalConnections;
+            clientParams.maxConnectionsPerRoute = this.maxConnectionsPerRoute;
+            clientParams.keepAliveInSeconds = this.keepAliveInSeconds;
+            clientParams.idleEvictionInSeconds = this.idleEvictionInSeconds;
+            clientParams.connectionTimeToLiveInSeconds = this.connectionTimeToLiveInSeconds;
+            clientParams.bufferSize = this.bufferSize;
+            clientParams.maxPooledBuffers = this.maxPooledBuffers;
+            clientParams.responseCompression = this.responseCompression;
+            clientParams.requestCompression = this.requestCompression;
+            clientParams.requestCompressionMinSize = this.requestCompressionMinSize;
+            clientParams.codecs = List.copyOf(this.codecs);
+            clientParams.requestCodec = this.requestCodec;
+            clientParams.responseCacheSize = this.responseCacheSize;
+            clientParams.responseCacheOffHeapSize = this.responseCacheOffHeapSize;
+            clientParams.responseCacheOffHeapMinEntrySize = this.responseCacheOffHeapMinEntrySize;
+            clientParams.requestCoalescing = this.requestCoalescing;
+            clientParams.hedgingPercentile = this.hedgingPercentile;
+            clientParams.hedgingBudget = this.hedgingBudget;
+            clientParams.retryPolicies = Map.copyOf(this.retryPolicies);
+            clientParams.circuitBreaker = this.circuitBreaker;
+            clientParams.metricsRecorder = this.metricsRecorder;
 
             if (this.delayInMilliSeconds > 0L && this.maxConcurrentRequests == 0) {
                throw new IllegalArgumentException("When delay time is > 0, maxConcurrentRequests must be > 0");
             }
 
+            if (this.rateLimit < 0 || this.rateLimit > 0 && this.rateLimitBurst <= 0) {
+                throw new IllegalArgumentException("Rate limit must be >= 0 and its burst must be > 0");
+            }
+
+            if (this.delayInMilliSeconds > 0L && this.rateLimit == 0) {
+                clientParams.rateLimit = this.maxConcurrentRequests * 1000.0 / this.delayInMilliSeconds;
+                clientParams.rateLimitBurst = this.maxConcurrentRequests;
+            }
+
+            if (this.limiter != LimiterEnum.FIXED && this.maxConcurrentRequests == 0 && this.maxConcurrentRequestsPerOrigin == 0) {
+                throw new IllegalArgumentException("Adaptive limiters need maxConcurrentRequests or maxConcurrentRequestsPerOrigin as initial limit");
+            }
+
+            if (this.minConcurrencyLimit <= 0 || this.maxConcurrencyLimit < this.minConcurrencyLimit) {
+                throw new IllegalArgumentException("Concurrency limit bounds must be 0 < min <= max");
+            }
+
+            if (this.maxTotalConnections < 0 || this.maxConnectionsPerRoute < 0 || this.keepAliveInSeconds < 0
+                    || this.idleEvictionInSeconds < 0 || this.connectionTimeToLiveInSeconds < 0) {
+                throw new IllegalArgumentException("Connection pool values must be >= 0");
+            }
+
+            if (this.maxTotalConnections > 0 && this.maxConnectionsPerRoute > this.maxTotalConnections) {
+                throw new IllegalArgumentException("maxConnectionsPerRoute must be <= maxTotalConnections");
+            }
+
+            if (this.bufferSize <= 0 || this.maxPooledBuffers < 0) {
+                throw new IllegalArgumentException("Buffer size must be > 0 and max pooled buffers must be >= 0");
+            }
+
+            if (this.requestCompressionMinSize < 0) {
+                throw new IllegalArgumentException("Request compression min size must be >= 0");
+            }
+
+            if (this.responseCacheSize < 0 || this.responseCacheOffHeapSize < 0 || this.responseCacheOffHeapMinEntrySize < 0) {
+                throw new IllegalArgumentException("Response cache sizes must be >= 0");
+            }
+
+            if (this.responseCacheOffHeapSize > 0 && this.responseCacheSize == 0) {
+                throw new IllegalArgumentException("The off-heap response cache needs the response cache");
+            }
+
+            if (this.hedgingBudget != 0 && (this.hedgingPercentile <= 0 || this.hedgingPercentile >= 1
+                    || this.hedgingBudget < 0 || this.hedgingBudget > 1)) {
+                throw new IllegalArgumentException("Hedging percentile must be > 0 and < 1 and its budget must be > 0 and <= 1");
+            }
+
             return clientParams;
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,108 @@
+package com.github.rrs671.http.nio.rest.utils;
+
+import com.github.rrs671.http.nio.rest.exceptions.ProcessException;
+import com.github.rrs671.http.nio.rest.http.Response;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates the responses of a group of requests in completion order, keyed by the item that produced each request.
+ * The requests are submitted lazily from the consumer thread, never more than window requests are in flight or
+ * waiting to be consumed, so the memory used does not depend on the number of requests and a slow consumer slows down
+ * the submission. For requests already submitted the window only bounds the callbacks registered ahead.
+ *
+ * @since 2.5.0
+ */
+public class CompletionIterator<K, T> implements Iterator<Tuple<K, T>> {
+
+    private final Iterator<K> source;
+    private final Function<K, CompletableFuture<T>> submit;
+    private final int window;
+    private final BlockingQueue<Tuple<K, T>> completed = new LinkedBlockingQueue<>();
+
+    private int pending;
+    private boolean closed;
+
+    public CompletionIterator(Iterator<K> source, Function<K, CompletableFuture<T>> submit, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be > 0");
+        }
+
+        this.source = source;
+        this.submit = submit;
+        this.window = window;
+    }
+
+    /**
+     * Returns the stream view of the responses, closing the stream stops the submission and closes the source stream
+     */
+    public static <K, T> Stream<Tuple<K, T>> stream(Stream<K> source, Function<K, CompletableFuture<T>> submit, int window) {
+        CompletionIterator<K, T> iterator = new CompletionIterator<>(source.iterator(), submit, window);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(iterator::close)
+                .onClose(source::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        fill();
+
+        return pending > 0;
+    }
+
+    @Override
+    public Tuple<K, T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Tuple<K, T> response;
+
+        try {
+            response = completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessException("Interrupted while waiting for the responses");
+        }
+
+        pending--;
+
+        return response;
+    }
+
+    /**
+     * Stops the submission, the requests already submitted are not cancelled
+     */
+    public void close() {
+        closed = true;
+    }
+
+    private void fill() {
+        while (!closed && pending < window && source.hasNext()) {
+            K key = source.next();
+            CompletableFuture<T> future;
+
+            try {
+                future = submit.apply(key);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+
+            pending++;
+            future.whenComplete((result, throwable) -> completed.add(throwable == null
+                    ? new Tuple<>(key, new Response<>(result))
+                    : new Tuple<>(key, new Response<T>(throwable))));
+        }
+    }
+
+}
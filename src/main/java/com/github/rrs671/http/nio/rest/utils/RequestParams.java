@@ -1,6 +1,5 @@
 package com.github.rrs671.http.nio.rest.utils;
 import java.util.*;
-import java.util.stream.IntStream;
 
 /**
  * An abstraction for request parameters.
@@ -12,10 +11,18 @@ import java.util.stream.IntStream;
  */
 public class RequestParams {
 
+    /**
+     * Name of the RestClient request attribute and of the httpclient5 context attribute holding the route
+     *
+     * @since 2.5.0
+     */
+    public static final String ROUTE_ATTRIBUTE = "com.github.rrs671.nio.rest.route";
+
     private String baseUrl;
     private List<String> paths;
     private Map<String, String> queryParams;
     private Map<String, String> headers;
+    private String route;
 
     private RequestParams() {}
 
@@ -35,6 +42,90 @@ public class RequestParams {
         return headers;
     }
 
+    /**
+     * Returns the route of the request, the path of its url template e.g. /users/{id}, or null when it is unknown.
+     * The metrics and the JFR events of the request use it instead of its path, so the requests to the same endpoint
+     * are recorded together.
+     *
+     * @since 2.5.0
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Returns a copy with the default headers that are not informed on these params, header names are compared
+     * ignoring case. These params are returned when all the default headers are informed.
+     *
+     * @since 2.5.0
+     */
+    public RequestParams withDefaultHeaders(Map<String, String> defaultHeaders) {
+        Map<String, String> merged = null;
+
+        for (Map.Entry<String, String> header : defaultHeaders.entrySet()) {
+            if (!hasHeader(header.getKey())) {
+                if (merged == null) {
+                    merged = Objects.isNull(headers) ? new HashMap<>() : new HashMap<>(headers);
+                }
+
+                merged.put(header.getKey(), header.getValue());
+            }
+        }
+
+        if (merged == null) {
+            return this;
+        }
+
+        RequestParams requestParams = new RequestParams();
+
+        requestParams.baseUrl = this.baseUrl;
+        requestParams.paths = this.paths;
+        requestParams.queryParams = this.queryParams;
+        requestParams.headers = merged;
+        requestParams.route = this.route;
+
+        return requestParams;
+    }
+
+    /**
+     * Returns a copy without the given headers, header names are compared ignoring case. These params are returned when
+     * none of the headers is informed.
+     *
+     * @since 2.5.0
+     */
+    public RequestParams withoutHeaders(String... names) {
+        if (Arrays.stream(names).noneMatch(this::hasHeader)) {
+            return this;
+        }
+
+        Map<String, String> remaining = new HashMap<>(headers);
+        remaining.keySet().removeIf(header -> Arrays.stream(names).anyMatch(header::equalsIgnoreCase));
+
+        RequestParams requestParams = new RequestParams();
+
+        requestParams.baseUrl = this.baseUrl;
+        requestParams.paths = this.paths;
+        requestParams.queryParams = this.queryParams;
+        requestParams.headers = remaining;
+        requestParams.route = this.route;
+
+        return requestParams;
+    }
+
+    private boolean hasHeader(String name) {
+        if (Objects.isNull(headers)) {
+            return false;
+        }
+
+        for (String header : headers.keySet()) {
+            if (header.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     public static RequestParamsBuilder builder() {
         return new RequestParamsBuilder();
     }
@@ -46,6 +137,7 @@ public class RequestParams {
         private List<String> paths;
         private Map<String, String> queryParams;
         private Map<String, String> headers;
+        private String route;
 
         public RequestParamsBuilder addUrl(String url) {
             Objects.requireNonNull(url);
@@ -61,9 +153,7 @@ public class RequestParams {
                 this.paths = new ArrayList<>();
             }
 
-            List<String> temp = Arrays.stream(paths).toList();
-
-            this.paths.addAll(temp);
+            Collections.addAll(this.paths, paths);
             return this;
         }
 
@@ -74,17 +164,13 @@ public class RequestParams {
                 throw new IllegalArgumentException("Invalid query param: " + Arrays.toString(querys));
             }
 
-            Map<String, String> temp = IntStream.range(0, querys.length / 2)
-                    .collect(HashMap::new,
-                            (m, i) -> m.put(querys[i * 2], querys[i * 2 + 1]),
-                            HashMap::putAll
-                    );
-
             if (Objects.isNull(this.queryParams)) {
                 this.queryParams = new HashMap<>();
             }
 
-            this.queryParams.putAll(temp);
+            for (int i = 0; i < querys.length; i += 2) {
+                this.queryParams.put(querys[i], querys[i + 1]);
+            }
 
             return this;
         }
@@ -96,21 +182,28 @@ public class RequestParams {
                 throw new IllegalArgumentException("Invalid header: " + Arrays.toString(headers));
             }
 
-            Map<String, String> temp = IntStream.range(0, headers.length / 2)
-                    .collect(HashMap::new,
-                            (m, i) -> m.put(headers[i * 2], headers[i * 2 + 1]),
-                            HashMap::putAll
-                    );
-
             if (Objects.isNull(this.headers)) {
                 this.headers = new HashMap<>();
             }
 
-            this.headers.putAll(temp);
+            for (int i = 0; i < headers.length; i += 2) {
+                this.headers.put(headers[i], headers[i + 1]);
+            }
 
             return this;
         }
 
+        /**
+         * @param route path of the url template of the request, e.g. /users/{id}, see {@link RequestParams#getRoute()}
+         * @since 2.5.0
+         */
+        public RequestParamsBuilder addRoute(String route) {
+            Objects.requireNonNull(route);
+
+            this.route = route;
+            return this;
+        }
+
         public RequestParams build() {
             RequestParams requestParams = new RequestParams();
 
@@ -130,6 +223,8 @@ public class RequestParams {
                 requestParams.headers = this.headers;
             }
 
+            requestParams.route = this.route;
+
             return requestParams;
         }
     }
@@ -1,16 +1,25 @@
 package com.github.rrs671.http.nio.rest.utils;
 
+import com.github.rrs671.http.nio.rest.exceptions.ProcessException;
 import com.github.rrs671.http.nio.rest.http.AsyncRequest;
 import com.github.rrs671.http.nio.rest.http.Response;
 
-import java.util.AbstractMap;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * This classes has useful methods to manipulate async requests
+ * This classes has useful methods to manipulate async requests.
+ * The aggregation methods wait on the calling thread only, the responses are collected from the request completions
+ * so no pool worker is blocked on network I/O.
  *
  * @since 2.0.1
  */
@@ -29,27 +38,154 @@ public abstract class ResponseUtils {
     }
 
     /**
-     * Returns all the requests responses
+     * Returns the request response, or an error response if it is not completed before the timeout.
+     * The request is not cancelled on timeout.
+     *
+     * @param future future to be processed and get the request response
+     * @param timeout max time to wait for the response
+     * @return a Response instance
+     * @since 2.5.0
+     */
+    public static <T> Response<T> getResult(CompletableFuture<T> future, Duration timeout) {
+        await(future, timeout);
+
+        return completedOrError(future);
+    }
+
+    /**
+     * Returns all the requests responses, in the same order of the requests. Only the calling thread waits,
+     * until all the requests are completed.
      *
      * @param asyncRequests futures to be processed and get the requests responses
      * @return a List of Response instance
      */
     public static <T> List<Response<T>> getMultiResult(List<AsyncRequest<T>> asyncRequests) {
-        return (AsyncExecutorUtils.isParalell() ? asyncRequests.parallelStream() : asyncRequests.stream())
-                .map(AsyncRequest::getResponse)
+        awaitAll(asyncRequests, null);
+
+        return asyncRequests.stream()
+                .map(ResponseUtils::completedOrError)
+                .toList();
+    }
+
+    /**
+     * Returns the requests responses completed before the timeout, in the same order of the requests.
+     * The requests not completed on time have an error response and are not cancelled.
+     *
+     * @param asyncRequests futures to be processed and get the requests responses
+     * @param timeout max time to wait for all the responses
+     * @return a List of Response instance
+     * @since 2.5.0
+     */
+    public static <T> List<Response<T>> getMultiResult(List<AsyncRequest<T>> asyncRequests, Duration timeout) {
+        awaitAll(asyncRequests, timeout);
+
+        return asyncRequests.stream()
+                .map(ResponseUtils::completedOrError)
                 .toList();
     }
 
     /**
-     * Returns all the requests responses and returns a Map with the key informed on param and response from request
+     * Returns all the requests responses and returns a Map with the key informed on param and response from request.
+     * Only the calling thread waits, until all the requests are completed.
      *
      * @param requests futures to be processed and get the requests responses
      * @return a Map with the response Key and Response instance
      */
     public static <T, K> Map<K, Response<T>> getMultiResult(Map<K, AsyncRequest<T>> requests) {
-        return (AsyncExecutorUtils.isParalell() ? requests.entrySet().parallelStream() : requests.entrySet().stream())
-                .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().getResponse()))
-                .collect(Collectors.toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
+        awaitAll(requests.values(), null);
+
+        return requests.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> completedOrError(entry.getValue())));
+    }
+
+    /**
+     * Returns the requests responses completed before the timeout, keyed as the requests.
+     * The requests not completed on time have an error response and are not cancelled.
+     *
+     * @param requests futures to be processed and get the requests responses
+     * @param timeout max time to wait for all the responses
+     * @return a Map with the response Key and Response instance
+     * @since 2.5.0
+     */
+    public static <T, K> Map<K, Response<T>> getMultiResult(Map<K, AsyncRequest<T>> requests, Duration timeout) {
+        awaitAll(requests.values(), timeout);
+
+        return requests.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> completedOrError(entry.getValue())));
+    }
+
+    /**
+     * Returns the requests responses in completion order, each response is available as soon as its request completes
+     *
+     * @param asyncRequests futures to be processed and get the requests responses
+     * @return a Stream of Response instance
+     * @since 2.5.0
+     */
+    public static <T> Stream<Response<T>> streamResults(List<AsyncRequest<T>> asyncRequests) {
+        return CompletionIterator.stream(asyncRequests.stream(), AsyncRequest::toCompletableFuture, Integer.MAX_VALUE)
+                .map(Tuple::getResponse);
+    }
+
+    /**
+     * Returns the requests responses in completion order with their keys, each response is available as soon as its
+     * request completes
+     *
+     * @param requests futures to be processed and get the requests responses
+     * @return a Stream of Tuple with the response Key and Response instance
+     * @since 2.5.0
+     */
+    public static <T, K> Stream<Tuple<K, T>> streamResults(Map<K, AsyncRequest<T>> requests) {
+        return CompletionIterator.stream(requests.keySet().stream(), key -> requests.get(key).toCompletableFuture(), Integer.MAX_VALUE);
+    }
+
+    private static <T> void awaitAll(Collection<AsyncRequest<T>> asyncRequests, Duration timeout) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[asyncRequests.size()];
+        int i = 0;
+
+        for (AsyncRequest<T> asyncRequest : asyncRequests) {
+            futures[i++] = asyncRequest.toCompletableFuture();
+        }
+
+        await(CompletableFuture.allOf(futures), timeout);
+    }
+
+    /**
+     * Waits on the calling thread for the future completion, without a timeout the wait is not interruptible as join
+     */
+    private static void await(CompletableFuture<?> future, Duration timeout) {
+        if (timeout == null) {
+            future.exceptionally(throwable -> null).join();
+            return;
+        }
+
+        try {
+            future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+            // the responses are read from each request
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessException("Interrupted while waiting for the responses");
+        }
+    }
+
+    private static <T> Response<T> completedOrError(AsyncRequest<T> asyncRequest) {
+        return completedOrError(asyncRequest.toCompletableFuture());
+    }
+
+    /**
+     * Reads the response of a future without blocking, the futures not completed yet have an error response
+     */
+    private static <T> Response<T> completedOrError(CompletableFuture<T> future) {
+        return switch (future.state()) {
+            case SUCCESS -> new Response<>(future.resultNow());
+            case FAILED -> new Response<T>(future.exceptionNow());
+            case CANCELLED -> new Response<T>(new CancellationException());
+            case RUNNING -> notCompleted();
+        };
+    }
+
+    private static <T> Response<T> notCompleted() {
+        return new Response<>(new TimeoutException("Response not completed before the timeout"));
     }
 
 }
@@ -0,0 +1,216 @@
+package com.github.rrs671.http.nio.rest.utils;
+
+import com.github.rrs671.http.nio.rest.client.request.limit.OriginGates;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A url with variables, e.g. {@code https://api.example.com/users/{id}/orders?status={status}}, parsed once.
+ * The static parts are kept encoded as ASCII bytes and each expansion only copies them with the encoded values into
+ * a single buffer of the exact url length. Path values are percent-encoded but for the unreserved characters, query values are
+ * encoded as URLEncoder does. The scheme and authority can not have variables, so the origin of the url is static.
+ *
+ * @since 2.5.0
+ */
+public class UrlTemplate {
+
+    private final String template;
+    private final String origin;
+    private final String path;
+    private final List<String> variables;
+    // literals[i] precedes the variable slots[i], the last literal follows the last variable
+    private final byte[][] literals;
+    private final int[] slots;
+    private final boolean[] query;
+    private final int literalsLength;
+
+    private UrlTemplate(String template, String origin, String path, List<String> variables, List<String> literals,
+                        int[] slots, boolean[] query) {
+        this.template = template;
+        this.origin = origin;
+        this.path = path;
+        this.variables = List.copyOf(variables);
+        this.literals = new byte[literals.size()][];
+        this.slots = slots;
+        this.query = query;
+
+        int length = 0;
+
+        for (int i = 0; i < this.literals.length; i++) {
+            this.literals[i] = literals.get(i).getBytes(StandardCharsets.US_ASCII);
+            length += this.literals[i].length;
+        }
+
+        this.literalsLength = length;
+    }
+
+    /**
+     * Parses a url template, a variable used more than once takes the same value
+     *
+     * @param template an absolute url whose path and query can have {name} variables
+     */
+    public static UrlTemplate compile(String template) {
+        if (template == null || template.isBlank()) {
+            throw new IllegalArgumentException("Url template cannot be null or blank");
+        }
+
+        int schemeEnd = template.indexOf("://");
+        String origin = OriginGates.origin(template);
+
+        if (schemeEnd < 0 || origin.indexOf('{') >= 0) {
+            throw new IllegalArgumentException("Url template must be an absolute url without variables in its origin: " + template);
+        }
+
+        int pathStart = schemeEnd + 3;
+
+        while (pathStart < template.length() && "/?#".indexOf(template.charAt(pathStart)) < 0) {
+            pathStart++;
+        }
+
+        List<String> variables = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<Boolean> query = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder(template.substring(0, pathStart));
+        boolean inQuery = false;
+        int i = pathStart;
+
+        while (i < template.length()) {
+            char c = template.charAt(i);
+
+            if (c == '{') {
+                int end = template.indexOf('}', i);
+                String name = end < 0 ? "" : template.substring(i + 1, end).trim();
+
+                if (name.isEmpty() || name.indexOf('{') >= 0) {
+                    throw new IllegalArgumentException("Invalid variable at " + i + " of url template: " + template);
+                }
+
+                if (!variables.contains(name)) {
+                    variables.add(name);
+                }
+
+                literals.add(literal.toString());
+                slots.add(variables.indexOf(name));
+                query.add(inQuery);
+                literal.setLength(0);
+                i = end + 1;
+                continue;
+            }
+
+            if (c == '}' || c == '#') {
+                throw new IllegalArgumentException("Invalid character '" + c + "' at " + i + " of url template: " + template);
+            }
+
+            inQuery |= c == '?';
+
+            if (Character.isHighSurrogate(c) && i + 1 < template.length()) {
+                UrlUtils.appendPathSegment(literal, template.substring(i, i + 2));
+                i += 2;
+                continue;
+            }
+
+            appendLiteral(literal, c);
+            i++;
+        }
+
+        literals.add(literal.toString());
+
+        int[] slotArray = new int[slots.size()];
+        boolean[] queryArray = new boolean[query.size()];
+
+        for (int s = 0; s < slotArray.length; s++) {
+            slotArray[s] = slots.get(s);
+            queryArray[s] = query.get(s);
+        }
+
+        int queryStart = template.indexOf('?', pathStart);
+        String path = template.substring(pathStart, queryStart < 0 ? template.length() : queryStart);
+
+        return new UrlTemplate(template, origin, path.isEmpty() ? "/" : path, variables, literals, slotArray, queryArray);
+    }
+
+    /**
+     * Encodes the static characters that are not valid in a url, the ones already encoded are kept
+     */
+    private static void appendLiteral(StringBuilder literal, char c) {
+        if (c > ' ' && c < 127 && c != '"' && c != '<' && c != '>' && c != '\\' && c != '^' && c != '`'
+                && c != '|') {
+            literal.append(c);
+        } else {
+            UrlUtils.appendPathSegment(literal, String.valueOf(c));
+        }
+    }
+
+    /**
+     * Returns the url with the values of the variables, in the order of {@link #getVariables()}
+     */
+    public String expand(String... values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException("Url template " + template + " expects " + variables.size()
+                    + " values " + variables + " but got " + values.length);
+        }
+
+        int length = literalsLength;
+
+        for (int i = 0; i < slots.length; i++) {
+            String value = values[slots[i]];
+
+            if (value == null) {
+                throw new IllegalArgumentException("Url template " + template + " values cannot be null");
+            }
+
+            length += query[i] ? UrlUtils.queryComponentLength(value) : UrlUtils.pathSegmentLength(value);
+        }
+
+        byte[] url = new byte[length];
+        int offset = 0;
+
+        for (int i = 0; i < slots.length; i++) {
+            System.arraycopy(literals[i], 0, url, offset, literals[i].length);
+            offset += literals[i].length;
+
+            offset = query[i]
+                    ? UrlUtils.writeQueryComponent(values[slots[i]], url, offset)
+                    : UrlUtils.writePathSegment(values[slots[i]], url, offset);
+        }
+
+        System.arraycopy(literals[slots.length], 0, url, offset, literals[slots.length].length);
+
+        return new String(url, StandardCharsets.US_ASCII);
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Returns the scheme and authority of the url, as used by the origin limits
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * Returns the path of the template without its query, e.g. /users/{id}/orders, the route of its requests
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the distinct variable names, in order of first appearance
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+}
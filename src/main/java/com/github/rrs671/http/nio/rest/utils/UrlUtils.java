@@ -0,0 +1,248 @@
+package com.github.rrs671.http.nio.rest.utils;
+
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class has the url building used by the requests
+ *
+ * @since 2.5.0
+ */
+public abstract class UrlUtils {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    // characters kept by URLEncoder
+    private static final boolean[] QUERY_SAFE = new boolean[128];
+    // unreserved characters of RFC 3986
+    private static final boolean[] PATH_SAFE = new boolean[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            QUERY_SAFE[c] = PATH_SAFE[c] = true;
+            QUERY_SAFE[Character.toUpperCase(c)] = PATH_SAFE[Character.toUpperCase(c)] = true;
+        }
+
+        for (char c = '0'; c <= '9'; c++) {
+            QUERY_SAFE[c] = PATH_SAFE[c] = true;
+        }
+
+        QUERY_SAFE['.'] = QUERY_SAFE['-'] = QUERY_SAFE['*'] = QUERY_SAFE['_'] = true;
+        PATH_SAFE['.'] = PATH_SAFE['-'] = PATH_SAFE['~'] = PATH_SAFE['_'] = true;
+    }
+
+    private UrlUtils() {}
+
+    /**
+     * Returns the request url
+     *
+     * @param baseUrl base url
+     * @param paths path variables appended to the base url
+     * @param queryParams query params, keys and values are encoded
+     * @return the request url
+     */
+    public static String buildUrl(String baseUrl, List<String> paths, Map<String, String> queryParams) {
+        if ((paths == null || paths.isEmpty()) && (queryParams == null || queryParams.isEmpty())) {
+            return baseUrl;
+        }
+
+        StringBuilder url = new StringBuilder(baseUrl.length() + 64).append(baseUrl);
+
+        if (paths != null) {
+            for (String path : paths) {
+                url.append('/').append(path);
+            }
+        }
+
+        if (queryParams != null && !queryParams.isEmpty()) {
+            char separator = '?';
+
+            for (Map.Entry<String, String> entry : queryParams.entrySet()) {
+                url.append(separator);
+                appendQueryComponent(url, entry.getKey());
+                url.append('=');
+                appendQueryComponent(url, entry.getValue());
+                separator = '&';
+            }
+        }
+
+        return url.toString();
+    }
+
+    public static String buildUrl(RequestParams params) {
+        return buildUrl(params.getBaseUrl(), params.getPaths(), params.getQueryParams());
+    }
+
+    /**
+     * Sets the url of a RestClient request. A valid ASCII url is used as it is, as the ASYNC transport does, so its
+     * escaped characters are not encoded again and it is not parsed as a uri template. Other urls are still encoded
+     * by the RestClient.
+     */
+    public static <S extends RestClient.RequestHeadersSpec<?>> S uri(RestClient.UriSpec<S> spec, String url) {
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+
+            if (c <= ' ' || c >= 127 || c == '{' || c == '}') {
+                return spec.uri(url);
+            }
+        }
+
+        URI uri;
+
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            return spec.uri(url);
+        }
+
+        return spec.uri(uri);
+    }
+
+    /**
+     * Sets the url of a RestClient request and, when known, its route as the {@link RequestParams#ROUTE_ATTRIBUTE}
+     * attribute, read by the metrics and the JFR events
+     */
+    public static <S extends RestClient.RequestHeadersSpec<?>> S uri(RestClient.UriSpec<S> spec, String url, String route) {
+        S headersSpec = uri(spec, url);
+
+        if (route != null) {
+            headersSpec.attribute(RequestParams.ROUTE_ATTRIBUTE, route);
+        }
+
+        return headersSpec;
+    }
+
+    /**
+     * Appends a query param key or value encoded as URLEncoder does with UTF-8
+     */
+    public static void appendQueryComponent(StringBuilder url, String value) {
+        append(url, value, QUERY_SAFE);
+    }
+
+    /**
+     * Appends a path segment, only the unreserved characters are not percent-encoded
+     */
+    public static void appendPathSegment(StringBuilder url, String value) {
+        append(url, value, PATH_SAFE);
+    }
+
+    /**
+     * Returns the length of the query param key or value once encoded
+     */
+    static int queryComponentLength(String value) {
+        return encodedLength(value, QUERY_SAFE);
+    }
+
+    /**
+     * Returns the length of the path segment once encoded
+     */
+    static int pathSegmentLength(String value) {
+        return encodedLength(value, PATH_SAFE);
+    }
+
+    /**
+     * Writes the encoded query param key or value to the ASCII buffer, sized with queryComponentLength, returns its end
+     */
+    static int writeQueryComponent(String value, byte[] url, int offset) {
+        return write(value, url, offset, QUERY_SAFE);
+    }
+
+    /**
+     * Writes the encoded path segment to the ASCII buffer, sized with pathSegmentLength, returns its end
+     */
+    static int writePathSegment(String value, byte[] url, int offset) {
+        return write(value, url, offset, PATH_SAFE);
+    }
+
+    private static void append(StringBuilder url, String value, boolean[] safe) {
+        int length = encodedLength(value, safe);
+
+        if (length == value.length() && (safe != QUERY_SAFE || value.indexOf(' ') < 0)) {
+            url.append(value);
+            return;
+        }
+
+        byte[] encoded = new byte[length];
+        write(value, encoded, 0, safe);
+
+        url.append(new String(encoded, StandardCharsets.US_ASCII));
+    }
+
+    private static int encodedLength(String value, boolean[] safe) {
+        int length = value.length();
+        int encoded = length;
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c < 128 && safe[c] || c == ' ' && safe == QUERY_SAFE) {
+                continue;
+            }
+
+            if (c < 0x80) {
+                encoded += 2;
+            } else if (c < 0x800) {
+                encoded += 5;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // 2 chars, 4 bytes
+                encoded += 10;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                encoded += 2;
+            } else {
+                encoded += 8;
+            }
+        }
+
+        return encoded;
+    }
+
+    private static int write(String value, byte[] url, int offset, boolean[] safe) {
+        int length = value.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c < 128 && safe[c]) {
+                url[offset++] = (byte) c;
+            } else if (c == ' ' && safe == QUERY_SAFE) {
+                url[offset++] = '+';
+            } else if (c < 0x80) {
+                offset = writeByte(url, offset, c);
+            } else if (c < 0x800) {
+                offset = writeByte(url, offset, 0xC0 | (c >> 6));
+                offset = writeByte(url, offset, 0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+
+                offset = writeByte(url, offset, 0xF0 | (codePoint >> 18));
+                offset = writeByte(url, offset, 0x80 | ((codePoint >> 12) & 0x3F));
+                offset = writeByte(url, offset, 0x80 | ((codePoint >> 6) & 0x3F));
+                offset = writeByte(url, offset, 0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // malformed, replaced as the UTF-8 encoder does
+                offset = writeByte(url, offset, '?');
+            } else {
+                offset = writeByte(url, offset, 0xE0 | (c >> 12));
+                offset = writeByte(url, offset, 0x80 | ((c >> 6) & 0x3F));
+                offset = writeByte(url, offset, 0x80 | (c & 0x3F));
+            }
+        }
+
+        return offset;
+    }
+
+    private static int writeByte(byte[] url, int offset, int b) {
+        url[offset] = '%';
+        url[offset + 1] = HEX[(b >> 4) & 0xF];
+        url[offset + 2] = HEX[b & 0xF];
+
+        return offset + 3;
+    }
+
+}
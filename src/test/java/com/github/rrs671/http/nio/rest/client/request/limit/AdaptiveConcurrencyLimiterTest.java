@@ -0,0 +1,241 @@
+package com.github.rrs671.http.nio.rest.client.request.limit;
+
+import com.github.rrs671.http.nio.rest.client.NioRestClient;
+import com.github.rrs671.http.nio.rest.client.enums.LimiterEnum;
+import com.github.rrs671.http.nio.rest.client.enums.TransportEnum;
+import com.github.rrs671.http.nio.rest.client.request.RestRequest;
+import com.github.rrs671.http.nio.rest.http.AsyncRequest;
+import com.github.rrs671.http.nio.rest.utils.ClientParams;
+import com.github.rrs671.http.nio.rest.utils.RequestParams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Behaviour of the adaptive limiters against an overloaded server, the /overload endpoint of the benchmarks
+ * StubServer with a capacity that drops while the server is degraded. The limit must shrink once the latency grows
+ * and the 503 start, grow back once the server recovers, and always stay within the concurrency limit bounds.
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final int MIN_LIMIT = 10;
+    private static final int MAX_LIMIT = 150;
+    private static final int BURST = 500;
+
+    private OverloadServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new OverloadServer();
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.close();
+    }
+
+    @DataProvider
+    public Object[][] limiters() {
+        return new Object[][]{{LimiterEnum.AIMD}, {LimiterEnum.GRADIENT}};
+    }
+
+    @Test(dataProvider = "limiters")
+    public void limitShrinksUnderOverloadAndRecovers(LimiterEnum limiter) throws InterruptedException {
+        ClientParams clientParams = ClientParams.builder()
+                .addConnectionTimeout(5)
+                .addReadTimeout(5)
+                .addTransport(TransportEnum.ASYNC)
+                .addConcurrencyLimiter(limiter)
+                .addConcurrencyLimitBounds(MIN_LIMIT, MAX_LIMIT)
+                .addMaxConcurrentRequest(100)
+                .addMaxTotalConnections(1000)
+                .addMaxConnectionsPerRoute(1000)
+                .build();
+
+        RequestParams params = RequestParams.builder()
+                .addUrl(server.baseUrl() + "/overload")
+                .build();
+
+        try (RestRequest restRequest = new NioRestClient().rest(clientParams)) {
+            LimitSampler sampler = new LimitSampler(restRequest);
+            sampler.start();
+
+            try {
+                server.capacity = 50;
+                load(restRequest, params, 1500);
+                int healthy = sampler.reset().last;
+
+                server.capacity = 5;
+                load(restRequest, params, 2000);
+                LimitSampler.Range degraded = sampler.reset();
+
+                server.capacity = 50;
+                load(restRequest, params, 3000);
+                LimitSampler.Range recovered = sampler.reset();
+
+                String limits = limiter + " healthy=" + healthy + " degraded=" + degraded + " recovered=" + recovered;
+
+                assertTrue(degraded.min < healthy * 0.7, "limit did not shrink under overload: " + limits);
+                assertTrue(recovered.last > degraded.min * 1.5, "limit did not recover: " + limits);
+                assertTrue(sampler.overall.min >= MIN_LIMIT && sampler.overall.max <= MAX_LIMIT,
+                        "limit out of bounds " + sampler.overall + ": " + limits);
+            } finally {
+                sampler.interrupt();
+                sampler.join();
+            }
+        }
+    }
+
+    /**
+     * Sends bursts of requests, more than the limit, until the duration elapses
+     */
+    private static void load(RestRequest restRequest, RequestParams params, long millis) {
+        long deadline = System.nanoTime() + millis * 1_000_000L;
+
+        while (System.nanoTime() - deadline < 0) {
+            List<AsyncRequest<String>> requests = new ArrayList<>(BURST);
+
+            for (int i = 0; i < BURST; i++) {
+                requests.add(restRequest.get(params, String.class));
+            }
+
+            requests.forEach(AsyncRequest::getResponse);
+        }
+    }
+
+    /**
+     * Samples the limits of the client every few milliseconds
+     */
+    private static class LimitSampler extends Thread {
+
+        private final RestRequest restRequest;
+        private final Range overall = new Range();
+        private volatile Range phase = new Range();
+
+        private LimitSampler(RestRequest restRequest) {
+            this.restRequest = restRequest;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                Range current = phase;
+
+                for (int limit : restRequest.getConcurrencyLimits().values()) {
+                    current.add(limit);
+                    overall.add(limit);
+                }
+
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private Range reset() {
+            Range previous = phase;
+            phase = new Range();
+
+            for (int limit : restRequest.getConcurrencyLimits().values()) {
+                previous.add(limit);
+            }
+
+            return previous;
+        }
+
+        private static class Range {
+
+            private volatile int min = Integer.MAX_VALUE;
+            private volatile int max = Integer.MIN_VALUE;
+            private volatile int last;
+
+            private synchronized void add(int limit) {
+                min = Math.min(min, limit);
+                max = Math.max(max, limit);
+                last = limit;
+            }
+
+            @Override
+            public String toString() {
+                return "[min=" + min + ", max=" + max + ", last=" + last + "]";
+            }
+
+        }
+
+    }
+
+    /**
+     * The StubServer /overload endpoint: it answers after 5 milliseconds for each capacity requests in progress and
+     * answers 503 over 8 times its capacity
+     */
+    private static class OverloadServer implements AutoCloseable {
+
+        private static final byte[] BODY = "\"ok\"".getBytes(StandardCharsets.UTF_8);
+
+        static {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        private final HttpServer server;
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final AtomicInteger inProgress = new AtomicInteger();
+        private volatile int capacity = 50;
+
+        private OverloadServer() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+            server.createContext("/overload", this::overload);
+            server.setExecutor(executor);
+            server.start();
+        }
+
+        private String baseUrl() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        private void overload(HttpExchange exchange) throws IOException {
+            int limit = capacity;
+            int current = inProgress.incrementAndGet();
+
+            try {
+                Thread.sleep(5L * Math.max(1, current / limit));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inProgress.decrementAndGet();
+            }
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(current > limit * 8 ? 503 : 200, BODY.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(BODY);
+            }
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+
+    }
+
+}
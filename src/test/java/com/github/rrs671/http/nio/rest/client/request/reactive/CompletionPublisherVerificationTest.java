@@ -0,0 +1,58 @@
+package com.github.rrs671.http.nio.rest.client.request.reactive;
+
+import com.github.rrs671.http.nio.rest.utils.Tuple;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.example.unicast.AsyncIterablePublisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.AfterClass;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+/**
+ * Reactive Streams TCK rules of the CompletionPublisher, the requests of its items complete on another thread
+ */
+public class CompletionPublisherVerificationTest extends PublisherVerification<Tuple<Long, Long>> {
+
+    private static final int MAX_IN_FLIGHT = 16;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    public CompletionPublisherVerificationTest() {
+        super(new TestEnvironment(500L));
+    }
+
+    @Override
+    public Publisher<Tuple<Long, Long>> createPublisher(long elements) {
+        Iterable<Long> items = elements == Long.MAX_VALUE
+                ? () -> LongStream.iterate(0L, i -> i + 1L).iterator()
+                : () -> LongStream.range(0L, elements).iterator();
+
+        return new CompletionPublisher<>(new AsyncIterablePublisher<>(items, executor),
+                item -> CompletableFuture.supplyAsync(() -> item, executor), MAX_IN_FLIGHT);
+    }
+
+    @Override
+    public Publisher<Tuple<Long, Long>> createFailedPublisher() {
+        Iterable<Long> items = new Iterable<>() {
+            @Override
+            public Iterator<Long> iterator() {
+                throw new IllegalStateException("upstream failed");
+            }
+        };
+
+        return new CompletionPublisher<>(new AsyncIterablePublisher<>(items, executor),
+                item -> CompletableFuture.completedFuture(item), MAX_IN_FLIGHT);
+    }
+
+    @AfterClass
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+}
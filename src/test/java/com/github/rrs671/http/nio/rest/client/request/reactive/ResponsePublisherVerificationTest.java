@@ -0,0 +1,74 @@
+package com.github.rrs671.http.nio.rest.client.request.reactive;
+
+import com.github.rrs671.http.nio.rest.http.Response;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.TestEnvironment.ManualSubscriber;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Reactive Streams TCK rules of the ResponsePublisher. It always emits a single Response, its request failures are
+ * emitted as error responses, so there is no failed publisher to verify. The TCK needs 10 elements to verify the
+ * rule 3.9, it is verified here with the single one.
+ */
+public class ResponsePublisherVerificationTest extends PublisherVerification<Response<String>> {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final TestEnvironment env;
+
+    public ResponsePublisherVerificationTest() {
+        this(new TestEnvironment(500L));
+    }
+
+    private ResponsePublisherVerificationTest(TestEnvironment env) {
+        super(env);
+        this.env = env;
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return 1L;
+    }
+
+    @Override
+    public Publisher<Response<String>> createPublisher(long elements) {
+        return new ResponsePublisher<>(() -> CompletableFuture.supplyAsync(() -> "response", executor));
+    }
+
+    @Override
+    public Publisher<Response<String>> createFailedPublisher() {
+        return null;
+    }
+
+    @Test
+    public void spec309_requestZeroMustSignalIllegalArgumentException() throws Throwable {
+        requestMustSignalIllegalArgumentException(0L);
+    }
+
+    @Test
+    public void spec309_requestNegativeNumberMustSignalIllegalArgumentException() throws Throwable {
+        requestMustSignalIllegalArgumentException(-1L);
+    }
+
+    private void requestMustSignalIllegalArgumentException(long n) throws Throwable {
+        ManualSubscriber<Response<String>> subscriber = env.newManualSubscriber(createPublisher(1L));
+
+        subscriber.request(n);
+        subscriber.expectError(IllegalArgumentException.class);
+        subscriber.expectNone();
+
+        env.verifyNoAsyncErrorsNoDelay();
+    }
+
+    @AfterClass
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+}
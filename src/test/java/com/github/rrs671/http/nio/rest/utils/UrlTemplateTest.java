@@ -0,0 +1,74 @@
+package com.github.rrs671.http.nio.rest.utils;
+
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+/**
+ * Expansion of the url templates, path values are percent-encoded but for the unreserved characters and query values
+ * are encoded as URLEncoder does
+ */
+public class UrlTemplateTest {
+
+    private static final UrlTemplate TEMPLATE = UrlTemplate.compile("http://127.0.0.1:8080/users/{id}/orders?status={status}");
+
+    @Test
+    public void parsesTheTemplate() {
+        assertEquals(TEMPLATE.getOrigin(), "http://127.0.0.1:8080");
+        assertEquals(TEMPLATE.getPath(), "/users/{id}/orders");
+        assertEquals(TEMPLATE.getVariables(), List.of("id", "status"));
+    }
+
+    @Test
+    public void expandsPlainValues() {
+        assertEquals(TEMPLATE.expand("42", "open"), "http://127.0.0.1:8080/users/42/orders?status=open");
+    }
+
+    @Test
+    public void encodesPathValues() {
+        assertEquals(TEMPLATE.expand("a b/c?d#e%f", "open"),
+                "http://127.0.0.1:8080/users/a%20b%2Fc%3Fd%23e%25f/orders?status=open");
+        assertEquals(TEMPLATE.expand("~._-*+", "open"), "http://127.0.0.1:8080/users/~._-%2A%2B/orders?status=open");
+        assertEquals(TEMPLATE.expand("José😀", "open"),
+                "http://127.0.0.1:8080/users/Jos%C3%A9%F0%9F%98%80/orders?status=open");
+    }
+
+    @Test
+    public void encodesQueryValuesAsURLEncoder() {
+        String value = "a b&c=d%e+f~*é😀";
+
+        assertEquals(TEMPLATE.expand("42", value), "http://127.0.0.1:8080/users/42/orders?status="
+                + URLEncoder.encode(value, StandardCharsets.UTF_8));
+        assertEquals(TEMPLATE.expand("42", "a b&c=d%e"), "http://127.0.0.1:8080/users/42/orders?status=a+b%26c%3Dd%25e");
+    }
+
+    @Test
+    public void variableUsedInPathAndQueryIsEncodedForEach() {
+        UrlTemplate template = UrlTemplate.compile("http://127.0.0.1:8080/files/{name}?copy={name}");
+
+        assertEquals(template.getVariables(), List.of("name"));
+        assertEquals(template.expand("my file&1"), "http://127.0.0.1:8080/files/my%20file%261?copy=my+file%261");
+    }
+
+    @Test
+    public void keepsTheEscapedLiterals() {
+        UrlTemplate template = UrlTemplate.compile("http://127.0.0.1:8080/a%20b/{id}?q=x%2By&id={id}");
+
+        assertEquals(template.expand("1 2"), "http://127.0.0.1:8080/a%20b/1%202?q=x%2By&id=1+2");
+    }
+
+    @Test
+    public void rejectsInvalidTemplatesAndValues() {
+        assertThrows(IllegalArgumentException.class, () -> UrlTemplate.compile("/users/{id}"));
+        assertThrows(IllegalArgumentException.class, () -> UrlTemplate.compile("http://{host}/users"));
+        assertThrows(IllegalArgumentException.class, () -> UrlTemplate.compile("http://host/users/{id"));
+        assertThrows(IllegalArgumentException.class, () -> TEMPLATE.expand("42"));
+        assertThrows(IllegalArgumentException.class, () -> TEMPLATE.expand("42", null));
+    }
+
+}
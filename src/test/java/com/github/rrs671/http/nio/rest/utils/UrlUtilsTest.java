@@ -0,0 +1,97 @@
+package com.github.rrs671.http.nio.rest.utils;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+/**
+ * The url built from the params must stay the one built with URLEncoder before the shared encoder
+ */
+public class UrlUtilsTest {
+
+    private static final String BASE_URL = "http://127.0.0.1:8080/api";
+
+    @DataProvider
+    public Object[][] values() {
+        return new Object[][]{
+                {"plain"},
+                {"a&b=c?d/e#f+g"},
+                {"100% done"},
+                {"%41 already escaped %"},
+                {"  spaces  around "},
+                {"~*._-"},
+                {"!$'(),;:@[]{}|\\^`\"<>"},
+                {"café ñandú"},
+                {"日本語"},
+                {"emoji 😀 end"},
+                {"lone \uD800 surrogate"},
+                {"tab\tnew\nline\u007F"},
+                {""}
+        };
+    }
+
+    @Test(dataProvider = "values")
+    public void queryParamsAreEncodedAsURLEncoder(String value) {
+        Map<String, String> queryParams = new LinkedHashMap<>();
+        queryParams.put(value, value);
+        queryParams.put("key " + value, "value");
+
+        assertEquals(UrlUtils.buildUrl(BASE_URL, null, queryParams), legacyBuildUrl(BASE_URL, null, queryParams));
+    }
+
+    @Test(dataProvider = "values")
+    public void pathsAreAppendedAsInformed(String value) {
+        List<String> paths = List.of("users", value);
+        Map<String, String> queryParams = Map.of("q", value);
+
+        assertEquals(UrlUtils.buildUrl(BASE_URL, paths, null), legacyBuildUrl(BASE_URL, paths, null));
+        assertEquals(UrlUtils.buildUrl(BASE_URL, paths, queryParams), legacyBuildUrl(BASE_URL, paths, queryParams));
+    }
+
+    @Test
+    public void baseUrlIsReturnedWithoutPathsAndQueryParams() {
+        assertSame(UrlUtils.buildUrl(BASE_URL, null, null), BASE_URL);
+        assertSame(UrlUtils.buildUrl(BASE_URL, List.of(), Map.of()), BASE_URL);
+    }
+
+    @Test
+    public void paramsUrlIsBuiltFromTheirParts() {
+        RequestParams params = RequestParams.builder()
+                .addUrl(BASE_URL)
+                .addPaths("users", "42")
+                .addQueryParams("name", "José & co")
+                .build();
+
+        assertEquals(UrlUtils.buildUrl(params), BASE_URL + "/users/42?name=Jos%C3%A9+%26+co");
+    }
+
+    /**
+     * The buildUrl before the shared encoder
+     */
+    private static String legacyBuildUrl(String baseUrl, List<String> paths, Map<String, String> queryParams) {
+        StringBuilder url = new StringBuilder(baseUrl);
+
+        if (paths != null && !paths.isEmpty()) {
+            url.append("/").append(String.join("/", paths));
+        }
+
+        if (queryParams != null && !queryParams.isEmpty()) {
+            url.append("?").append(queryParams.entrySet().stream()
+                    .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "=" +
+                            URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                    .collect(Collectors.joining("&")));
+        }
+
+        return url.toString();
+    }
+
+}